@@ -4,16 +4,28 @@ import dev.erpix.thetowers.command.*;
 import dev.erpix.thetowers.config.Config;
 import dev.erpix.thetowers.config.ConfigLoader;
 import dev.erpix.thetowers.config.i18n.Messages;
+import dev.erpix.thetowers.listener.BlockListener;
 import dev.erpix.thetowers.listener.EntityListener;
+import dev.erpix.thetowers.listener.EquipmentListener;
+import dev.erpix.thetowers.listener.HeartListener;
 import dev.erpix.thetowers.listener.PlayerListener;
+import dev.erpix.thetowers.listener.ProtectionListener;
 import dev.erpix.thetowers.listener.TABHandler;
-import dev.erpix.thetowers.model.game.GameManager;
+import dev.erpix.thetowers.model.EquipmentStatsCache;
+import dev.erpix.thetowers.model.game.ArenaManager;
+import dev.erpix.thetowers.model.game.GameInstance;
 import dev.erpix.thetowers.model.game.GameMap;
+import dev.erpix.thetowers.model.game.MapProvisioner;
 import dev.erpix.thetowers.model.PlayerManager;
 import dev.erpix.thetowers.model.ProfileManager;
+import dev.erpix.thetowers.model.history.MatchHistory;
+import dev.erpix.thetowers.model.leaderboard.LeaderboardManager;
 import dev.erpix.thetowers.model.tablist.TabManager;
+import dev.erpix.thetowers.util.BroadcastService;
 import dev.erpix.thetowers.util.Components;
-import dev.erpix.thetowers.util.OrderedAttackerCache;
+import dev.erpix.thetowers.util.NametagRenderer;
+import dev.erpix.thetowers.util.Schedulers;
+import dev.erpix.thetowers.util.TimerWheel;
 import lombok.Getter;
 import me.libraryaddict.disguise.LibsDisguises;
 import me.neznamy.tab.api.TabAPI;
@@ -25,9 +37,6 @@ import org.bukkit.Location;
 import org.bukkit.NamespacedKey;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Unmodifiable;
-
-import java.util.*;
 
 public class TheTowers {
 
@@ -37,7 +46,6 @@ public class TheTowers {
     @Getter
     private static TheTowers instance;
 
-    private final Map<String, GameMap> maps = new HashMap<>();
     @NotNull @Getter
     private final Plugin plugin;
     @NotNull @Getter
@@ -46,6 +54,14 @@ public class TheTowers {
     private final CommandRegistrar commandRegistrar;
     @NotNull @Getter
     private final Config config;
+    @NotNull @Getter
+    private final EquipmentStatsCache equipmentStatsCache = new EquipmentStatsCache();
+    @NotNull @Getter
+    private final NametagRenderer nametagRenderer = new NametagRenderer();
+    @NotNull @Getter
+    private final BroadcastService broadcastService = new BroadcastService();
+    @NotNull @Getter
+    private final TimerWheel timerWheel = new TimerWheel();
     @Getter
     private Location lobbyLocation;
     @Getter
@@ -53,9 +69,15 @@ public class TheTowers {
     @Getter
     private ProfileManager profileManager;
     @Getter
+    private LeaderboardManager leaderboardManager;
+    @Getter
+    private MatchHistory matchHistory;
+    @Getter
     private TabManager tabManager;
     @Getter
-    private GameManager gameManager;
+    private MapProvisioner mapProvisioner;
+    @Getter
+    private ArenaManager arenaManager;
 
     @SuppressWarnings("UnstableApiUsage")
     public TheTowers(@NotNull Plugin plugin) {
@@ -81,24 +103,43 @@ public class TheTowers {
         }
         eventBus.register(PlayerLoadEvent.class, TABHandler.ON_PLAYER_LOAD);
 
-        config.getMaps().forEach((name, map) -> {
-            GameMap converted = map.toGameMap(name);
-            this.maps.put(name, converted);
-        });
-        logger.info(Components.color("<green>Maps: " + String.join(", ", this.maps.keySet())));
+        mapProvisioner = new MapProvisioner(config.getMaps(), config.getPrewarmedMaps());
+        mapProvisioner.init();
+        logger.info(Components.color("<green>Maps: " + String.join(", ", mapProvisioner.getMapNames())));
 
         this.lobbyLocation = config.getLobby().toLocation();
 
-        gameManager = new GameManager();
-        this.maps.values().stream().findFirst().ifPresent(tMap -> {
-            gameManager.setMap(tMap);
-            logger.info(Components.color("<green>Game map set to: <white>" + tMap.getName()));
-        });
+        // Every map is played in its own arena, so matches on different maps run in parallel
+        arenaManager = new ArenaManager();
+        for (String mapName : mapProvisioner.getMapNames()) {
+            GameInstance instance = arenaManager.create(mapName, null);
+            mapProvisioner.acquire(mapName).whenComplete((tMap, error) -> Schedulers.global(() -> {
+                if (error != null) {
+                    logger.error("Failed to load map {}", mapName, error);
+                    return;
+                }
+                if (arenaManager.getInstance(tMap.getWorld()) != null) {
+                    logger.warn(Components.color("<yellow>Skipping arena for map <white>" + mapName
+                            + "</white>, its world is already used by another arena."));
+                    arenaManager.remove(instance);
+                    return;
+                }
+                instance.setMap(tMap);
+                logger.info(Components.color("<green>Arena ready for map: <white>" + mapName));
+            }));
+        }
+        if (mapProvisioner.getMapNames().isEmpty()) {
+            arenaManager.create("default", null);
+        }
 
         registerCommands();
 
         profileManager = new ProfileManager();
         profileManager.init();
+        leaderboardManager = new LeaderboardManager(profileManager);
+        leaderboardManager.init();
+        matchHistory = new MatchHistory(plugin.getDataPath().resolve("history"), config.getHistoryRetention());
+        matchHistory.init();
         playerManager = new PlayerManager();
         Bukkit.getOnlinePlayers().forEach(player -> {
             this.playerManager.addPlayer(player);
@@ -108,12 +149,23 @@ public class TheTowers {
         tabManager = new TabManager();
         tabManager.registerDefaultPlaceholders();
 
+        timerWheel.start();
+
         registerListeners();
     }
 
     public void disable() {
-        this.profileManager.saveAll();
-        OrderedAttackerCache.Manager.getInstance().shutdown();
+        this.timerWheel.stop();
+        // There are no more ticks to reset the maps over, so whatever is left is restored at once
+        arenaManager.getInstances().forEach(instance -> {
+            GameMap map = instance.getMap();
+            // Copies of the maps are thrown away anyway
+            if (map != null && !mapProvisioner.isProvisioned(map)) {
+                instance.getBlockJournal().revertNow(map.getWorld());
+            }
+        });
+        this.profileManager.shutdown();
+        this.matchHistory.close();
     }
 
     private void registerCommands() {
@@ -122,21 +174,19 @@ public class TheTowers {
                 new GameCommand(),
                 new TeamCommand(),
                 new HelpCommand(),
-                new RulesCommand()
+                new RulesCommand(),
+                new RankingCommand(),
+                new HistoryCommand()
         );
     }
 
     private void registerListeners() {
         plugin.getServer().getPluginManager().registerEvents(new PlayerListener(), plugin);
         plugin.getServer().getPluginManager().registerEvents(new EntityListener(), plugin);
-    }
-
-    public @NotNull Optional<GameMap> getMap(@NotNull String name) {
-        return Optional.ofNullable(maps.get(name));
-    }
-
-    public @NotNull @Unmodifiable Collection<GameMap> getMaps() {
-        return Collections.unmodifiableCollection(maps.values());
+        plugin.getServer().getPluginManager().registerEvents(new EquipmentListener(), plugin);
+        plugin.getServer().getPluginManager().registerEvents(new HeartListener(), plugin);
+        plugin.getServer().getPluginManager().registerEvents(new ProtectionListener(), plugin);
+        plugin.getServer().getPluginManager().registerEvents(new BlockListener(), plugin);
     }
 
 }
@@ -13,7 +13,9 @@ import dev.erpix.thetowers.model.*;
 import dev.erpix.thetowers.model.game.GamePlayer;
 import dev.erpix.thetowers.model.game.GameTeam;
 import dev.erpix.thetowers.util.Colors;
+import dev.erpix.thetowers.util.Components;
 import dev.erpix.thetowers.util.ItemGenerator;
+import dev.erpix.thetowers.util.Schedulers;
 import dev.erpix.thetowers.util.TriConsumer;
 import io.papermc.paper.command.brigadier.CommandSourceStack;
 import io.papermc.paper.command.brigadier.Commands;
@@ -41,6 +43,7 @@ import java.util.function.Consumer;
  * /ttadmin profile <player_name> stats remove <stat> <value> - Removes a value from a stat for a player.
  * /ttadmin profile <player_name> stats set <stat> <value> - Sets a stat value for a player.
  * /ttadmin profile <player_name> stats reset - Resets all stats for a player.
+ * /ttadmin debug - Displays live session and cache counts.
  *
  */
 
@@ -67,19 +70,19 @@ public class AdminCommand implements CommandBase {
                                     CommandSender sender = ctx.getSource().getSender();
 
                                     if (!(sender instanceof Player player)) {
-                                        sender.sendRichMessage(Messages.PLAYER_ONLY.get());
+                                        Messages.PLAYER_ONLY.send(sender);
                                         return Command.SINGLE_SUCCESS;
                                     }
 
                                     String itemName = ctx.getArgument("item_name", String.class);
 
                                     if (!ItemGenerator.ITEMS.containsKey(itemName)) {
-                                        sender.sendRichMessage(Messages.ITEM_NOT_FOUND.get(itemName));
+                                        Messages.ITEM_NOT_FOUND.send(sender, itemName);
                                         return Command.SINGLE_SUCCESS;
                                     }
 
                                     player.getInventory().addItem(ItemGenerator.ITEMS.get(itemName).get());
-                                    sender.sendRichMessage(Messages.ITEM_GIVEN.get(itemName));
+                                    Messages.ITEM_GIVEN.send(sender, itemName);
 
                                     return Command.SINGLE_SUCCESS;
                                 })
@@ -102,6 +105,8 @@ public class AdminCommand implements CommandBase {
                                 .then(profileStats())
                                 .build())
                         .build())
+                .then(debug())
+                .then(reload())
                 .build();
     }
 
@@ -110,13 +115,54 @@ public class AdminCommand implements CommandBase {
         return List.of("ttadmin");
     }
 
+    private LiteralArgumentBuilder<CommandSourceStack> debug() {
+        return Commands.literal("debug")
+                .executes(ctx -> {
+                    CommandSender sender = ctx.getSource().getSender();
+                    TheTowers theTowers = TheTowers.getInstance();
+                    PlayerManager playerManager = theTowers.getPlayerManager();
+                    ProfileManager profileManager = theTowers.getProfileManager();
+
+                    Iterator<Messages.Message> messages = Messages.ADMIN_DEBUG.iterator();
+                    messages.next().send(sender);
+                    messages.next().send(sender, playerManager.getPlayers().size(),
+                            theTowers.getPlugin().getServer().getOnlinePlayers().size());
+                    messages.next().send(sender, playerManager.getActiveSessionCount());
+                    messages.next().send(sender, playerManager.getActiveSessionCount(),
+                            playerManager.getPooledTrackerCount());
+                    messages.next().send(sender, profileManager.getLoadedCount(),
+                            profileManager.getPendingWriteCount());
+                    messages.next().send(sender, Components.getCacheHits(),
+                            Components.getCacheMisses(), Components.getCacheSize());
+                    return Command.SINGLE_SUCCESS;
+                });
+    }
+
+    private LiteralArgumentBuilder<CommandSourceStack> reload() {
+        return Commands.literal("reload")
+                .executes(ctx -> {
+                    CommandSender sender = ctx.getSource().getSender();
+                    // Files are read and compiled off the main thread, the messages are swapped in at once
+                    Messages.reload(TheTowers.getInstance().getPlugin()).whenComplete((locales, error) ->
+                            Schedulers.sender(sender, () -> {
+                                if (error != null) {
+                                    Messages.ADMIN_RELOAD_FAILED.send(sender);
+                                } else {
+                                    Messages.ADMIN_RELOADED.send(sender, locales);
+                                }
+                            }));
+                    return Command.SINGLE_SUCCESS;
+                });
+    }
+
     /*
      * Team Commands
      */
 
     private RequiredArgumentBuilder<CommandSourceStack, String> teamName() {
         return Commands.argument("team_name", StringArgumentType.word())
-                .suggests(SuggestionProviders.fromCollection(TheTowers.getInstance().getGameManager().getTeams().stream()
+                .suggests(SuggestionProviders.fromCollection(TheTowers.getInstance().getArenaManager().getInstances().stream()
+                        .flatMap(instance -> instance.getTeams().stream())
                         .map(GameTeam::getName).toList()));
     }
 
@@ -124,9 +170,9 @@ public class AdminCommand implements CommandBase {
         CommandSender sender = ctx.getSource().getSender();
         String teamName = ctx.getArgument("team_name", String.class);
 
-        Optional<GameTeam> teamOpt = TheTowers.getInstance().getGameManager().getTeam(teamName);
+        Optional<GameTeam> teamOpt = TheTowers.getInstance().getArenaManager().getInstance(sender).getTeam(teamName);
         if (teamOpt.isEmpty()) {
-            sender.sendRichMessage(Messages.TEAM_NOT_FOUND.get(teamName));
+            Messages.TEAM_NOT_FOUND.send(sender, teamName);
             return;
         }
 
@@ -139,8 +185,8 @@ public class AdminCommand implements CommandBase {
                 .executes(ctx -> {
                     CommandSender sender = ctx.getSource().getSender();
                     findTeam(ctx, team -> {
-                        TheTowers.getInstance().getGameManager().removeTeam(team);
-                        sender.sendRichMessage(Messages.TEAM_DISBANDED.get(team.getDisplayName()));
+                        team.getInstance().removeTeam(team);
+                        Messages.TEAM_DISBANDED.send(sender, team.getDisplayName());
                     });
                     return Command.SINGLE_SUCCESS;
                 });
@@ -155,15 +201,15 @@ public class AdminCommand implements CommandBase {
                             findTeam(ctx, team -> {
                                 String oldName = team.getName();
                                 if (!GameTeam.isValidName(newName)) {
-                                    sender.sendRichMessage(Messages.TEAM_INVALID_NAME.get(newName));
+                                    Messages.TEAM_INVALID_NAME.send(sender, newName);
                                     return;
                                 }
-                                if (TheTowers.getInstance().getGameManager().getTeam(newName).isPresent()) {
-                                    sender.sendRichMessage(Messages.TEAM_ALREADY_EXISTS.get(newName));
+                                if (team.getInstance().getTeam(newName).isPresent()) {
+                                    Messages.TEAM_ALREADY_EXISTS.send(sender, newName);
                                     return;
                                 }
                                 team.setName(newName);
-                                sender.sendRichMessage(Messages.TEAM_CHANGED_NAME.get(oldName, newName));
+                                Messages.TEAM_CHANGED_NAME.send(sender, oldName, newName);
                             });
                             return Command.SINGLE_SUCCESS;
                         })
@@ -183,16 +229,16 @@ public class AdminCommand implements CommandBase {
                             findTeam(ctx, team -> {
                                 GameTeam.Color color = GameTeam.Color.from(colorName);
                                 if (color == null) {
-                                    sender.sendRichMessage(Messages.TEAM_INVALID_COLOR.get(colorName));
+                                    Messages.TEAM_INVALID_COLOR.send(sender, colorName);
                                     return;
                                 }
-                                if (TheTowers.getInstance().getGameManager().getTeams().stream()
+                                if (team.getInstance().getTeams().stream()
                                         .anyMatch(t -> t != team && t.getColor() == color)) {
-                                    sender.sendRichMessage(Messages.TEAM_COLOR_ALREADY_TAKEN.get(color.name()));
+                                    Messages.TEAM_COLOR_ALREADY_TAKEN.send(sender, color.name());
                                     return;
                                 }
                                 team.setColor(color);
-                                sender.sendRichMessage(Messages.TEAM_COLOR_CHANGED.get("<color:#" + color.getColorHex() + ">" + color.name() + "</color>"));
+                                Messages.TEAM_COLOR_CHANGED.send(sender, "<color:#" + color.getColorHex() + ">" + color.name() + "</color>");
                             });
                             return Command.SINGLE_SUCCESS;
                         })
@@ -224,7 +270,7 @@ public class AdminCommand implements CommandBase {
             int value = ctx.getArgument("value", Integer.class);
             findTeam(ctx, team -> {
                 action.accept(team, value);
-                sender.sendRichMessage(Messages.TEAM_SOULS_UPDATED.get(team.getDisplayName(), team.getSouls()));
+                Messages.TEAM_SOULS_UPDATED.send(sender, team.getDisplayName(), team.getSouls());
             });
             return Command.SINGLE_SUCCESS;
         };
@@ -236,13 +282,13 @@ public class AdminCommand implements CommandBase {
                     CommandSender sender = ctx.getSource().getSender();
                     findTeam(ctx, team -> {
                         Iterator<Messages.Message> messages = Messages.ADMIN_TEAM_INFO.iterator();
-                        sender.sendRichMessage(messages.next().get(team.getDisplayName()));
-                        sender.sendRichMessage(messages.next().get(team.getLeader().getName()));
-                        sender.sendRichMessage(messages.next().get(String.join(", ", team.getMembers().stream()
-                                .map(GamePlayer::getName).toList())));
-                        sender.sendRichMessage(messages.next().get(team.getColor().name()));
-                        sender.sendRichMessage(messages.next().get(team.getSouls()));
-                        sender.sendRichMessage(messages.next().get(team.getHeartHealth()));
+                        messages.next().send(sender, team.getDisplayName());
+                        messages.next().send(sender, team.getLeader().getName());
+                        messages.next().send(sender, String.join(", ", team.getMembers().stream()
+                                .map(GamePlayer::getName).toList()));
+                        messages.next().send(sender, team.getColor().name());
+                        messages.next().send(sender, team.getSouls());
+                        messages.next().send(sender, team.getHeartHealth());
                     });
                     return Command.SINGLE_SUCCESS;
                 });
@@ -260,13 +306,13 @@ public class AdminCommand implements CommandBase {
 
                     ProfileManager pm = TheTowers.getInstance().getProfileManager();
                     pm.getProfile(playerName).ifPresentOrElse(profile -> {
-                        sender.sendRichMessage(Messages.ADMIN_PROFILE_INFO.get(playerName));
+                        Messages.ADMIN_PROFILE_INFO.send(sender, playerName);
                         for (PlayerStat stat : PlayerTotalStat.totalStats()) {
                             int value = profile.getStats().getStat(stat);
                             sender.sendRichMessage(Colors.format(Colors.PRIMARY) + "» " + Colors.format(Colors.SECONDARY) +
-                                    Messages.translate(stat.getKey()) + ": <gray>" + value);
+                                    Messages.translate(sender, stat) + ": <gray>" + value);
                         }
-                    }, () -> sender.sendRichMessage(Messages.PROFILE_NOT_FOUND.get(playerName)));
+                    }, () -> Messages.PROFILE_NOT_FOUND.send(sender, playerName));
 
                     return Command.SINGLE_SUCCESS;
                 });
@@ -288,8 +334,8 @@ public class AdminCommand implements CommandBase {
                             ProfileManager pm = TheTowers.getInstance().getProfileManager();
                             pm.getProfile(playerName).ifPresentOrElse(profile -> {
                                 profile.getStats().reset();
-                                sender.sendRichMessage(Messages.ADMIN_STATS_RESET.get(playerName));
-                            }, () -> sender.sendRichMessage(Messages.PROFILE_NOT_FOUND.get(playerName)));
+                                Messages.ADMIN_STATS_RESET.send(sender, playerName);
+                            }, () -> Messages.PROFILE_NOT_FOUND.send(sender, playerName));
 
                             return Command.SINGLE_SUCCESS;
                         }));
@@ -309,15 +355,15 @@ public class AdminCommand implements CommandBase {
 
                             PlayerStat stat = PlayerTotalStat.fromKey(statKey);
                             if (stat == null) {
-                                sender.sendRichMessage(Messages.INVALID_STAT_KEY.get(statKey));
+                                Messages.INVALID_STAT_KEY.send(sender, statKey);
                                 return Command.SINGLE_SUCCESS;
                             }
 
                             ProfileManager pm = TheTowers.getInstance().getProfileManager();
                             pm.getProfile(playerName).ifPresentOrElse(profile -> {
                                 action.accept(profile, stat, value);
-                                sender.sendRichMessage(Messages.ADMIN_UPDATE_STAT.get(stat.getKey(), playerName, value));
-                            }, () -> sender.sendRichMessage(Messages.PROFILE_NOT_FOUND.get(playerName)));
+                                Messages.ADMIN_UPDATE_STAT.send(sender, stat.getKey(), playerName, value);
+                            }, () -> Messages.PROFILE_NOT_FOUND.send(sender, playerName));
 
                             return Command.SINGLE_SUCCESS;
                         }));
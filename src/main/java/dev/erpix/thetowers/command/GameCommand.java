@@ -7,9 +7,13 @@ import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import dev.erpix.thetowers.TheTowers;
 import dev.erpix.thetowers.config.i18n.Messages;
-import dev.erpix.thetowers.model.game.GameManager;
+import dev.erpix.thetowers.model.game.ArenaManager;
+import dev.erpix.thetowers.model.game.GameInstance;
 import dev.erpix.thetowers.model.game.GameMap;
+import dev.erpix.thetowers.model.game.GamePlayer;
 import dev.erpix.thetowers.model.game.GameTeam;
+import dev.erpix.thetowers.model.game.MapProvisioner;
+import dev.erpix.thetowers.util.Schedulers;
 import io.papermc.paper.command.brigadier.CommandSourceStack;
 import io.papermc.paper.command.brigadier.Commands;
 import org.bukkit.command.CommandSender;
@@ -21,6 +25,7 @@ import java.util.Optional;
 
 /*
  *
+ * /ttgame arena <arena_name>
  * /ttgame map <map_name>
  * /ttgame max-players <number>
  * /ttgame start [force]
@@ -36,6 +41,7 @@ public class GameCommand implements CommandBase {
     public @NotNull LiteralCommandNode<CommandSourceStack> create() {
         return Commands.literal("game")
                 .requires(ctx -> ctx.getSender().hasPermission("thetowers.command.game"))
+                .then(arena())
                 .then(map())
                 .then(maxPlayers())
                 .then(start())
@@ -44,24 +50,88 @@ public class GameCommand implements CommandBase {
                 .build();
     }
 
+    private LiteralArgumentBuilder<CommandSourceStack> arena() {
+        return Commands.literal("arena")
+                .requires(ctx -> ctx.getSender().hasPermission("thetowers.command.game.arena"))
+                .then(Commands.argument("arena_name", StringArgumentType.string())
+                        .suggests(SuggestionProviders.fromCollection(TheTowers.getInstance().getArenaManager().getInstances().stream()
+                                .map(GameInstance::getId)
+                                .toList()))
+                        .executes(ctx -> {
+                            TheTowers theTowers = TheTowers.getInstance();
+                            CommandSender sender = ctx.getSource().getSender();
+                            String arenaName = ctx.getArgument("arena_name", String.class);
+                            ArenaManager arenaManager = theTowers.getArenaManager();
+                            Optional<GameInstance> instance = arenaManager.getInstance(arenaName);
+                            if (instance.isEmpty()) {
+                                Messages.ARENA_NOT_FOUND.send(sender, arenaName);
+                                return 0;
+                            }
+                            Optional<GamePlayer> player = theTowers.getPlayerManager().getPlayer(sender.getName());
+                            if (player.isEmpty()) {
+                                return 0;
+                            }
+                            if (player.get().isInAnyTeam()) {
+                                Messages.ARENA_LEAVE_TEAM_FIRST.send(sender);
+                                return 0;
+                            }
+                            if (instance.get().getStage() != GameInstance.Stage.LOBBY) {
+                                Messages.GAME_ACTIVE.send(sender);
+                                return 0;
+                            }
+                            arenaManager.assign(player.get(), instance.get());
+                            Messages.ARENA_JOINED.send(sender, arenaName);
+                            return Command.SINGLE_SUCCESS;
+                        }));
+    }
+
     private LiteralArgumentBuilder<CommandSourceStack> map() {
         return Commands.literal("map")
                 .requires(ctx -> ctx.getSender().hasPermission("thetowers.command.game.map"))
                 .then(Commands.argument("map_name", StringArgumentType.string())
-                        .suggests(SuggestionProviders.fromCollection(TheTowers.getInstance().getMaps().stream()
-                                .map(GameMap::getName)
-                                .toList()))
+                        .suggests(SuggestionProviders.fromCollection(
+                                TheTowers.getInstance().getMapProvisioner().getMapNames()))
                         .executes(ctx -> {
                             TheTowers theTowers = TheTowers.getInstance();
                             CommandSender sender = ctx.getSource().getSender();
                             String mapName = ctx.getArgument("map_name", String.class);
-                            Optional<GameMap> map = theTowers.getMap(mapName);
-                            if (map.isEmpty()) {
-                                sender.sendRichMessage(Messages.MAP_NOT_FOUND.get(mapName));
+                            MapProvisioner provisioner = theTowers.getMapProvisioner();
+                            if (!provisioner.hasMap(mapName)) {
+                                Messages.MAP_NOT_FOUND.send(sender, mapName);
                                 return Command.SINGLE_SUCCESS;
                             }
-                            theTowers.getGameManager().setMap(map.get());
-                            sender.sendRichMessage(Messages.MAP_SET.get(mapName));
+                            GameInstance game = theTowers.getArenaManager().getInstance(sender);
+                            if (game.getStage() != GameInstance.Stage.LOBBY || game.isStarting()) {
+                                Messages.GAME_ACTIVE.send(sender);
+                                return 0;
+                            }
+                            // A pre-warmed copy is taken at once, otherwise the map is copied in the background
+                            provisioner.acquire(mapName).whenComplete((map, error) -> Schedulers.global(() -> {
+                                if (error != null) {
+                                    theTowers.getLogger().error("Failed to load map {}", mapName, error);
+                                    Messages.MAP_LOAD_FAILED.send(sender, mapName);
+                                    return;
+                                }
+                                GameInstance owner = theTowers.getArenaManager().getInstance(map.getWorld());
+                                if (owner != null && owner != game) {
+                                    Messages.MAP_IN_USE.send(sender, mapName, owner.getId());
+                                    return;
+                                }
+                                // The game may have started or begun its countdown while the map was loading
+                                if (game.getStage() != GameInstance.Stage.LOBBY || game.isStarting()) {
+                                    if (game.getMap() != map) {
+                                        provisioner.release(map);
+                                    }
+                                    Messages.GAME_ACTIVE.send(sender);
+                                    return;
+                                }
+                                GameMap previous = game.getMap();
+                                game.setMap(map);
+                                if (previous != null && previous != map) {
+                                    provisioner.release(previous);
+                                }
+                                Messages.MAP_SET.send(sender, mapName);
+                            }));
                             return Command.SINGLE_SUCCESS;
                         }));
     }
@@ -73,8 +143,8 @@ public class GameCommand implements CommandBase {
                         .executes(ctx -> {
                             CommandSender sender = ctx.getSource().getSender();
                             int maxPlayers = ctx.getArgument("number", Integer.class);
-                            TheTowers.getInstance().getGameManager().setMaxPlayersPerTeam(maxPlayers);
-                            sender.sendRichMessage(Messages.CHANGED_MAX_PLAYERS.get(maxPlayers));
+                            TheTowers.getInstance().getArenaManager().getInstance(sender).setMaxPlayersPerTeam(maxPlayers);
+                            Messages.CHANGED_MAX_PLAYERS.send(sender, maxPlayers);
                             return Command.SINGLE_SUCCESS;
                         }));
     }
@@ -92,15 +162,16 @@ public class GameCommand implements CommandBase {
                 .requires(ctx -> ctx.getSender().hasPermission("thetowers.command.game.status"))
                 .executes(ctx -> {
                     CommandSender sender = ctx.getSource().getSender();
-                    GameManager gm = TheTowers.getInstance().getGameManager();
+                    GameInstance gm = TheTowers.getInstance().getArenaManager().getInstance(sender);
 
                     Iterator<Messages.Message> messages = Messages.GAME_STATUS.iterator();
-                    sender.sendRichMessage(messages.next().get());
-                    sender.sendRichMessage(messages.next().get(gm.getMap().getName()));
-                    sender.sendRichMessage(messages.next().get(gm.getStage().name()));
-                    sender.sendRichMessage(messages.next().get());
+                    messages.next().send(sender);
+                    Messages.GAME_STATUS_ARENA.send(sender, gm.getId());
+                    messages.next().send(sender, gm.getMap() != null ? gm.getMap().getName() : "-");
+                    messages.next().send(sender, gm.getStage().name());
+                    messages.next().send(sender);
                     for (GameTeam team : gm.getTeams()) {
-                        sender.sendRichMessage(Messages.GAME_STATUS_TEAM.get(team.getDisplayName(), team.getMembers().size()));
+                        Messages.GAME_STATUS_TEAM.send(sender, team.getDisplayName(), team.getMembers().size());
                     }
 
                     return Command.SINGLE_SUCCESS;
@@ -112,35 +183,40 @@ public class GameCommand implements CommandBase {
                 .requires(ctx -> ctx.getSender().hasPermission("thetowers.command.game.stop"))
                 .executes(ctx -> {
                     CommandSender sender = ctx.getSource().getSender();
-                    GameManager game = TheTowers.getInstance().getGameManager();
-                    if (game.getStage() == GameManager.Stage.LOBBY) {
-                        sender.sendRichMessage(Messages.GAME_NOT_RUNNING.get());
+                    GameInstance game = TheTowers.getInstance().getArenaManager().getInstance(sender);
+                    if (game.getStage() == GameInstance.Stage.LOBBY) {
+                        Messages.GAME_NOT_RUNNING.send(sender);
                         return 0;
                     }
                     game.stop();
-                    sender.sendRichMessage(Messages.GAME_STOPPED.get());
+                    Messages.GAME_STOPPED.send(sender);
                     return Command.SINGLE_SUCCESS;
                 });
     }
 
     private int gameStart(CommandSender sender, boolean force) {
-        GameManager gm = TheTowers.getInstance().getGameManager();
-        GameManager.Stage stage = gm.getStage();
-        if (stage != GameManager.Stage.LOBBY) {
-            sender.sendRichMessage(Messages.GAME_ACTIVE.get());
+        GameInstance gm = TheTowers.getInstance().getArenaManager().getInstance(sender);
+        GameInstance.Stage stage = gm.getStage();
+        if (stage != GameInstance.Stage.LOBBY || gm.isStarting()) {
+            Messages.GAME_ACTIVE.send(sender);
+            return 0;
+        }
+
+        if (gm.getMap() == null) {
+            Messages.ARENA_MAP_NOT_READY.send(sender);
             return 0;
         }
 
         Collection<GameTeam> teams = gm.getTeams();
         if (teams.size() < 2) {
-            sender.sendRichMessage(Messages.MUST_BE_AT_LEAST_2_TEAMS.get());
+            Messages.MUST_BE_AT_LEAST_2_TEAMS.send(sender);
             return 0;
         }
 
         int minPlayers = gm.getMaxPlayersPerTeam() / 2;
         for (GameTeam team : teams) {
             if (team.getMembers().size() < minPlayers && !force) {
-                sender.sendRichMessage(Messages.TOO_FEW_MEMBERS.get(minPlayers));
+                Messages.TOO_FEW_MEMBERS.send(sender, minPlayers);
                 return 0;
             }
         }
@@ -19,7 +19,7 @@ public class HelpCommand implements CommandBase {
                 .executes(ctx -> {
                     CommandSender sender = ctx.getSource().getSender();
                     for (var line : Messages.HELP_COMMAND) {
-                        sender.sendRichMessage(line.get());
+                        line.send(sender);
                     }
                     return Command.SINGLE_SUCCESS;
                 })
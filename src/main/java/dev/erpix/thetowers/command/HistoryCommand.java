@@ -0,0 +1,95 @@
+package dev.erpix.thetowers.command;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import dev.erpix.thetowers.TheTowers;
+import dev.erpix.thetowers.config.i18n.Messages;
+import dev.erpix.thetowers.model.history.MatchRecord;
+import dev.erpix.thetowers.util.Components;
+import dev.erpix.thetowers.util.Schedulers;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ *
+ * /history [player]
+ *
+ */
+
+@SuppressWarnings("UnstableApiUsage")
+public class HistoryCommand implements CommandBase {
+
+    private static final int LIMIT = 10;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM HH:mm")
+            .withZone(ZoneId.systemDefault());
+
+    @Override
+    public @NotNull LiteralCommandNode<CommandSourceStack> create() {
+        return Commands.literal("history")
+                .executes(ctx -> {
+                    CommandSender sender = ctx.getSource().getSender();
+                    show(sender, Messages.HISTORY_HEADER.render(sender),
+                            TheTowers.getInstance().getMatchHistory().getLatest(LIMIT));
+                    return Command.SINGLE_SUCCESS;
+                })
+                .then(Commands.argument("player_name", StringArgumentType.word())
+                        .executes(ctx -> {
+                            CommandSender sender = ctx.getSource().getSender();
+                            String playerName = ctx.getArgument("player_name", String.class);
+                            show(sender, Messages.HISTORY_PLAYER_HEADER.render(sender, playerName),
+                                    TheTowers.getInstance().getMatchHistory().getByPlayer(playerName, LIMIT));
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                .build();
+    }
+
+    @Override
+    public @NotNull List<String> aliases() {
+        return List.of("historia", "matches");
+    }
+
+    private void show(@NotNull CommandSender sender, @NotNull Component header,
+                      @NotNull CompletableFuture<List<MatchRecord>> future) {
+        future.thenAccept(records -> Schedulers.sender(sender, () -> {
+            sender.sendMessage(header);
+            if (records.isEmpty()) {
+                Messages.HISTORY_EMPTY.send(sender);
+                return;
+            }
+            for (MatchRecord record : records) {
+                Messages.HISTORY_ENTRY.send(sender, record.id(),
+                        DATE_FORMAT.format(Instant.ofEpochMilli(record.startTime())),
+                        record.map(), record.teamSetup().getFormattedTeamSetup(),
+                        formatWinner(sender, record), formatDuration(record.duration()));
+            }
+        }));
+    }
+
+    private @NotNull Component formatWinner(@NotNull CommandSender sender, @NotNull MatchRecord record) {
+        if (record.winner() == null) {
+            return Messages.HISTORY_NO_WINNER.render(sender);
+        }
+        return record.teams().stream()
+                .filter(team -> team.color() == record.winner())
+                .findFirst()
+                .map(team -> Components.standard(String.format("<color:#%s>[%s]</color>",
+                        team.color().getColorHex(), team.name())))
+                .orElse(Component.text(record.winner().name()));
+    }
+
+    private @NotNull String formatDuration(long millis) {
+        long seconds = millis / 1000;
+        return String.format("%d:%02d", seconds / 60, seconds % 60);
+    }
+
+}
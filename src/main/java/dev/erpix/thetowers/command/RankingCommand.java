@@ -0,0 +1,81 @@
+package dev.erpix.thetowers.command;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import dev.erpix.thetowers.TheTowers;
+import dev.erpix.thetowers.config.i18n.Messages;
+import dev.erpix.thetowers.model.leaderboard.Leaderboard;
+import dev.erpix.thetowers.model.leaderboard.LeaderboardCategory;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ *
+ * /ranking [category] [page]
+ *
+ */
+
+@SuppressWarnings("UnstableApiUsage")
+public class RankingCommand implements CommandBase {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Override
+    public @NotNull LiteralCommandNode<CommandSourceStack> create() {
+        return Commands.literal("ranking")
+                .executes(ctx -> show(ctx, LeaderboardCategory.KILLS, 1))
+                .then(Commands.argument("category", StringArgumentType.word())
+                        .suggests(SuggestionProviders.fromCollection(Arrays.stream(LeaderboardCategory.values())
+                                .map(LeaderboardCategory::getKey)
+                                .toList()))
+                        .executes(ctx -> show(ctx, ctx.getArgument("category", String.class), 1))
+                        .then(Commands.argument("page", IntegerArgumentType.integer(1))
+                                .executes(ctx -> show(ctx, ctx.getArgument("category", String.class),
+                                        ctx.getArgument("page", Integer.class)))))
+                .build();
+    }
+
+    @Override
+    public @NotNull List<String> aliases() {
+        return List.of("top", "leaderboard");
+    }
+
+    private int show(@NotNull CommandContext<CommandSourceStack> ctx, @NotNull String categoryKey, int page) {
+        LeaderboardCategory category = LeaderboardCategory.fromKey(categoryKey);
+        if (category == null) {
+            Messages.RANKING_INVALID_CATEGORY.send(ctx.getSource().getSender(), categoryKey);
+            return Command.SINGLE_SUCCESS;
+        }
+        return show(ctx, category, page);
+    }
+
+    private int show(@NotNull CommandContext<CommandSourceStack> ctx, @NotNull LeaderboardCategory category, int page) {
+        CommandSender sender = ctx.getSource().getSender();
+        Leaderboard leaderboard = TheTowers.getInstance().getLeaderboardManager().getLeaderboard(category);
+
+        int pages = Math.max(1, (leaderboard.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        int shown = Math.min(page, pages);
+        Messages.RANKING_HEADER.send(sender, Messages.translate(sender, category), shown, pages);
+
+        List<Leaderboard.Entry> entries = leaderboard.page(shown, PAGE_SIZE);
+        if (entries.isEmpty()) {
+            Messages.RANKING_EMPTY.send(sender);
+        }
+        for (Leaderboard.Entry entry : entries) {
+            Messages.RANKING_ENTRY.send(sender, entry.rank(), entry.name(), category.format(entry.score()));
+        }
+
+        leaderboard.getEntry(sender.getName()).ifPresent(entry ->
+                Messages.RANKING_OWN_POSITION.send(sender, entry.rank(), category.format(entry.score())));
+        return Command.SINGLE_SUCCESS;
+    }
+
+}
@@ -19,7 +19,7 @@ public class RulesCommand implements CommandBase {
                 .executes(ctx -> {
                     CommandSender sender = ctx.getSource().getSender();
                     for (var line : Messages.RULES_COMMAND) {
-                        sender.sendRichMessage(line.get());
+                        line.send(sender);
                     }
                     return Command.SINGLE_SUCCESS;
                 })
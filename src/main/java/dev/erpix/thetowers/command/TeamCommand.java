@@ -7,7 +7,7 @@ import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import dev.erpix.thetowers.TheTowers;
 import dev.erpix.thetowers.config.i18n.Messages;
-import dev.erpix.thetowers.model.game.GameManager;
+import dev.erpix.thetowers.model.game.GameInstance;
 import dev.erpix.thetowers.model.game.GamePlayer;
 import dev.erpix.thetowers.model.game.GameTeam;
 import io.papermc.paper.command.brigadier.CommandSourceStack;
@@ -45,7 +45,7 @@ public class TeamCommand implements CommandBase {
                 .requires(ctx -> ctx.getSender().hasPermission("thetowers.command.team"))
                 .executes(ctx -> {
                     CommandSender sender = ctx.getSource().getSender();
-                    Messages.TEAM_COMMAND_USAGE.forEach(line -> sender.sendRichMessage(line.get()));
+                    Messages.TEAM_COMMAND_USAGE.forEach(line -> line.send(sender));
                     return Command.SINGLE_SUCCESS;
                 })
                 .then(teamCreate())
@@ -73,30 +73,30 @@ public class TeamCommand implements CommandBase {
                                     getGamePlayer(ctx, player -> {
                                         GameTeam.Color color = GameTeam.Color.from(colorName);
                                         if (color == null) {
-                                            player.sendMessage(Messages.TEAM_INVALID_COLOR.get(colorName));
+                                            player.sendMessage(Messages.TEAM_INVALID_COLOR, colorName);
                                             return;
                                         }
 
                                         if (!GameTeam.isValidName(teamName)) {
-                                            player.sendMessage(Messages.TEAM_INVALID_NAME.get(teamName));
+                                            player.sendMessage(Messages.TEAM_INVALID_NAME, teamName);
                                             return;
                                         }
 
-                                        GameManager gm = TheTowers.getInstance().getGameManager();
+                                        GameInstance gm = TheTowers.getInstance().getArenaManager().getInstance(player);
                                         Optional<GameTeam> existingTeam = gm.getTeam(color);
                                         if (existingTeam.isPresent()) {
-                                            player.sendMessage(Messages.TEAM_COLOR_ALREADY_TAKEN.get(colorName));
+                                            player.sendMessage(Messages.TEAM_COLOR_ALREADY_TAKEN, colorName);
                                             return;
                                         }
                                         existingTeam = gm.getTeam(teamName);
                                         if (existingTeam.isPresent()) {
-                                            player.sendMessage(Messages.TEAM_ALREADY_EXISTS.get(teamName));
+                                            player.sendMessage(Messages.TEAM_ALREADY_EXISTS, teamName);
                                             return;
                                         }
 
-                                        GameTeam team = GameManager.createTeam(player, teamName, color);
+                                        GameTeam team = gm.createTeam(player, teamName, color);
                                         gm.addTeam(team);
-                                        player.sendMessage(Messages.TEAM_CREATED.get(team.getDisplayName()));
+                                        player.sendMessage(Messages.TEAM_CREATED, team.getDisplayName());
                                     });
                                     return Command.SINGLE_SUCCESS;
                                 })
@@ -111,17 +111,16 @@ public class TeamCommand implements CommandBase {
                     getGamePlayer(ctx, player -> {
                         GameTeam team = player.getTeam();
                         if (team == null) {
-                            player.sendMessage(Messages.NOT_IN_TEAM.get());
+                            player.sendMessage(Messages.NOT_IN_TEAM);
                             return;
                         }
 
                         if (team.getLeader() != player) {
-                            player.sendMessage(Messages.HAVE_TO_BE_LEADER_TO_DISBAND.get());
+                            player.sendMessage(Messages.HAVE_TO_BE_LEADER_TO_DISBAND);
                             return;
                         }
 
-                        GameManager gm = TheTowers.getInstance().getGameManager();
-                        gm.removeTeam(team);
+                        team.getInstance().removeTeam(team);
                     });
                     return Command.SINGLE_SUCCESS;
                 });
@@ -136,24 +135,24 @@ public class TeamCommand implements CommandBase {
                             getGamePlayer(ctx, player -> {
                                 GameTeam currentTeam = player.getTeam();
                                 if (currentTeam != null) {
-                                    player.sendMessage(Messages.ALREADY_IN_TEAM.get());
+                                    player.sendMessage(Messages.ALREADY_IN_TEAM);
                                     return;
                                 }
 
-                                GameManager gm = TheTowers.getInstance().getGameManager();
+                                GameInstance gm = TheTowers.getInstance().getArenaManager().getInstance(player);
                                 Optional<GameTeam> team = gm.getTeam(teamName);
                                 if (team.isEmpty()) {
-                                    player.sendMessage(Messages.TEAM_NOT_FOUND.get(teamName));
+                                    player.sendMessage(Messages.TEAM_NOT_FOUND, teamName);
                                     return;
                                 }
 
                                 if (team.get().isFull()) {
-                                    player.sendMessage(Messages.TEAM_FULL.get());
+                                    player.sendMessage(Messages.TEAM_FULL);
                                     return;
                                 }
 
                                 team.get().addMember(player);
-                                player.sendMessage(Messages.TEAM_JOIN.get(team.get().getDisplayName()));
+                                player.sendMessage(Messages.TEAM_JOIN, team.get().getDisplayName());
                             });
                             return Command.SINGLE_SUCCESS;
                         })
@@ -167,17 +166,17 @@ public class TeamCommand implements CommandBase {
                     getGamePlayer(ctx, player -> {
                         GameTeam team = player.getTeam();
                         if (team == null) {
-                            player.sendMessage(Messages.NOT_IN_TEAM.get());
+                            player.sendMessage(Messages.NOT_IN_TEAM);
                             return;
                         }
 
                         if (team.getLeader() == player) {
-                            player.sendMessage(Messages.CANNOT_LEAVE_IF_LEADER.get());
+                            player.sendMessage(Messages.CANNOT_LEAVE_IF_LEADER);
                             return;
                         }
 
                         team.removeMember(player);
-                        player.sendMessage(Messages.TEAM_LEAVE.get(team.getDisplayName()));
+                        player.sendMessage(Messages.TEAM_LEAVE, team.getDisplayName());
                     });
                     return Command.SINGLE_SUCCESS;
                 });
@@ -197,12 +196,12 @@ public class TeamCommand implements CommandBase {
                                 if (targetPlayer == null) return;
 
                                 if (targetPlayer == player) {
-                                    player.sendMessage(Messages.CANNOT_REMOVE_YOURSELF_FROM_TEAM.get());
+                                    player.sendMessage(Messages.CANNOT_REMOVE_YOURSELF_FROM_TEAM);
                                     return;
                                 }
 
                                 team.removeMember(targetPlayer, true);
-                                targetPlayer.sendMessage(Messages.KICKED_FROM_TEAM.get(team.getDisplayName()));
+                                targetPlayer.sendMessage(Messages.KICKED_FROM_TEAM, team.getDisplayName());
                             });
                             return Command.SINGLE_SUCCESS;
                         })
@@ -220,18 +219,18 @@ public class TeamCommand implements CommandBase {
                                 if (team == null) return;
 
                                 if (!GameTeam.isValidName(newName)) {
-                                    player.sendMessage(Messages.TEAM_INVALID_NAME.get(newName));
+                                    player.sendMessage(Messages.TEAM_INVALID_NAME, newName);
                                     return;
                                 }
 
-                                if (TheTowers.getInstance().getGameManager().getTeam(newName).isPresent()) {
-                                    player.sendMessage(Messages.TEAM_ALREADY_EXISTS.get(newName));
+                                if (team.getInstance().getTeam(newName).isPresent()) {
+                                    player.sendMessage(Messages.TEAM_ALREADY_EXISTS, newName);
                                     return;
                                 }
 
                                 String oldName = team.getName();
                                 team.setName(newName);
-                                player.sendMessage(Messages.TEAM_CHANGED_NAME.get(oldName, newName));
+                                player.sendMessage(Messages.TEAM_CHANGED_NAME, oldName, newName);
                             });
                             return Command.SINGLE_SUCCESS;
                         })
@@ -253,17 +252,17 @@ public class TeamCommand implements CommandBase {
 
                                 GameTeam.Color color = GameTeam.Color.from(colorName);
                                 if (color == null) {
-                                    player.sendMessage(Messages.TEAM_INVALID_COLOR.get(colorName));
+                                    player.sendMessage(Messages.TEAM_INVALID_COLOR, colorName);
                                     return;
                                 }
 
-                                if (TheTowers.getInstance().getGameManager().getTeam(color).isPresent()) {
-                                    player.sendMessage(Messages.TEAM_COLOR_ALREADY_TAKEN.get(colorName));
+                                if (team.getInstance().getTeam(color).isPresent()) {
+                                    player.sendMessage(Messages.TEAM_COLOR_ALREADY_TAKEN, colorName);
                                     return;
                                 }
 
                                 team.setColor(color);
-                                player.sendMessage(Messages.TEAM_COLOR_CHANGED.get(color));
+                                player.sendMessage(Messages.TEAM_COLOR_CHANGED, color);
                             });
                             return Command.SINGLE_SUCCESS;
                         })
@@ -298,8 +297,8 @@ public class TeamCommand implements CommandBase {
                                 if (targetPlayer == null) return;
 
                                 team.setLeader(targetPlayer);
-                                player.sendMessage(Messages.TEAM_TRANSFERRED_LEADER.get(targetPlayer.getDisplayNameNoTag()));
-                                targetPlayer.sendMessage(Messages.TEAM_LEADERSHIP_GIVEN.get(team.getDisplayName()));
+                                player.sendMessage(Messages.TEAM_TRANSFERRED_LEADER, targetPlayer.getDisplayNameNoTag());
+                                targetPlayer.sendMessage(Messages.TEAM_LEADERSHIP_GIVEN, team.getDisplayName());
                             });
                             return Command.SINGLE_SUCCESS;
                         })
@@ -309,7 +308,7 @@ public class TeamCommand implements CommandBase {
     private void getGamePlayer(@NotNull CommandContext<CommandSourceStack> ctx, @NotNull Consumer<GamePlayer> action) {
         CommandSender sender = ctx.getSource().getSender();
         if (!(sender instanceof Player player)) {
-            sender.sendRichMessage(Messages.PLAYER_ONLY.get());
+            Messages.PLAYER_ONLY.send(sender);
             return;
         }
 
@@ -318,9 +317,9 @@ public class TeamCommand implements CommandBase {
             return;
         }
 
-        GameManager.Stage stage = TheTowers.getInstance().getGameManager().getStage();
-        if (stage != GameManager.Stage.LOBBY) {
-            player.sendRichMessage(Messages.GAME_ACTIVE.get());
+        GameInstance.Stage stage = TheTowers.getInstance().getArenaManager().getInstance(gamePlayer.get()).getStage();
+        if (stage != GameInstance.Stage.LOBBY) {
+            Messages.GAME_ACTIVE.send(player);
             return;
         }
 
@@ -330,7 +329,7 @@ public class TeamCommand implements CommandBase {
     private @Nullable GameTeam requireInTeam(@NotNull GamePlayer player) {
         GameTeam team = player.getTeam();
         if (team == null) {
-            player.sendMessage(Messages.NOT_IN_TEAM.get());
+            player.sendMessage(Messages.NOT_IN_TEAM);
             return null;
         }
         return team;
@@ -343,7 +342,7 @@ public class TeamCommand implements CommandBase {
         }
 
         if (!player.equals(team.getLeader())) {
-            player.sendMessage(Messages.MUST_BE_A_LEADER.get());
+            player.sendMessage(Messages.MUST_BE_A_LEADER);
             return null;
         }
 
@@ -351,9 +350,9 @@ public class TeamCommand implements CommandBase {
     }
 
     private @Nullable GamePlayer requirePlayerInTeam(GameTeam team, String name, GamePlayer requester) {
-        Optional<GamePlayer> target = TheTowers.getInstance().getGameManager().getPlayer(name);
+        Optional<GamePlayer> target = team.getInstance().getPlayer(name);
         if (target.isEmpty() || !team.hasMember(target.get())) {
-            requester.sendMessage(Messages.PLAYER_NOT_IN_TEAM.get());
+            requester.sendMessage(Messages.PLAYER_NOT_IN_TEAM);
             return null;
         }
         return target.get();
@@ -21,6 +21,13 @@ public class Config {
 
     private int baseHeartHealth;
     private Material towerHeartMaterial;
+    private boolean profileJournal;
+    private int profileCheckpointInterval;
+    private int historyRetention;
+    private int resetBlocksPerTick;
+    private int prewarmedMaps;
+    private int spawnProtectionRadius;
+    private int heartProtectionRadius;
     private Lobby lobby;
     private Map<String, MapEntry> maps;
 
@@ -49,6 +56,17 @@ public class Config {
             if (bukkitWorld == null) {
                 throw new IllegalArgumentException("World '" + world + "' not found.");
             }
+            return toGameMap(name, bukkitWorld);
+        }
+
+        /**
+         * Creates the map in the given world, e.g. in a copy of the configured world.
+         *
+         * @param name the name of the map.
+         * @param bukkitWorld the world the map is played in.
+         * @return the created {@link GameMap}.
+         */
+        public GameMap toGameMap(String name, World bukkitWorld) {
             var setup = GameMap.TeamSetup.from(teams.size());
             if (setup == null) {
                 throw new IllegalArgumentException("Invalid team setup for map: " + name);
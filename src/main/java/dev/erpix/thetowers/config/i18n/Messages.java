@@ -4,144 +4,456 @@ import dev.erpix.thetowers.TheTowers;
 import dev.erpix.thetowers.config.YamlLoader;
 import dev.erpix.thetowers.model.PlayerStat;
 import dev.erpix.thetowers.model.PlayerTotalStat;
+import dev.erpix.thetowers.model.leaderboard.LeaderboardCategory;
 import dev.erpix.thetowers.util.Colors;
+import dev.erpix.thetowers.util.Components;
+import dev.erpix.thetowers.util.Schedulers;
 import lombok.Getter;
 import lombok.Setter;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.text.Component;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
 import java.io.*;
 import java.lang.reflect.Field;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
+/**
+ * Holds all configurable messages of the plugin.
+ *
+ * <p>Every message is compiled once when the messages are loaded into a {@link Components.Template},
+ * with a slot for every {@code %s} and {@code %d} argument. Sending a message only renders the template,
+ * nothing is formatted or parsed at that point. Besides the default {@code messages.yml}, translations can be
+ * placed in {@code messages_<locale>.yml} files, e.g. {@code messages_pl_pl.yml} or {@code messages_pl.yml},
+ * which are picked by the client locale of the receiving player.</p>
+ *
+ * <p>All compiled messages are held in a single immutable snapshot, which is swapped atomically on reload,
+ * so messages can be sent from any thread.</p>
+ */
 public final class Messages {
 
     private static final Logger logger = TheTowers.getInstance().getLogger();
+    private static final String FILE_PREFIX = "messages";
+    private static final String FILE_EXTENSION = ".yml";
 
-    private static final Map<String, String> TRANSLATABLE = new HashMap<>();
-    private static MessagesFile file = new MessagesFile();
-
-    public static final Message PLAYER_ONLY = () -> file.playerOnly;
-    public static final Message ITEM_NOT_FOUND = () -> file.itemNotFound;
-    public static final Message ITEM_GIVEN = () -> file.itemGiven;
-    public static final Message TEAM_NOT_FOUND = () -> file.teamNotFound;
-    public static final Message TEAM_DISBANDED = () -> file.teamDisbanded;
-    public static final Message TEAM_INVALID_NAME = () -> file.teamInvalidName;
-    public static final Message TEAM_ALREADY_EXISTS = () -> file.teamAlreadyExists;
-    public static final Message TEAM_CHANGED_NAME = () -> file.teamChangedName;
-    public static final Message TEAM_INVALID_COLOR = () -> file.teamInvalidColor;
-    public static final Message TEAM_COLOR_ALREADY_TAKEN = () -> file.teamColorAlreadyTaken;
-    public static final Message TEAM_COLOR_CHANGED = () -> file.teamColorChanged;
-    public static final Message TEAM_SOULS_UPDATED = () -> file.teamSoulsUpdated;
-    public static final List<Message> ADMIN_TEAM_INFO = toMessageList(file.adminTeamInfo);
-    public static final Message ADMIN_PROFILE_INFO = () -> file.adminProfileInfo;
-    public static final Message PROFILE_NOT_FOUND = () -> file.profileNotFound;
-    public static final Message ADMIN_STATS_RESET = () -> file.adminStatsReset;
-    public static final Message INVALID_STAT_KEY = () -> file.invalidStatKey;
-    public static final Message ADMIN_UPDATE_STAT = () -> file.adminUpdateStat;
-    public static final List<Message> TEAM_COMMAND_USAGE = toMessageList(file.teamCommandUsage);
-    public static final Message TEAM_CREATED = () -> file.teamCreated;
-    public static final Message NOT_IN_TEAM = () -> file.notInTeam;
-    public static final Message HAVE_TO_BE_LEADER_TO_DISBAND = () -> file.haveToBeLeaderToDisband;
-    public static final Message TEAM_FULL = () -> file.teamFull;
-    public static final Message PLAYER_JOINED_TEAM = () -> file.playerJoinedTeam;
-    public static final Message TEAM_JOIN = () -> file.teamJoin;
-    public static final Message TEAM_LEAVE = () -> file.teamLeave;
-    public static final Message PLAYER_LEFT_TEAM = () -> file.playerLeftTeam;
-    public static final Message PLAYER_KICKED_FROM_TEAM = () -> file.playerKickedFromTeam;
-    public static final Message PLAYER_NOT_IN_TEAM = () -> file.PlayerNotInTeam;
-    public static final Message KICKED_FROM_TEAM = () -> file.kickedFromTeam;
-    public static final Message TEAM_TRANSFERRED_LEADER = () -> file.teamTransferredLeader;
-    public static final Message TEAM_LEADERSHIP_GIVEN = () -> file.teamLeadershipGiven;
-    public static final Message ALREADY_IN_TEAM = () -> file.alreadyInTeam;
-    public static final Message MUST_BE_A_LEADER = () -> file.mustBeALeader;
-    public static final Message CANNOT_REMOVE_YOURSELF_FROM_TEAM = () -> file.cannotRemoveYourselfFromTeam;
-    public static final Message CANNOT_LEAVE_IF_LEADER = () -> file.cannotLeaveIfLeader;
-    public static final Message MAP_NOT_FOUND = () -> file.mapNotFound;
-    public static final Message MAP_SET = () -> file.mapSet;
-    public static final Message CHANGED_MAX_PLAYERS = () -> file.changedMaxPlayers;
-    public static final Message GAME_ACTIVE = () -> file.gameActive;
-    public static final Message MUST_BE_AT_LEAST_2_TEAMS = () -> file.mustBeAtLeast2Teams;
-    public static final Message TOO_FEW_MEMBERS = () -> file.tooFewMembers;
-    public static final List<Message> GAME_STATUS = toMessageList(file.gameStatus);
-    public static final Message GAME_STATUS_TEAM = () -> file.gameStatusTeam;
-    public static final Message GAME_NOT_RUNNING = () -> file.gameNotRunning;
-    public static final Message GAME_STOPPED = () -> file.gameStopped;
-    public static final List<Message> HELP_COMMAND = toMessageList(file.helpCommand);
-    public static final List<Message> RULES_COMMAND = toMessageList(file.rulesCommand);
+    private static final List<Function<MessagesFile, String>> MESSAGES = new ArrayList<>();
+    private static final List<Function<MessagesFile, List<String>>> MESSAGE_LISTS = new ArrayList<>();
 
-    public static void load(@NotNull Plugin plugin) {
-        Path messagesPath = plugin.getDataPath().resolve("messages.yml");
-        if (!Files.exists(messagesPath)) {
-            try {
-                Files.createDirectories(messagesPath.getParent());
-                YamlLoader.save(messagesPath, file);
-                logger.info("Default messages.yml created at: {}", messagesPath);
-            } catch (Exception e) {
-                logger.error("Failed to create default messages.yml", e);
-                return;
-            }
-        }
+    public static final Message PLAYER_ONLY = message(MessagesFile::getPlayerOnly);
+    public static final Message ITEM_NOT_FOUND = message(MessagesFile::getItemNotFound);
+    public static final Message ITEM_GIVEN = message(MessagesFile::getItemGiven);
+    public static final Message TEAM_NOT_FOUND = message(MessagesFile::getTeamNotFound);
+    public static final Message TEAM_DISBANDED = message(MessagesFile::getTeamDisbanded);
+    public static final Message TEAM_INVALID_NAME = message(MessagesFile::getTeamInvalidName);
+    public static final Message TEAM_ALREADY_EXISTS = message(MessagesFile::getTeamAlreadyExists);
+    public static final Message TEAM_CHANGED_NAME = message(MessagesFile::getTeamChangedName);
+    public static final Message TEAM_INVALID_COLOR = message(MessagesFile::getTeamInvalidColor);
+    public static final Message TEAM_COLOR_ALREADY_TAKEN = message(MessagesFile::getTeamColorAlreadyTaken);
+    public static final Message TEAM_COLOR_CHANGED = message(MessagesFile::getTeamColorChanged);
+    public static final Message TEAM_SOULS_UPDATED = message(MessagesFile::getTeamSoulsUpdated);
+    public static final List<Message> ADMIN_TEAM_INFO = messageList(MessagesFile::getAdminTeamInfo);
+    public static final Message ADMIN_PROFILE_INFO = message(MessagesFile::getAdminProfileInfo);
+    public static final Message PROFILE_NOT_FOUND = message(MessagesFile::getProfileNotFound);
+    public static final Message ADMIN_STATS_RESET = message(MessagesFile::getAdminStatsReset);
+    public static final List<Message> ADMIN_DEBUG = messageList(MessagesFile::getAdminDebug);
+    public static final Message INVALID_STAT_KEY = message(MessagesFile::getInvalidStatKey);
+    public static final Message ADMIN_UPDATE_STAT = message(MessagesFile::getAdminUpdateStat);
+    public static final Message ADMIN_RELOADED = message(MessagesFile::getAdminReloaded);
+    public static final Message ADMIN_RELOAD_FAILED = message(MessagesFile::getAdminReloadFailed);
+    public static final List<Message> TEAM_COMMAND_USAGE = messageList(MessagesFile::getTeamCommandUsage);
+    public static final Message TEAM_CREATED = message(MessagesFile::getTeamCreated);
+    public static final Message NOT_IN_TEAM = message(MessagesFile::getNotInTeam);
+    public static final Message HAVE_TO_BE_LEADER_TO_DISBAND = message(MessagesFile::getHaveToBeLeaderToDisband);
+    public static final Message TEAM_FULL = message(MessagesFile::getTeamFull);
+    public static final Message PLAYER_JOINED_TEAM = message(MessagesFile::getPlayerJoinedTeam);
+    public static final Message TEAM_JOIN = message(MessagesFile::getTeamJoin);
+    public static final Message TEAM_LEAVE = message(MessagesFile::getTeamLeave);
+    public static final Message PLAYER_LEFT_TEAM = message(MessagesFile::getPlayerLeftTeam);
+    public static final Message PLAYER_KICKED_FROM_TEAM = message(MessagesFile::getPlayerKickedFromTeam);
+    public static final Message PLAYER_NOT_IN_TEAM = message(MessagesFile::getPlayerNotInTeam);
+    public static final Message KICKED_FROM_TEAM = message(MessagesFile::getKickedFromTeam);
+    public static final Message TEAM_TRANSFERRED_LEADER = message(MessagesFile::getTeamTransferredLeader);
+    public static final Message TEAM_LEADERSHIP_GIVEN = message(MessagesFile::getTeamLeadershipGiven);
+    public static final Message ALREADY_IN_TEAM = message(MessagesFile::getAlreadyInTeam);
+    public static final Message MUST_BE_A_LEADER = message(MessagesFile::getMustBeALeader);
+    public static final Message CANNOT_REMOVE_YOURSELF_FROM_TEAM = message(MessagesFile::getCannotRemoveYourselfFromTeam);
+    public static final Message CANNOT_LEAVE_IF_LEADER = message(MessagesFile::getCannotLeaveIfLeader);
+    public static final Message MAP_NOT_FOUND = message(MessagesFile::getMapNotFound);
+    public static final Message MAP_SET = message(MessagesFile::getMapSet);
+    public static final Message MAP_IN_USE = message(MessagesFile::getMapInUse);
+    public static final Message PROTECTED_REGION = message(MessagesFile::getProtectedRegion);
+    public static final Message CANNOT_DAMAGE_OWN_HEART = message(MessagesFile::getCannotDamageOwnHeart);
+    public static final Message MAP_LOAD_FAILED = message(MessagesFile::getMapLoadFailed);
+    public static final Message ARENA_MAP_NOT_READY = message(MessagesFile::getArenaMapNotReady);
+    public static final Message ARENA_NOT_FOUND = message(MessagesFile::getArenaNotFound);
+    public static final Message ARENA_JOINED = message(MessagesFile::getArenaJoined);
+    public static final Message ARENA_LEAVE_TEAM_FIRST = message(MessagesFile::getArenaLeaveTeamFirst);
+    public static final Message CHANGED_MAX_PLAYERS = message(MessagesFile::getChangedMaxPlayers);
+    public static final Message GAME_ACTIVE = message(MessagesFile::getGameActive);
+    public static final Message MUST_BE_AT_LEAST_2_TEAMS = message(MessagesFile::getMustBeAtLeast2Teams);
+    public static final Message TOO_FEW_MEMBERS = message(MessagesFile::getTooFewMembers);
+    public static final List<Message> GAME_STATUS = messageList(MessagesFile::getGameStatus);
+    public static final Message GAME_STATUS_ARENA = message(MessagesFile::getGameStatusArena);
+    public static final Message GAME_STATUS_TEAM = message(MessagesFile::getGameStatusTeam);
+    public static final Message GAME_NOT_RUNNING = message(MessagesFile::getGameNotRunning);
+    public static final Message GAME_STOPPED = message(MessagesFile::getGameStopped);
+    public static final Message RANKING_HEADER = message(MessagesFile::getRankingHeader);
+    public static final Message RANKING_ENTRY = message(MessagesFile::getRankingEntry);
+    public static final Message RANKING_EMPTY = message(MessagesFile::getRankingEmpty);
+    public static final Message RANKING_OWN_POSITION = message(MessagesFile::getRankingOwnPosition);
+    public static final Message RANKING_INVALID_CATEGORY = message(MessagesFile::getRankingInvalidCategory);
+    public static final Message HISTORY_HEADER = message(MessagesFile::getHistoryHeader);
+    public static final Message HISTORY_PLAYER_HEADER = message(MessagesFile::getHistoryPlayerHeader);
+    public static final Message HISTORY_ENTRY = message(MessagesFile::getHistoryEntry);
+    public static final Message HISTORY_EMPTY = message(MessagesFile::getHistoryEmpty);
+    public static final Message HISTORY_NO_WINNER = message(MessagesFile::getHistoryNoWinner);
+    public static final List<Message> HELP_COMMAND = messageList(MessagesFile::getHelpCommand);
+    public static final List<Message> RULES_COMMAND = messageList(MessagesFile::getRulesCommand);
+
+    private static volatile Snapshot snapshot = new Snapshot(Catalog.compile(new MessagesFile()), Map.of());
 
+    /**
+     * Loads the messages from the plugin data folder, creating the default {@code messages.yml} if it does not exist.
+     *
+     * <p>Keeps the current messages if the files cannot be loaded.</p>
+     *
+     * @param plugin the plugin whose data folder contains the messages.
+     */
+    public static void load(@NotNull Plugin plugin) {
         try {
-            file = YamlLoader.load(messagesPath, MessagesFile.class);
-            loadTranslatable();
-            logger.info("Messages loaded successfully.");
+            snapshot = read(plugin);
+            logger.info("Messages loaded successfully ({} locales).", snapshot.locales().size());
         } catch (IOException e) {
-            logger.error("Failed to load messages.yml", e);
+            logger.error("Failed to load messages", e);
         }
     }
 
-    public static @NotNull String translate(@NotNull String text) {
-        return TRANSLATABLE.getOrDefault(text, text);
+    /**
+     * Reloads the messages asynchronously and swaps them in at once when all of them are compiled.
+     *
+     * @param plugin the plugin whose data folder contains the messages.
+     * @return a future completed with the number of loaded locale variants, or exceptionally if loading failed.
+     */
+    public static @NotNull CompletableFuture<Integer> reload(@NotNull Plugin plugin) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Snapshot loaded = read(plugin);
+                snapshot = loaded;
+                logger.info("Messages reloaded successfully ({} locales).", loaded.locales().size());
+                return loaded.locales().size();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, Schedulers.asyncExecutor());
     }
 
     /**
-     * Loads all translatable keywords from the messages file into the map using reflection.
+     * Returns the translated name of a statistic in the locale of the given audience.
+     *
+     * @param audience the audience the name is shown to.
+     * @param stat the statistic.
+     * @return the translated name, or the key of the statistic if there is no translation.
      */
-    private static void loadTranslatable() {
-        Field[] fields = MessagesFile.class.getDeclaredFields();
-        for (Field field : fields) {
-            Translatable translatable = field.getAnnotation(Translatable.class);
-            if (translatable != null) {
-                field.setAccessible(true);
-                try {
-                    String value = (String) field.get(file);
-                    TRANSLATABLE.put(translatable.value(), value);
-                } catch (IllegalAccessException e) {
-                    logger.error("Failed to access message field: {}", field.getName(), e);
-                }
+    public static @NotNull String translate(@NotNull Audience audience, @NotNull PlayerStat stat) {
+        return snapshot.catalog(audience).translate(stat);
+    }
+
+    /**
+     * Returns the translated name of a leaderboard category in the locale of the given audience.
+     *
+     * @param audience the audience the name is shown to.
+     * @param category the leaderboard category.
+     * @return the translated name, or the key of the category if there is no translation.
+     */
+    public static @NotNull String translate(@NotNull Audience audience, @NotNull LeaderboardCategory category) {
+        return snapshot.catalog(audience).categories()[category.ordinal()];
+    }
+
+    private static @NotNull Snapshot read(@NotNull Plugin plugin) throws IOException {
+        Path dataPath = plugin.getDataPath();
+        Path messagesPath = dataPath.resolve(FILE_PREFIX + FILE_EXTENSION);
+        if (!Files.exists(messagesPath)) {
+            Files.createDirectories(messagesPath.getParent());
+            YamlLoader.save(messagesPath, new MessagesFile());
+            logger.info("Default messages.yml created at: {}", messagesPath);
+        }
+
+        Catalog fallback = Catalog.compile(YamlLoader.load(messagesPath, MessagesFile.class));
+        Map<String, Catalog> locales = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dataPath, FILE_PREFIX + "_*" + FILE_EXTENSION)) {
+            for (Path path : files) {
+                String fileName = path.getFileName().toString();
+                String locale = fileName.substring(FILE_PREFIX.length() + 1, fileName.length() - FILE_EXTENSION.length())
+                        .toLowerCase(Locale.ROOT);
+                locales.put(locale, Catalog.compile(YamlLoader.load(path, MessagesFile.class)));
             }
         }
+        return new Snapshot(fallback, Map.copyOf(locales));
+    }
+
+    private static @NotNull Message message(@NotNull Function<MessagesFile, String> getter) {
+        MESSAGES.add(getter);
+        return new Message(MESSAGES.size() - 1, -1);
     }
 
-    private static @NotNull List<Message> toMessageList(@NotNull List<String> messages) {
-        return messages.stream()
-                .map(msg -> (Message) () -> msg)
-                .toList();
+    private static @NotNull List<Message> messageList(@NotNull Function<MessagesFile, List<String>> getter) {
+        MESSAGE_LISTS.add(getter);
+        return new MessageList(MESSAGE_LISTS.size() - 1);
     }
 
     /**
-     * Extended Supplier interface for string retrieval with formatting support.
+     * A configurable message, rendered in the locale of its receiver.
      */
-    public interface Message extends Supplier<String> {
+    public static final class Message implements Supplier<String> {
+
+        private final int id;
+        private final int line;
+
+        private Message(int id, int line) {
+            this.id = id;
+            this.line = line;
+        }
 
         /**
-         * Retrieves the message and formats it with the provided arguments.
+         * Retrieves the raw message in the default locale.
+         *
+         * @return the raw message.
+         */
+        @Override
+        public String get() {
+            return resolve(snapshot.fallback(), null).raw();
+        }
+
+        /**
+         * Retrieves the raw message in the default locale and formats it with the provided arguments.
          *
          * @param args the arguments to format the message with.
          * @return the formatted message.
          */
-        default String get(Object... args) {
+        public String get(Object... args) {
             return String.format(get(), args);
         }
 
+        /**
+         * Renders the message in the locale of the given audience.
+         *
+         * @param audience the audience the message is rendered for.
+         * @param args the arguments of the message.
+         * @return the rendered message.
+         */
+        public @NotNull Component render(@NotNull Audience audience, Object... args) {
+            Snapshot current = snapshot;
+            return resolve(current.catalog(audience), current.fallback()).render(args);
+        }
+
+        /**
+         * Renders the message in the locale of the given audience and sends it.
+         *
+         * @param audience the audience to send the message to.
+         * @param args the arguments of the message.
+         */
+        public void send(@NotNull Audience audience, Object... args) {
+            audience.sendMessage(render(audience, args));
+        }
+
+        private @NotNull Compiled resolve(@NotNull Catalog catalog, @Nullable Catalog fallback) {
+            Compiled compiled = compiled(catalog);
+            if (compiled == null && fallback != null) {
+                compiled = compiled(fallback);
+            }
+            return compiled != null ? compiled : Compiled.EMPTY;
+        }
+
+        private @Nullable Compiled compiled(@NotNull Catalog catalog) {
+            if (line < 0) {
+                return catalog.messages()[id];
+            }
+            Compiled[] lines = catalog.lists()[id];
+            return line < lines.length ? lines[line] : Compiled.EMPTY;
+        }
+
+    }
+
+    /**
+     * A list of messages whose size follows the default locale, e.g. the lines of a help page.
+     */
+    private static final class MessageList extends AbstractList<Message> implements RandomAccess {
+
+        private final int id;
+
+        private MessageList(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public Message get(int index) {
+            Objects.checkIndex(index, size());
+            return new Message(id, index);
+        }
+
+        @Override
+        public int size() {
+            return snapshot.fallback().lists()[id].length;
+        }
+
+    }
+
+    /**
+     * A message compiled into a template, with the raw message kept for formatting.
+     *
+     * @param raw the raw message.
+     * @param template the compiled template, or null if the message uses format specifiers other than
+     *                 {@code %s} and {@code %d} or has them inside of a tag.
+     */
+    record Compiled(@NotNull String raw, @Nullable Components.Template template) {
+
+        private static final Compiled EMPTY = compile("");
+
+        static @NotNull Compiled compile(@NotNull String raw) {
+            StringBuilder text = new StringBuilder(raw.length() + 16);
+            List<Components.Slot> slots = new ArrayList<>();
+            boolean inTag = false;
+            for (int i = 0; i < raw.length(); i++) {
+                char c = raw.charAt(i);
+                if (c != '%') {
+                    if (c == '<') inTag = true;
+                    else if (c == '>') inTag = false;
+                    text.append(c);
+                    continue;
+                }
+                char specifier = i + 1 < raw.length() ? raw.charAt(i + 1) : 0;
+                i++;
+                if (specifier == '%') {
+                    text.append('%');
+                    continue;
+                }
+                if (inTag || (specifier != 's' && specifier != 'd')) {
+                    return new Compiled(raw, null);
+                }
+                // Arguments were previously formatted into the message before parsing, so strings may contain tags
+                String name = "arg" + slots.size();
+                slots.add(specifier == 's' ? Components.Slot.rich(name) : Components.Slot.text(name));
+                text.append('<').append(name).append('>');
+            }
+            return new Compiled(raw, Components.template(text.toString(), slots.toArray(new Components.Slot[0])));
+        }
+
+        @NotNull Component render(Object... args) {
+            if (template != null && template.getSlotCount() == args.length) {
+                return template.render(args);
+            }
+            return Components.standard(String.format(raw, args));
+        }
+
+    }
+
+    /**
+     * All compiled messages and translations of a single locale.
+     */
+    private record Catalog(@Nullable Compiled[] messages, @NotNull Compiled[][] lists,
+                           @NotNull String[] stats, @NotNull String[] categories) {
+
+        private static @NotNull Catalog compile(@NotNull MessagesFile file) {
+            Compiled[] messages = new Compiled[MESSAGES.size()];
+            for (int i = 0; i < messages.length; i++) {
+                String raw = MESSAGES.get(i).apply(file);
+                messages[i] = raw != null ? Compiled.compile(raw) : null;
+            }
+            Compiled[][] lists = new Compiled[MESSAGE_LISTS.size()][];
+            for (int i = 0; i < lists.length; i++) {
+                List<String> raw = MESSAGE_LISTS.get(i).apply(file);
+                lists[i] = raw != null
+                        ? raw.stream().map(Compiled::compile).toArray(Compiled[]::new)
+                        : new Compiled[0];
+            }
+
+            Map<String, String> translations = loadTranslatable(file);
+            // Initializes the total stats, so they are registered before the array is sized
+            Collection<PlayerStat> totalStats = PlayerTotalStat.totalStats();
+            int size = 0;
+            for (PlayerStat stat : PlayerStat.stats()) {
+                size = Math.max(size, stat.getId() + 1);
+            }
+            for (PlayerStat stat : totalStats) {
+                size = Math.max(size, stat.getId() + 1);
+            }
+            String[] stats = new String[size];
+            for (PlayerStat stat : PlayerStat.stats()) {
+                stats[stat.getId()] = translations.getOrDefault(stat.getKey(), stat.getKey());
+            }
+            for (PlayerStat stat : totalStats) {
+                stats[stat.getId()] = translations.getOrDefault(stat.getKey(), stat.getKey());
+            }
+            LeaderboardCategory[] values = LeaderboardCategory.values();
+            String[] categories = new String[values.length];
+            for (LeaderboardCategory category : values) {
+                categories[category.ordinal()] = translations.getOrDefault(category.getKey(), category.getKey());
+            }
+            return new Catalog(messages, lists, stats, categories);
+        }
+
+        /**
+         * Loads all translatable keywords from the messages file into a map using reflection.
+         */
+        private static @NotNull Map<String, String> loadTranslatable(@NotNull MessagesFile file) {
+            Map<String, String> translations = new HashMap<>();
+            for (Field field : MessagesFile.class.getDeclaredFields()) {
+                Translatable translatable = field.getAnnotation(Translatable.class);
+                if (translatable != null) {
+                    field.setAccessible(true);
+                    try {
+                        String value = (String) field.get(file);
+                        if (value != null) {
+                            translations.put(translatable.value(), value);
+                        }
+                    } catch (IllegalAccessException e) {
+                        logger.error("Failed to access message field: {}", field.getName(), e);
+                    }
+                }
+            }
+            return translations;
+        }
+
+        private @NotNull String translate(@NotNull PlayerStat stat) {
+            int id = stat.getId();
+            return id < stats.length && stats[id] != null ? stats[id] : stat.getKey();
+        }
+
+    }
+
+    /**
+     * The compiled messages of the default locale and of all locale variants.
+     *
+     * @param fallback the catalog of the default {@code messages.yml}.
+     * @param locales the catalogs of the locale variants, keyed by the lowercase locale or language.
+     */
+    private record Snapshot(@NotNull Catalog fallback, @NotNull Map<String, Catalog> locales) {
+
+        private @NotNull Catalog catalog(@NotNull Audience audience) {
+            if (locales.isEmpty()) {
+                return fallback;
+            }
+            Locale locale = audience.getOrDefault(Identity.LOCALE, null);
+            if (locale == null) {
+                return fallback;
+            }
+            Catalog catalog = locales.get(locale.toString().toLowerCase(Locale.ROOT));
+            if (catalog == null) {
+                catalog = locales.get(locale.getLanguage());
+            }
+            return catalog != null ? catalog : fallback;
+        }
+
     }
 
     @Getter @Setter
@@ -170,8 +482,18 @@ public final class Messages {
         private String adminProfileInfo = Colors.format(Colors.PRIMARY) + "Profile for <gray>%s</gray>:";
         private String profileNotFound = "<red>Profile for <gray>%s</gray> not found.";
         private String adminStatsReset = "<green>Reset all stats for player <gray>%s</gray>.";
+        private List<String> adminDebug = List.of(
+                Colors.format(Colors.PRIMARY) + "Debug info:",
+                Colors.format(Colors.SECONDARY) + "Players: <gray>%d registered, %d online</gray>",
+                Colors.format(Colors.SECONDARY) + "Sessions: <gray>%d active</gray>",
+                Colors.format(Colors.SECONDARY) + "Assist trackers: <gray>%d in use, %d pooled</gray>",
+                Colors.format(Colors.SECONDARY) + "Profiles: <gray>%d loaded, %d pending writes</gray>",
+                Colors.format(Colors.SECONDARY) + "Component cache: <gray>%d hits, %d misses, %d entries</gray>"
+        );
         private String invalidStatKey = "<red>Invalid stat key: %s.";
         private String adminUpdateStat = "<green>Updated stat <gray>%s</gray> for player <gray>%s</gray> to <gray>%d</gray>.";
+        private String adminReloaded = "<green>Reloaded messages with <gray>%d</gray> locale variants.";
+        private String adminReloadFailed = "<red>Failed to reload messages, check the console for details.";
         private List<String> teamCommandUsage = List.of(
                 "<color:#4aa1ff>Creating a team</color>",
                 " <color:#4aa1ff>»</color> <gray>/team</gray> create <green><color></green> <green><name></green>",
@@ -209,6 +531,14 @@ public final class Messages {
         private String cannotLeaveIfLeader = "<red>You cannot leave the team if you are its leader. Transfer leadership to someone else using '/team set-leader <player>' or disband it by '/team disband'.";
         private String mapNotFound = "<red>Map with name <gray>%s</gray> not found.";
         private String mapSet = "<green>Set the map to <gray>%s</gray>.";
+        private String mapInUse = "<red>Map <gray>%s</gray> is already used by arena <gray>%s</gray>.";
+        private String protectedRegion = "<red>You cannot build this close to a spawn or a tower heart.";
+        private String cannotDamageOwnHeart = "<red>You cannot damage the heart of your own tower.";
+        private String mapLoadFailed = "<red>Failed to load the map <gray>%s</gray>, check the console for details.";
+        private String arenaMapNotReady = "<red>The map of this arena is not loaded yet.";
+        private String arenaNotFound = "<red>Arena with name <gray>%s</gray> not found.";
+        private String arenaJoined = "<green>You have joined the arena <gray>%s</gray>.";
+        private String arenaLeaveTeamFirst = "<red>You have to leave your team before switching arenas.";
         private String changedMaxPlayers = "<green>Changed max players per team to <gray>%d</gray>.";
         private String gameActive = "<red>There is already an active game. Please wait until it finishes.";
         private String mustBeAtLeast2Teams = "<red>There must be at least 2 teams to start a game.";
@@ -219,9 +549,20 @@ public final class Messages {
                 "  " + Colors.format(Colors.SECONDARY) + "Stage: <gray>%s</gray>",
                 "  " + Colors.format(Colors.SECONDARY) + "Teams:"
         );
+        private String gameStatusArena = "  " + Colors.format(Colors.SECONDARY) + "Arena: <gray>%s</gray>";
         private String gameStatusTeam = Colors.format(Colors.SECONDARY) + "  » %s <gray>(%d members)";
         private String gameNotRunning = "<red>There is no game running at the moment.";
         private String gameStopped = "<green>Game has been stopped.";
+        private String rankingHeader = Colors.format(Colors.PRIMARY) + "Ranking: <gray>%s</gray> <dark_gray>(%d/%d)";
+        private String rankingEntry = Colors.format(Colors.SECONDARY) + " %d. <white>%s</white> <gray>- %s";
+        private String rankingEmpty = "<gray>Nobody is ranked here yet.";
+        private String rankingOwnPosition = Colors.format(Colors.PRIMARY) + "Your position: <white>#%d</white> <gray>(%s)";
+        private String rankingInvalidCategory = "<red>Invalid ranking category: %s.";
+        private String historyHeader = Colors.format(Colors.PRIMARY) + "Recent games:";
+        private String historyPlayerHeader = Colors.format(Colors.PRIMARY) + "Recent games of <gray>%s</gray>:";
+        private String historyEntry = Colors.format(Colors.SECONDARY) + " #%d <gray>%s</gray> <white>%s</white> <dark_gray>(%s)</dark_gray> <gray>- winner: %s<gray>, %s";
+        private String historyEmpty = "<gray>No games have been played yet.";
+        private String historyNoWinner = "none";
         private List<String> helpCommand = List.of(
                 ""
         );
@@ -287,6 +628,8 @@ public final class Messages {
         private String wins = "Wins";
         @Translatable(PlayerTotalStat.RegistryKey.LOSSES)
         private String losses = "Losses";
+        @Translatable("kd")
+        private String killDeathRatio = "K/D";
 
     }
 
@@ -0,0 +1,234 @@
+package dev.erpix.thetowers.listener;
+
+import dev.erpix.thetowers.TheTowers;
+import dev.erpix.thetowers.model.game.BlockJournal;
+import dev.erpix.thetowers.model.game.GameInstance;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerBucketEmptyEvent;
+import org.bukkit.event.player.PlayerBucketFillEvent;
+import org.bukkit.event.world.StructureGrowEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Records the blocks changed during a game in the {@link BlockJournal} of the arena, so the map can be reset.
+ *
+ * <p>Events are handled at the monitor priority, after other plugins had the chance to cancel them.
+ * Blocks are restored without physics, so when a block is removed, the neighbours that may pop off
+ * with it (e.g. torches, the other half of a door or a bed, or a column of sugar cane) are recorded too.</p>
+ */
+public class BlockListener implements Listener {
+
+    private static final BlockFace[] NEIGHBOURS = {
+            BlockFace.UP, BlockFace.DOWN, BlockFace.NORTH, BlockFace.SOUTH, BlockFace.EAST, BlockFace.WEST
+    };
+    /**
+     * Maximum height of a column of stacked blocks (e.g. sugar cane or bamboo) recorded above a removed block.
+     */
+    private static final int MAX_COLUMN_HEIGHT = 32;
+
+    private final TheTowers theTowers = TheTowers.getInstance();
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlace(BlockPlaceEvent event) {
+        BlockJournal journal = journal(event.getBlock().getWorld());
+        if (journal != null) {
+            // The block is placed already, its previous state is the replaced one
+            journal.record(event.getBlock(), event.getBlockReplacedState().getBlockData());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMultiPlace(BlockMultiPlaceEvent event) {
+        BlockJournal journal = journal(event.getBlock().getWorld());
+        if (journal != null) {
+            for (BlockState state : event.getReplacedBlockStates()) {
+                journal.record(state.getBlock(), state.getBlockData());
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBreak(BlockBreakEvent event) {
+        BlockJournal journal = journal(event.getBlock().getWorld());
+        if (journal != null) {
+            recordRemoved(journal, event.getBlock());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBurn(BlockBurnEvent event) {
+        BlockJournal journal = journal(event.getBlock().getWorld());
+        if (journal != null) {
+            recordRemoved(journal, event.getBlock());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onIgnite(BlockIgniteEvent event) {
+        record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        recordPiston(event.getBlock(), event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        recordPiston(event.getBlock(), event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onGrow(BlockGrowEvent event) {
+        record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onStructureGrow(StructureGrowEvent event) {
+        record(event.getLocation().getBlock());
+        recordStates(event.getWorld(), event.getBlocks());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFertilize(BlockFertilizeEvent event) {
+        record(event.getBlock());
+        recordStates(event.getBlock().getWorld(), event.getBlocks());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSpongeAbsorb(SpongeAbsorbEvent event) {
+        record(event.getBlock());
+        recordStates(event.getBlock().getWorld(), event.getBlocks());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFade(BlockFadeEvent event) {
+        record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onForm(BlockFormEvent event) {
+        record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSpread(BlockSpreadEvent event) {
+        record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFlow(BlockFromToEvent event) {
+        record(event.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLeavesDecay(LeavesDecayEvent event) {
+        record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        record(event.getBlock());
+        recordRemoved(event.getBlock().getWorld(), event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        recordRemoved(event.getEntity().getWorld(), event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent event) {
+        record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketEmpty(PlayerBucketEmptyEvent event) {
+        record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketFill(PlayerBucketFillEvent event) {
+        record(event.getBlock());
+    }
+
+    private void record(@NotNull Block block) {
+        BlockJournal journal = journal(block.getWorld());
+        if (journal != null) {
+            journal.record(block);
+        }
+    }
+
+    private void recordRemoved(@NotNull World world, @NotNull List<Block> blocks) {
+        BlockJournal journal = journal(world);
+        if (journal != null) {
+            for (Block block : blocks) {
+                recordRemoved(journal, block);
+            }
+        }
+    }
+
+    private void recordStates(@NotNull World world, @NotNull List<BlockState> states) {
+        BlockJournal journal = journal(world);
+        if (journal != null) {
+            for (BlockState state : states) {
+                // The states are the new ones, the blocks still hold the original states
+                journal.record(state.getBlock());
+            }
+        }
+    }
+
+    /**
+     * Records the piston, the blocks it moves and the blocks they are moved into.
+     */
+    private void recordPiston(@NotNull Block piston, @NotNull List<Block> moved, @NotNull BlockFace direction) {
+        BlockJournal journal = journal(piston.getWorld());
+        if (journal == null) {
+            return;
+        }
+        journal.record(piston);
+        // Both sides, the piston head takes the block in front of the piston when extending
+        // and leaves it when retracting
+        journal.record(piston.getRelative(direction));
+        journal.record(piston.getRelative(direction.getOppositeFace()));
+        for (Block block : moved) {
+            journal.record(block);
+            journal.record(block.getRelative(direction));
+            journal.record(block.getRelative(direction.getOppositeFace()));
+        }
+    }
+
+    /**
+     * Records a block about to be removed along with the blocks that may pop off with it.
+     */
+    private void recordRemoved(@NotNull BlockJournal journal, @NotNull Block block) {
+        journal.record(block);
+        for (BlockFace face : NEIGHBOURS) {
+            journal.record(block.getRelative(face));
+        }
+        // Stacked plants break all the way up
+        Block above = block.getRelative(BlockFace.UP);
+        for (int i = 0; i < MAX_COLUMN_HEIGHT && above.getType() == block.getType() && !above.getType().isAir(); i++) {
+            above = above.getRelative(BlockFace.UP);
+            journal.record(above);
+        }
+    }
+
+    private @Nullable BlockJournal journal(@NotNull World world) {
+        GameInstance game = theTowers.getArenaManager().getInstance(world);
+        return game != null && game.isRecordingBlocks() ? game.getBlockJournal() : null;
+    }
+
+}
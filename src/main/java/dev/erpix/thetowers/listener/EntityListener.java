@@ -4,7 +4,7 @@ import dev.erpix.thetowers.AttributeKey;
 import dev.erpix.thetowers.TheTowers;
 import dev.erpix.thetowers.model.*;
 import dev.erpix.thetowers.model.game.GamePlayer;
-import dev.erpix.thetowers.model.game.GameManager;
+import dev.erpix.thetowers.model.game.GameInstance;
 import dev.erpix.thetowers.model.PlayerManager;
 import dev.erpix.thetowers.util.DisguiseHandler;
 import dev.erpix.thetowers.util.MathUtil;
@@ -18,8 +18,6 @@ import org.bukkit.inventory.*;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
-import java.util.Optional;
-
 public class EntityListener implements Listener {
 
     private final TheTowers theTowers = TheTowers.getInstance();
@@ -55,8 +53,9 @@ public class EntityListener implements Listener {
     public void onDamageByEntity(EntityDamageByEntityEvent event) {
         if (event.isCancelled()) return;
 
-        GameManager game = theTowers.getGameManager();
+        GameInstance game = theTowers.getArenaManager().getInstance(event.getEntity().getWorld());
         PlayerManager playerManager = theTowers.getPlayerManager();
+        EquipmentStatsCache equipmentStats = theTowers.getEquipmentStatsCache();
         Entity damager = event.getDamager();
         Entity entity = event.getEntity();
 
@@ -69,8 +68,8 @@ public class EntityListener implements Listener {
             return;
         }
 
-        // Check if PvP is allowed in current game stage
-        if (!game.getStage().canPvp()) {
+        // Check if PvP is allowed in the game stage of the arena
+        if (game == null || !game.getStage().canPvp()) {
             event.setCancelled(true);
             return;
         }
@@ -103,7 +102,7 @@ public class EntityListener implements Listener {
                 damage *= 1.5;
             }
 
-            defense += DamageCalculator.calculateEquipmentDefense(victim);
+            defense += equipmentStats.getDefense(victim);
             double finalDamage = DamageCalculator.calculateDamage(damage, defense);
 
             DamageCalculator.applyDamage(victim, shooter, finalDamage);
@@ -113,21 +112,19 @@ public class EntityListener implements Listener {
         }
 
         // Get attacker and victim TPlayer instances
-        Optional<GamePlayer> attackerTPlayer = playerManager.getPlayer(
-                attacker instanceof Player p ? p.getName() : "");
-        Optional<GamePlayer> victimTPlayer = playerManager.getPlayer(
-                victim instanceof Player p ? p.getName() : "");
+        GamePlayer attackerTPlayer = playerManager.getPlayerByEntity(attacker);
+        GamePlayer victimTPlayer = playerManager.getPlayerByEntity(victim);
 
         // Prevent friendly fire
-        if (attackerTPlayer.isPresent() && victimTPlayer.isPresent()) {
-            if (attackerTPlayer.get().getTeam() == victimTPlayer.get().getTeam()) {
+        if (attackerTPlayer != null && victimTPlayer != null) {
+            if (attackerTPlayer.getTeam() == victimTPlayer.getTeam()) {
                 event.setCancelled(true);
                 return;
             }
         }
 
         // Defense calculation
-        defense += DamageCalculator.calculateEquipmentDefense(victim);
+        defense += equipmentStats.getDefense(victim);
 
         // Get mob damage
         if (attacker instanceof Monster monster) {
@@ -136,11 +133,7 @@ public class EntityListener implements Listener {
         }
 
         // Get weapon damage
-        EntityEquipment attackerEq = attacker.getEquipment();
-        if (attackerEq != null) {
-            ItemStack item = attackerEq.getItemInMainHand();
-            damage += DamageCalculator.getDamageFromItem(item);
-        }
+        damage += equipmentStats.getMainHandDamage(attacker);
 
         // Check for critical hits
         if (event.isCritical())
@@ -0,0 +1,69 @@
+package dev.erpix.thetowers.listener;
+
+import dev.erpix.thetowers.TheTowers;
+import dev.erpix.thetowers.config.i18n.Messages;
+import dev.erpix.thetowers.model.game.GameInstance;
+import dev.erpix.thetowers.model.game.GameMap;
+import dev.erpix.thetowers.model.game.GameTeam;
+import dev.erpix.thetowers.util.Schedulers;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockDamageEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Turns hits on the tower hearts into heart damage, the heart blocks themselves are never broken.
+ *
+ * <p>Runs before the {@link ProtectionListener}, so hitting a heart is not reported as building
+ * in a protected region.</p>
+ */
+public class HeartListener implements Listener {
+
+    private final TheTowers theTowers = TheTowers.getInstance();
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onDamage(BlockDamageEvent event) {
+        GameInstance game = game(event.getBlock());
+        if (game == null) {
+            return;
+        }
+        GameTeam.Color owner = game.getMap().getIndex().getHeartOwner(event.getBlock());
+        if (owner == null) {
+            return;
+        }
+        event.setCancelled(true);
+        if (event.getBlock().getType() != theTowers.getConfig().getTowerHeartMaterial()) {
+            return;
+        }
+        Player player = event.getPlayer();
+        // Game state is confined to the global region thread
+        Schedulers.global(() -> theTowers.getPlayerManager().getPlayer(player.getName()).ifPresent(attacker -> {
+            if (attacker.getTeam() != null && attacker.getTeam().getColor() == owner) {
+                Messages.CANNOT_DAMAGE_OWN_HEART.send(player);
+            } else {
+                game.damageHeart(owner, attacker);
+            }
+        }));
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onBreak(BlockBreakEvent event) {
+        // Every hit was counted when the block was damaged, breaking it would only remove the heart
+        GameInstance game = game(event.getBlock());
+        if (game != null && game.getMap().getIndex().getHeartOwner(event.getBlock()) != null) {
+            event.setCancelled(true);
+        }
+    }
+
+    private @Nullable GameInstance game(@NotNull Block block) {
+        GameInstance game = theTowers.getArenaManager().getInstance(block.getWorld());
+        GameMap map = game != null ? game.getMap() : null;
+        return map != null && game.isRecordingBlocks() ? game : null;
+    }
+
+}
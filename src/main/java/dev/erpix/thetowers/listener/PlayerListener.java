@@ -1,22 +1,32 @@
 package dev.erpix.thetowers.listener;
 
 import dev.erpix.thetowers.TheTowers;
-import dev.erpix.thetowers.model.game.GameManager;
+import dev.erpix.thetowers.model.game.GameInstance;
 import dev.erpix.thetowers.model.game.GamePlayer;
 import dev.erpix.thetowers.model.game.GameTeam;
+import dev.erpix.thetowers.model.tablist.PlaceholderRefresher;
 import dev.erpix.thetowers.util.Components;
 import dev.erpix.thetowers.util.DisguiseHandler;
 import io.papermc.paper.event.player.AsyncChatEvent;
+import io.papermc.paper.event.player.PlayerTrackEntityEvent;
+import io.papermc.paper.event.player.PlayerUntrackEntityEvent;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.*;
 
 public class PlayerListener implements Listener {
 
+    private static final Components.Template CHAT_FORMAT = Components.template(
+            "<sender> <dark_gray>» <white><message>", Components.Slot.rich("sender"), Components.Slot.text("message"));
+    private static final Components.Template JOIN_MESSAGE = Components.template(
+            "<dark_gray>[<green>+</green><dark_gray>] <gray><player>", Components.Slot.text("player"));
+    private static final Components.Template QUIT_MESSAGE = Components.template(
+            "<dark_gray>[<red>-</red><dark_gray>] <gray><player>", Components.Slot.text("player"));
+
     private final TheTowers theTowers = TheTowers.getInstance();
 
     @EventHandler
@@ -25,10 +35,29 @@ public class PlayerListener implements Listener {
         DisguiseHandler.create(player);
     }
 
+    @EventHandler
+    public void onTrack(PlayerTrackEntityEvent event) {
+        theTowers.getNametagRenderer().track(event.getPlayer(), event.getEntity());
+    }
+
+    @EventHandler
+    public void onUntrack(PlayerUntrackEntityEvent event) {
+        theTowers.getNametagRenderer().untrack(event.getPlayer(), event.getEntity());
+    }
+
     @EventHandler
     public void onSneak(PlayerToggleSneakEvent event) {
         Player player = event.getPlayer();
-        DisguiseHandler.toggleName(player);
+        DisguiseHandler.setNameHidden(player, event.isSneaking());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        // Runs off the main thread, so the profile is ready in memory by the time the player joins
+        theTowers.getProfileManager().load(event.getName());
     }
 
     @EventHandler
@@ -40,25 +69,36 @@ public class PlayerListener implements Listener {
         GamePlayer gamePlayer = theTowers.getPlayerManager().addPlayer(player);
         theTowers.getProfileManager().load(player.getName());
 
+        GameInstance game = theTowers.getArenaManager().getInstance(gamePlayer);
         GameTeam team = gamePlayer.getTeam();
         if (team == null) {
-            theTowers.getGameManager().addSpectator(gamePlayer);
+            game.addSpectator(gamePlayer);
         }
 
-        GameManager game = theTowers.getGameManager();
-        GameManager.Stage stage = game.getStage();
-        if (stage == GameManager.Stage.LOBBY) {
-            player.teleport(theTowers.getLobbyLocation());
+        PlaceholderRefresher placeholders = theTowers.getTabManager().getPlaceholderRefresher();
+        placeholders.invalidateProfile(player.getName());
+        placeholders.invalidateArena(player.getName());
+        if (team != null) {
+            // Member names are rendered differently for online players
+            placeholders.invalidateTeam(team);
         }
-        else if (stage == GameManager.Stage.WAITING) {
-            player.teleport(game.getMap().getWaitingRoomLocation());
+
+        GameInstance.Stage stage = game.getStage();
+        if (stage == GameInstance.Stage.LOBBY) {
+            player.teleportAsync(theTowers.getLobbyLocation());
+        }
+        else if (stage == GameInstance.Stage.WAITING) {
+            player.teleportAsync(game.getMap().getWaitingRoomLocation());
         } else {
             if (team != null) {
-                player.teleport(game.getMap().getTeamSpawnLocations().get(team.getColor()));
+                player.teleportAsync(game.getMap().getTeamSpawnLocations().get(team.getColor()));
             }
             // Otherwise just keep the player in the same location
             // It would be only for spectators who are not in a team
         }
+        if (stage != GameInstance.Stage.LOBBY) {
+            game.getHeartDisplay().show(player);
+        }
 
         theTowers.getTabManager().updateLayout(player.getName());
 
@@ -73,34 +113,40 @@ public class PlayerListener implements Listener {
         event.quitMessage(quitMessage(player));
 
         theTowers.getProfileManager().save(playerName);
+        theTowers.getPlayerManager().getPlayer(playerName)
+                .map(GamePlayer::getTeam)
+                .ifPresent(team -> theTowers.getTabManager().getPlaceholderRefresher().invalidateTeam(team));
+        theTowers.getTabManager().getPlaceholderRefresher().forget(playerName);
+        theTowers.getTabManager().forgetLayout(playerName);
+        DisguiseHandler.forget(player);
+        theTowers.getTimerWheel().cancel(player.getUniqueId());
+        theTowers.getPlayerManager().endSession(playerName);
     }
 
     @EventHandler
     public void onChat(AsyncChatEvent event) {
         event.setCancelled(true);
-        Player player = event.getPlayer();
+        String playerName = event.getPlayer().getName();
         String message = PlainTextComponentSerializer.plainText().serialize(event.message());
 
-        theTowers.getPlayerManager().getPlayer(player.getName()).ifPresent(tPlayer -> {
-            Component result = Components.standard(String.format("%s <dark_gray>» <white>%s",
-                    tPlayer.getDisplayName(), message));
-            Bukkit.getOnlinePlayers().forEach(p -> p.sendMessage(result));
-            Bukkit.getConsoleSender().sendMessage(result);
-        });
+        // The player registry is confined to the main thread, look the sender up when the message is sent
+        theTowers.getBroadcastService().broadcast(() -> theTowers.getPlayerManager().getPlayer(playerName)
+                .map(tPlayer -> CHAT_FORMAT.render(tPlayer.getDisplayName(), message))
+                .orElse(null));
     }
 
     @EventHandler
     public void onInteract(PlayerInteractEvent event) {
-        GameManager gm = TheTowers.getInstance().getGameManager();
+        GameInstance gm = theTowers.getArenaManager().getInstance(event.getPlayer());
         // TODO
     }
 
     private Component joinMessage(Player player) {
-        return Components.standard("<dark_gray>[<green>+</green><dark_gray>] <gray>" + player.getName());
+        return JOIN_MESSAGE.render(player.getName());
     }
 
     private Component quitMessage(Player player) {
-        return Components.standard("<dark_gray>[<red>-</red><dark_gray>] <gray>" + player.getName());
+        return QUIT_MESSAGE.render(player.getName());
     }
 
 }
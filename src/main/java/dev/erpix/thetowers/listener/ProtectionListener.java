@@ -0,0 +1,76 @@
+package dev.erpix.thetowers.listener;
+
+import dev.erpix.thetowers.TheTowers;
+import dev.erpix.thetowers.config.i18n.Messages;
+import dev.erpix.thetowers.model.game.GameInstance;
+import dev.erpix.thetowers.model.game.MapIndex;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerBucketEmptyEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Prevents building around the team spawns and tower hearts during a game, using the {@link MapIndex} of the map.
+ */
+public class ProtectionListener implements Listener {
+
+    private final TheTowers theTowers = TheTowers.getInstance();
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPlace(BlockPlaceEvent event) {
+        protect(event, event.getPlayer(), event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onBreak(BlockBreakEvent event) {
+        protect(event, event.getPlayer(), event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onBucketEmpty(PlayerBucketEmptyEvent event) {
+        protect(event, event.getPlayer(), event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        removeProtected(event.getBlock().getWorld(), event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        removeProtected(event.getEntity().getWorld(), event.blockList());
+    }
+
+    private void protect(@NotNull Cancellable event, @NotNull Player player, @NotNull Block block) {
+        MapIndex index = index(block.getWorld());
+        if (index != null && index.isProtected(block.getX(), block.getY(), block.getZ())) {
+            event.setCancelled(true);
+            Messages.PROTECTED_REGION.send(player);
+        }
+    }
+
+    private void removeProtected(@NotNull World world, @NotNull List<Block> blocks) {
+        MapIndex index = index(world);
+        if (index != null) {
+            blocks.removeIf(block -> index.isProtected(block.getX(), block.getY(), block.getZ()));
+        }
+    }
+
+    private @Nullable MapIndex index(@NotNull World world) {
+        GameInstance game = theTowers.getArenaManager().getInstance(world);
+        return game != null && game.isRecordingBlocks() ? game.getMap().getIndex() : null;
+    }
+
+}
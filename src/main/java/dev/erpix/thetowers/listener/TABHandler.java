@@ -20,6 +20,8 @@ public class TABHandler {
         }
 
         TabPlayer player = event.getPlayer();
+        // TAB resets the layout of reloaded players, so it has to be sent again
+        tt.getTabManager().forgetLayout(player.getName());
         tt.getTabManager().updateLayout(player.getName());
     };
 
@@ -0,0 +1,188 @@
+package dev.erpix.thetowers.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Thread-safe variant of {@link StatsTracker} for statistics updated from multiple threads.
+ *
+ * <p>Values live in an {@link AtomicLongArray} indexed by stat id. Increments update their slot
+ * atomically while holding the shared mode of a {@link StampedLock}, so they never block each other.
+ * {@link #setStat(PlayerStat, int)}, {@link #reset()} and {@link #snapshot()} take the exclusive mode,
+ * which makes them atomic with respect to increments: a snapshot contains exactly the increments that
+ * completed before it, and an increment is either erased by a reset or kept in full.
+ * Single stat reads never lock.</p>
+ */
+public class ConcurrentStatsTracker {
+
+    private final StampedLock lock = new StampedLock();
+    private volatile AtomicLongArray values = new AtomicLongArray(PlayerStat.Registry.size());
+
+    /**
+     * Retrieves the current value of a specific statistic.
+     *
+     * @param key the stat key.
+     * @return the value or 0 if not present.
+     */
+    public int getStat(@NotNull PlayerStat key) {
+        AtomicLongArray current = values;
+        int id = key.getId();
+        return id < current.length() ? (int) current.get(id) : 0;
+    }
+
+    /**
+     * Retrieves the ratio of two statistics. (safe against division by zero)
+     *
+     * @param first the first statistic.
+     * @param second the second statistic.
+     * @return the ratio of the first statistic to the second.
+     */
+    public double getRatio(@NotNull PlayerStat first, @NotNull PlayerStat second) {
+        int firstValue = getStat(first);
+        int secondValue = getStat(second);
+        return secondValue == 0 ? 0 : (double) firstValue / secondValue;
+    }
+
+    /**
+     * Increments the value of a specific statistic by 1.
+     *
+     * @param key the stat key.
+     */
+    public void incrementStat(@NotNull PlayerStat key) {
+        add(key, 1);
+    }
+
+    /**
+     * Increments the value of a specific statistic by a given value.
+     *
+     * @param key the stat key.
+     * @param value the value to increment the statistic by.
+     */
+    public void incrementStat(@NotNull PlayerStat key, int value) {
+        add(key, value);
+    }
+
+    /**
+     * Decrements the value of a specific statistic by 1.
+     *
+     * @param key the stat key.
+     */
+    public void decrementStat(@NotNull PlayerStat key) {
+        add(key, -1);
+    }
+
+    /**
+     * Decrements the value of a specific statistic by a given value.
+     *
+     * @param key the stat key.
+     * @param value the value to decrement the statistic by.
+     */
+    public void decrementStat(@NotNull PlayerStat key, int value) {
+        add(key, -value);
+    }
+
+    /**
+     * Sets the value of a specific statistic.
+     *
+     * @param key the stat key.
+     * @param value the value to set.
+     */
+    public void setStat(@NotNull PlayerStat key, int value) {
+        long stamp = lock.writeLock();
+        try {
+            ensureCapacity(key.getId()).set(key.getId(), value);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Clears all stats, resetting them to zero.
+     */
+    public void reset() {
+        long stamp = lock.writeLock();
+        try {
+            values = new AtomicLongArray(values.length());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Performs the given action for each statistic with a non-zero value.
+     *
+     * <p>Reads every statistic on its own, use {@link #snapshot()} for a consistent view.</p>
+     *
+     * @param action the action receiving the statistic and its value.
+     */
+    public void forEachStat(@NotNull ObjIntConsumer<PlayerStat> action) {
+        AtomicLongArray current = values;
+        for (int id = 0; id < current.length(); id++) {
+            int value = (int) current.get(id);
+            if (value != 0) {
+                action.accept(PlayerStat.Registry.fromId(id), value);
+            }
+        }
+    }
+
+    /**
+     * Copies the current values into a plain {@link StatsTracker}.
+     *
+     * <p>The copy is consistent across all statistics. The returned tracker is detached from this one
+     * and has no unsaved changes.</p>
+     *
+     * @return the snapshot.
+     */
+    public @NotNull StatsTracker snapshot() {
+        StatsTracker snapshot = new StatsTracker();
+        long stamp = lock.writeLock();
+        try {
+            forEachStat(snapshot::setStat);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        snapshot.markClean();
+        return snapshot;
+    }
+
+    private void add(@NotNull PlayerStat key, long delta) {
+        int id = key.getId();
+        long stamp = lock.readLock();
+        try {
+            AtomicLongArray current = values;
+            if (id < current.length()) {
+                current.addAndGet(id, delta);
+                return;
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        // Registered after this tracker was created, growing needs the exclusive mode
+        stamp = lock.writeLock();
+        try {
+            ensureCapacity(id).addAndGet(id, delta);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds slots for stats registered after this tracker was created, the caller holds the write lock.
+     */
+    private @NotNull AtomicLongArray ensureCapacity(int id) {
+        AtomicLongArray current = values;
+        if (id < current.length()) {
+            return current;
+        }
+        AtomicLongArray grown = new AtomicLongArray(Math.max(id + 1, PlayerStat.Registry.size()));
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        values = grown;
+        return grown;
+    }
+
+}
@@ -1,7 +1,8 @@
 package dev.erpix.thetowers.model;
 
+import dev.erpix.thetowers.AttributeKey;
 import dev.erpix.thetowers.TheTowers;
-import dev.erpix.thetowers.model.game.GameManager;
+import dev.erpix.thetowers.model.game.GameInstance;
 import dev.erpix.thetowers.model.game.GamePlayer;
 import dev.erpix.thetowers.model.game.GameTeam;
 import dev.erpix.thetowers.util.DisguiseHandler;
@@ -14,8 +15,6 @@ import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Optional;
-
 public final class DamageCalculator {
 
     /**
@@ -49,26 +48,24 @@ public final class DamageCalculator {
         double newHealth = currentHealth - damage;
 
         TheTowers theTowers = TheTowers.getInstance();
-        GameManager game = theTowers.getGameManager();
         PlayerManager playerManager = theTowers.getPlayerManager();
 
         // Get attacker and target TPlayer instances
-        Optional<GamePlayer> attackerTPlayer = playerManager.getPlayer(
-                attacker instanceof Player p ? p.getName() : "");
-        Optional<GamePlayer> targetTPlayer = playerManager.getPlayer(
-                target instanceof Player p ? p.getName() : "");
+        GamePlayer attackerTPlayer = playerManager.getPlayerByEntity(attacker);
+        GamePlayer targetTPlayer = playerManager.getPlayerByEntity(target);
+        GameInstance game = targetTPlayer != null ? theTowers.getArenaManager().getInstance(targetTPlayer) : null;
 
-        if (attackerTPlayer.isPresent() && targetTPlayer.isPresent()) {
-            targetTPlayer.get().addAttacker(attackerTPlayer.get(), damage);
+        if (attackerTPlayer != null && targetTPlayer != null) {
+            targetTPlayer.addAttacker(attackerTPlayer, damage);
         }
 
         // Check if the target is below the minimum Y
         if (target.getLocation().getY() <= -127) {
-            if (target instanceof Player targetPlayer && targetTPlayer.isPresent()) {
-                GameTeam team = targetTPlayer.get().getTeam();
+            if (target instanceof Player targetPlayer && targetTPlayer != null) {
+                GameTeam team = targetTPlayer.getTeam();
                 Location spawn = game.getMap().getTeamSpawnLocation(team.getColor());
-                targetPlayer.teleport(spawn);
-                game.death(targetTPlayer.get(), attacker);
+                targetPlayer.teleportAsync(spawn);
+                game.death(targetTPlayer, attacker);
             }
             else {
                 target.setHealth(0);
@@ -78,8 +75,8 @@ public final class DamageCalculator {
 
         // Death handle
         if (newHealth <= 0) {
-            if (target instanceof Player && targetTPlayer.isPresent()) {
-                game.death(targetTPlayer.get(), attacker);
+            if (target instanceof Player && targetTPlayer != null) {
+                game.death(targetTPlayer, attacker);
             }
             else {
                 target.setHealth(0);
@@ -153,7 +150,7 @@ public final class DamageCalculator {
         }
 
         PersistentDataContainerView data = item.getPersistentDataContainer();
-        Double defense = data.get(TheTowers.key("defense"), PersistentDataType.DOUBLE);
+        Double defense = data.get(AttributeKey.DEFENSE.key(), PersistentDataType.DOUBLE);
         if (defense == null) {
             return 0;
         }
@@ -0,0 +1,106 @@
+package dev.erpix.thetowers.model;
+
+import dev.erpix.thetowers.util.IntObjectMap;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.inventory.EntityEquipment;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Caches the combat stats derived from the equipment of living entities.
+ *
+ * <p>Reading the stats of an item requires a lookup in its persistent data container,
+ * which copies the item data. The total armor defense and the main hand damage are therefore
+ * computed once and kept per entity id until the equipment changes. Entries are invalidated
+ * lazily, the stats are recomputed on the next read.</p>
+ *
+ * <p>Not thread-safe, meant to be used on the main thread only.</p>
+ */
+public class EquipmentStatsCache {
+
+    private final IntObjectMap<Entry> entries = new IntObjectMap<>();
+
+    /**
+     * Retrieves the total defense of the armor worn by an entity.
+     *
+     * @param entity the entity.
+     * @return the total defense of the equipment.
+     */
+    public double getDefense(@NotNull LivingEntity entity) {
+        return entry(entity).defense;
+    }
+
+    /**
+     * Retrieves the damage of the item held in the main hand of an entity.
+     *
+     * @param entity the entity.
+     * @return the damage of the held item.
+     */
+    public double getMainHandDamage(@NotNull LivingEntity entity) {
+        return entry(entity).mainHandDamage;
+    }
+
+    /**
+     * Marks the cached stats of an entity as outdated, e.g. after its equipment has changed.
+     *
+     * @param entity the entity.
+     */
+    public void invalidate(@NotNull Entity entity) {
+        Entry entry = entries.get(entity.getEntityId());
+        if (entry != null) {
+            entry.valid = false;
+        }
+    }
+
+    /**
+     * Removes the cached stats of an entity that is no longer in a world.
+     *
+     * @param entity the entity.
+     */
+    public void remove(@NotNull Entity entity) {
+        entries.remove(entity.getEntityId());
+    }
+
+    /**
+     * Returns the number of entities with cached stats.
+     *
+     * @return the number of cached entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private @NotNull Entry entry(@NotNull LivingEntity entity) {
+        Entry entry = entries.get(entity.getEntityId());
+        if (entry == null) {
+            entry = new Entry();
+            entries.put(entity.getEntityId(), entry);
+        }
+        if (!entry.valid) {
+            compute(entity, entry);
+        }
+        return entry;
+    }
+
+    private void compute(@NotNull LivingEntity entity, @NotNull Entry entry) {
+        EntityEquipment equipment = entity.getEquipment();
+        if (equipment != null) {
+            entry.defense = DamageCalculator.calculateEquipmentDefense(entity);
+            entry.mainHandDamage = DamageCalculator.getDamageFromItem(equipment.getItemInMainHand());
+        } else {
+            entry.defense = 0;
+            entry.mainHandDamage = 0;
+        }
+        entry.valid = true;
+    }
+
+    /**
+     * Cached stats of a single entity, reused across invalidations.
+     */
+    private static final class Entry {
+        private double defense;
+        private double mainHandDamage;
+        private boolean valid;
+    }
+
+}
@@ -1,8 +1,16 @@
 package dev.erpix.thetowers.model;
 
+import dev.erpix.thetowers.TheTowers;
+import dev.erpix.thetowers.model.game.ArenaManager;
 import dev.erpix.thetowers.model.game.GamePlayer;
+import dev.erpix.thetowers.util.AssistTracker;
+import dev.erpix.thetowers.util.Components;
+import dev.erpix.thetowers.util.IntObjectMap;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
@@ -10,23 +18,158 @@ import java.util.*;
 /**
  * Manages in-game player entities during runtime.
  *
- * <p>This class provides a central registry for all players currently active in the game.</p>
+ * <p>This class provides a central registry for all players currently active in the game.
+ * It also owns the per-player session lifecycle: session resources are attached on join and
+ * released on quit or at the end of a game, and released resources are pooled for reuse.
+ * Players that are not in a team are forgotten when their session ends.</p>
+ *
+ * <p>Players are indexed by name, unique id and entity id, so lookups on the combat
+ * hot path are constant time and do not allocate.</p>
  */
 public class PlayerManager {
 
+    /**
+     * Maximum number of released assist trackers kept for reuse.
+     */
+    private static final int MAX_POOLED_TRACKERS = 64;
+
     private final Map<String, GamePlayer> players = new HashMap<>();
+    private final Map<UUID, GamePlayer> playersByUniqueId = new HashMap<>();
+    private final IntObjectMap<GamePlayer> playersByEntityId = new IntObjectMap<>();
+    private final Deque<AssistTracker> trackerPool = new ArrayDeque<>();
+    private int activeSessions;
 
-    // TODO
+    /**
+     * Registers a player, or returns the registered one, and starts their session.
+     *
+     * @param player the bukkit player that joined.
+     * @return the {@link GamePlayer} of the player.
+     */
     public @NotNull GamePlayer addPlayer(@NotNull Player player) {
-        String playerName = player.getName();
-        if (players.containsKey(playerName)) {
-            return players.get(playerName);
-        }
-        GamePlayer gamePlayer = new GamePlayer(playerName);
-        players.put(playerName, gamePlayer);
+        GamePlayer gamePlayer = players.computeIfAbsent(player.getName(), GamePlayer::new);
+        index(gamePlayer, player);
+        startSession(gamePlayer);
         return gamePlayer;
     }
 
+    /**
+     * Ends the session of a player who left the server.
+     *
+     * <p>Players in a team stay registered so they keep their place when they rejoin.</p>
+     *
+     * @param name the name of the player.
+     */
+    public void endSession(@NotNull String name) {
+        GamePlayer gamePlayer = players.get(name);
+        if (gamePlayer == null) {
+            return;
+        }
+        releaseSession(gamePlayer);
+        unindexEntity(gamePlayer);
+        if (!gamePlayer.isInAnyTeam()) {
+            forget(gamePlayer);
+        }
+    }
+
+    /**
+     * Resets per-game state of the players of a game that has ended.
+     *
+     * <p>Sessions of players who are no longer online are released, and those players are forgotten
+     * unless they are in a team. Online players keep their session with a cleared state.
+     * Players of other arenas are not affected.</p>
+     *
+     * @param gamePlayers the participants and spectators of the game.
+     */
+    public void endGame(@NotNull Collection<GamePlayer> gamePlayers) {
+        for (GamePlayer gamePlayer : gamePlayers) {
+            if (players.get(gamePlayer.getName()) != gamePlayer) {
+                continue;
+            }
+            if (!gamePlayer.isOnline()) {
+                releaseSession(gamePlayer);
+                unindexEntity(gamePlayer);
+                if (!gamePlayer.isInAnyTeam()) {
+                    forget(gamePlayer);
+                }
+                continue;
+            }
+            gamePlayer.getAttackers().clear();
+            gamePlayer.getStats().reset();
+        }
+    }
+
+    /**
+     * Returns the number of players with an active session.
+     *
+     * @return the active session count.
+     */
+    public int getActiveSessionCount() {
+        return activeSessions;
+    }
+
+    /**
+     * Returns the number of released assist trackers waiting to be reused.
+     *
+     * @return the pooled tracker count.
+     */
+    public int getPooledTrackerCount() {
+        return trackerPool.size();
+    }
+
+    private void startSession(@NotNull GamePlayer gamePlayer) {
+        if (gamePlayer.hasSession()) {
+            return;
+        }
+        AssistTracker tracker = trackerPool.poll();
+        gamePlayer.attachSession(tracker != null ? tracker : new AssistTracker());
+        activeSessions++;
+    }
+
+    private void releaseSession(@NotNull GamePlayer gamePlayer) {
+        AssistTracker tracker = gamePlayer.detachSession();
+        if (tracker == null) {
+            return;
+        }
+        activeSessions--;
+        tracker.clear();
+        if (trackerPool.size() < MAX_POOLED_TRACKERS) {
+            trackerPool.push(tracker);
+        }
+    }
+
+    private void index(@NotNull GamePlayer gamePlayer, @NotNull Player player) {
+        unindexEntity(gamePlayer);
+        gamePlayer.bind(player);
+        playersByUniqueId.put(player.getUniqueId(), gamePlayer);
+        playersByEntityId.put(player.getEntityId(), gamePlayer);
+    }
+
+    private void unindexEntity(@NotNull GamePlayer gamePlayer) {
+        int entityId = gamePlayer.getEntityId();
+        if (entityId == GamePlayer.NO_ENTITY) {
+            return;
+        }
+        if (playersByEntityId.get(entityId) == gamePlayer) {
+            playersByEntityId.remove(entityId);
+        }
+        gamePlayer.unbindEntity();
+    }
+
+    private void unindex(@NotNull GamePlayer gamePlayer) {
+        unindexEntity(gamePlayer);
+        if (gamePlayer.getUniqueId() != null) {
+            playersByUniqueId.remove(gamePlayer.getUniqueId(), gamePlayer);
+        }
+    }
+
+    private void forget(@NotNull GamePlayer gamePlayer) {
+        players.remove(gamePlayer.getName());
+        unindex(gamePlayer);
+        ArenaManager arenaManager = TheTowers.getInstance().getArenaManager();
+        arenaManager.getInstance(gamePlayer).removeSpectator(gamePlayer);
+        arenaManager.forget(gamePlayer.getName());
+    }
+
     /**
      * Retrieves a player by name.
      *
@@ -37,6 +180,29 @@ public class PlayerManager {
         return Optional.ofNullable(players.get(name));
     }
 
+    /**
+     * Retrieves a player by their unique id.
+     *
+     * @param uniqueId the unique id of the player to retrieve.
+     * @return the {@link GamePlayer}, or null if not found.
+     */
+    public @Nullable GamePlayer getPlayer(@NotNull UUID uniqueId) {
+        return playersByUniqueId.get(uniqueId);
+    }
+
+    /**
+     * Retrieves the player controlling an entity.
+     *
+     * @param entity the entity, may be null.
+     * @return the {@link GamePlayer}, or null if the entity is not a registered online player.
+     */
+    public @Nullable GamePlayer getPlayerByEntity(@Nullable Entity entity) {
+        if (!(entity instanceof Player)) {
+            return null;
+        }
+        return playersByEntityId.get(entity.getEntityId());
+    }
+
     /**
      * Checks if a player exists in the manager.
      *
@@ -48,12 +214,16 @@ public class PlayerManager {
     }
 
     /**
-     * Removes a player from the manager.
+     * Removes a player from the manager, releasing their session.
      *
      * @param name the name of the player to remove.
      */
     public void removePlayer(@NotNull String name) {
-        players.remove(name);
+        GamePlayer gamePlayer = players.remove(name);
+        if (gamePlayer != null) {
+            releaseSession(gamePlayer);
+            unindex(gamePlayer);
+        }
     }
 
     /**
@@ -71,8 +241,9 @@ public class PlayerManager {
      * @param message the message to broadcast, formatted as a rich text string.
      */
     public void broadcast(@NotNull String message) {
+        Component component = Components.standard(message);
         for (GamePlayer player : players.values()) {
-            player.sendMessage(message);
+            player.sendMessage(component);
         }
     }
 
@@ -1,6 +1,7 @@
 package dev.erpix.thetowers.model;
 
 import lombok.Getter;
+import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -13,6 +14,11 @@ public class PlayerProfile {
     private final String name;
     @NotNull
     private final StatsTracker stats;
+    /**
+     * Sequence number of the last journal entry reflected in this profile.
+     */
+    @Setter
+    private long journalSeq;
 
     public PlayerProfile(@NotNull String name) {
         this.name = name;
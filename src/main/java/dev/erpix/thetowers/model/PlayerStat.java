@@ -73,12 +73,23 @@ public interface PlayerStat {
      */
     @NotNull String getKey();
 
+    /**
+     * Returns the dense numeric id assigned to this statistic type at registration.
+     *
+     * <p>Ids start at 0 and are only stable for the lifetime of the server, they are never persisted.</p>
+     *
+     * @return the id.
+     */
+    int getId();
+
     class PlayerStatImpl implements PlayerStat {
 
         private final String key;
+        private final int id;
 
-        public PlayerStatImpl(@NotNull String key) {
+        public PlayerStatImpl(@NotNull String key, int id) {
             this.key = key;
+            this.id = id;
         }
 
         @Override
@@ -86,15 +97,20 @@ public interface PlayerStat {
             return key;
         }
 
+        @Override
+        public int getId() {
+            return id;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (!(o instanceof PlayerStatImpl that)) return false;
-            return Objects.equals(key, that.key);
+            return id == that.id;
         }
 
         @Override
         public int hashCode() {
-            return Objects.hashCode(key);
+            return id;
         }
 
         @Override
@@ -126,12 +142,17 @@ public interface PlayerStat {
     final class Registry {
 
         private static final Map<String, PlayerStat> REGISTRY = new LinkedHashMap<>();
+        private static final List<PlayerStat> BY_ID = new ArrayList<>();
 
         private Registry() { }
 
-        static PlayerStat register(String key) {
-            PlayerStat stat = new PlayerStatImpl(key);
+        static synchronized PlayerStat register(String key) {
+            if (REGISTRY.containsKey(key)) {
+                throw new IllegalStateException("PlayerStat already registered: " + key);
+            }
+            PlayerStat stat = new PlayerStatImpl(key, BY_ID.size());
             REGISTRY.put(key, stat);
+            BY_ID.add(stat);
             return stat;
         }
 
@@ -139,6 +160,14 @@ public interface PlayerStat {
             return REGISTRY.get(key);
         }
 
+        static PlayerStat fromId(int id) {
+            return id >= 0 && id < BY_ID.size() ? BY_ID.get(id) : null;
+        }
+
+        static int size() {
+            return BY_ID.size();
+        }
+
         static Collection<PlayerStat> getAll() {
             return Collections.unmodifiableCollection(REGISTRY.values());
         }
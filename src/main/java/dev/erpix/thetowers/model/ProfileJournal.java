@@ -0,0 +1,354 @@
+package dev.erpix.thetowers.model;
+
+import dev.erpix.thetowers.TheTowers;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Sequential write-ahead journal of profile stat changes.
+ *
+ * <p>Every change is appended as a delta with a monotonically increasing sequence number.
+ * A background writer appends queued entries in batches and forces them to disk once per batch,
+ * so many changes share a single fsync.</p>
+ *
+ * <p>The journal is split into segments named after the first sequence number they may contain.
+ * After all profiles have been checkpointed, the segments preceding the checkpoint can be deleted.</p>
+ */
+public class ProfileJournal {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    /**
+     * Maximum time to wait for the writer to finish when closing the journal.
+     */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final Path directory;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong sequence = new AtomicLong(1);
+    private final Object channelLock = new Object();
+    private FileChannel channel;
+    private Thread writer;
+    private volatile boolean running;
+
+    public ProfileJournal(@NotNull Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Reads all entries from the existing segments, in sequence order.
+     *
+     * <p>Must be called before {@link #start()}. Reading stops at the first torn or corrupted record
+     * of a segment, which can only be the result of a crash in the middle of a write.</p>
+     *
+     * @return the recovered entries.
+     * @throws IOException if the journal directory cannot be read.
+     */
+    public @NotNull List<Entry> replay() throws IOException {
+        Files.createDirectories(directory);
+
+        List<Entry> entries = new ArrayList<>();
+        for (Path segment : listSegments()) {
+            sequence.accumulateAndGet(segmentStart(segment), Math::max);
+            readSegment(segment, entries);
+        }
+        for (Entry entry : entries) {
+            sequence.accumulateAndGet(entry.sequence() + 1, Math::max);
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the entries not applied to a profile yet, i.e. those with a sequence number greater
+     * than the last one stored in the profile.
+     *
+     * @param entries the replayed entries of the profile, in sequence order.
+     * @param seq the last sequence number stored in the profile.
+     * @return the entries to apply.
+     */
+    public static @NotNull List<Entry> after(@NotNull List<Entry> entries, long seq) {
+        List<Entry> pending = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            if (entry.sequence() > seq) {
+                pending.add(entry);
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Opens a new segment and starts the background writer.
+     *
+     * @return the start of the new segment.
+     * @throws IOException if the segment cannot be created.
+     */
+    public long start() throws IOException {
+        long start = sequence.get();
+        synchronized (channelLock) {
+            channel = openSegment(start);
+        }
+        running = true;
+        writer = new Thread(this::run, "profile-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        return start;
+    }
+
+    /**
+     * Stops the background writer and forces all queued entries to disk.
+     */
+    public void close() {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+
+        synchronized (channelLock) {
+            try {
+                writeQueued();
+                if (channel != null) {
+                    channel.close();
+                    channel = null;
+                }
+            } catch (IOException e) {
+                TheTowers.getInstance().getLogger().error("Error closing profile journal", e);
+            }
+        }
+    }
+
+    /**
+     * Appends a stat change to the journal.
+     *
+     * <p>The entry becomes durable once the background writer forces the current batch to disk.</p>
+     *
+     * @param profile the name of the profile.
+     * @param stat the changed stat.
+     * @param delta the value added to the stat.
+     * @return the sequence number assigned to the entry.
+     */
+    public long append(@NotNull String profile, @NotNull PlayerStat stat, int delta) {
+        long seq = sequence.getAndIncrement();
+        queue.add(new Entry(seq, profile, stat.getKey(), delta));
+        return seq;
+    }
+
+    /**
+     * Makes sure every entry appended from now on has a sequence number greater than the given one.
+     *
+     * <p>Called with the sequence number stored in a profile before its changes are journaled.
+     * Entries up to that number are skipped as already applied when the journal is replayed, which
+     * would drop new entries if the sequence restarted lower, e.g. after the segments were deleted.</p>
+     *
+     * @param seq the sequence number to advance past.
+     */
+    public void advancePast(long seq) {
+        sequence.accumulateAndGet(seq + 1, Math::max);
+    }
+
+    /**
+     * Closes the current segment and starts a new one.
+     *
+     * <p>Every entry appended before this call has a sequence number lower than the returned value.</p>
+     *
+     * @return the start of the new segment, to be passed to {@link #deleteSegmentsBefore(long)}
+     *         once a checkpoint taken after this call has been written.
+     */
+    public long rotate() {
+        synchronized (channelLock) {
+            long start = sequence.get();
+            try {
+                writeQueued();
+                if (channel != null) {
+                    channel.close();
+                }
+                channel = openSegment(start);
+            } catch (IOException e) {
+                TheTowers.getInstance().getLogger().error("Error rotating profile journal", e);
+            }
+            return start;
+        }
+    }
+
+    /**
+     * Deletes all segments that start before the given sequence number.
+     *
+     * @param start the start of the oldest segment to keep.
+     */
+    public void deleteSegmentsBefore(long start) {
+        try {
+            for (Path segment : listSegments()) {
+                if (segmentStart(segment) < start) {
+                    Files.deleteIfExists(segment);
+                }
+            }
+        } catch (IOException e) {
+            TheTowers.getInstance().getLogger().error("Error deleting profile journal segments", e);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Entry first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                synchronized (channelLock) {
+                    List<Entry> batch = new ArrayList<>();
+                    batch.add(first);
+                    queue.drainTo(batch);
+                    write(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                TheTowers.getInstance().getLogger().error("Error writing profile journal", e);
+            }
+        }
+    }
+
+    /**
+     * Writes every queued entry and forces it to disk. Must hold {@link #channelLock}.
+     */
+    private void writeQueued() throws IOException {
+        List<Entry> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    /**
+     * Writes a batch of entries with a single fsync. Must hold {@link #channelLock}.
+     */
+    private void write(@NotNull List<Entry> batch) throws IOException {
+        if (channel == null) {
+            throw new IOException("Journal is not open, dropping " + batch.size() + " entries");
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(batch.size() * 48);
+        DataOutputStream out = new DataOutputStream(bytes);
+        CRC32 crc = new CRC32();
+        for (Entry entry : batch) {
+            byte[] payload = entry.encode();
+            crc.reset();
+            crc.update(payload);
+            out.writeInt(payload.length);
+            out.writeInt((int) crc.getValue());
+            out.write(payload);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    private void readSegment(@NotNull Path segment, @NotNull List<Entry> entries) throws IOException {
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                try {
+                    int checksum = in.readInt();
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+
+                    crc.reset();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != checksum) {
+                        TheTowers.getInstance().getLogger().warn("Corrupted record in journal segment {}, skipping the rest",
+                                segment.getFileName());
+                        return;
+                    }
+                    entries.add(Entry.decode(payload));
+                } catch (EOFException | NegativeArraySizeException e) {
+                    TheTowers.getInstance().getLogger().warn("Torn record at the end of journal segment {}", segment.getFileName());
+                    return;
+                }
+            }
+        }
+    }
+
+    private @NotNull FileChannel openSegment(long start) throws IOException {
+        return FileChannel.open(directory.resolve(SEGMENT_PREFIX + start + SEGMENT_SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private @NotNull List<Path> listSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted((a, b) -> Long.compare(segmentStart(a), segmentStart(b)))
+                    .toList();
+        }
+    }
+
+    private static long segmentStart(@NotNull Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Represents a single stat change in the journal.
+     *
+     * @param sequence the sequence number of the change.
+     * @param profile the name of the profile.
+     * @param stat the key of the changed stat.
+     * @param delta the value added to the stat.
+     */
+    public record Entry(long sequence, @NotNull String profile, @NotNull String stat, int delta) {
+
+        private byte[] encode() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(sequence);
+            out.writeUTF(profile);
+            out.writeUTF(stat);
+            out.writeInt(delta);
+            return bytes.toByteArray();
+        }
+
+        private static @NotNull Entry decode(byte[] payload) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            return new Entry(in.readLong(), in.readUTF(), in.readUTF(), in.readInt());
+        }
+
+    }
+
+}
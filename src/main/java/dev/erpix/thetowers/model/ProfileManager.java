@@ -1,35 +1,54 @@
 package dev.erpix.thetowers.model;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 import dev.erpix.thetowers.TheTowers;
+import dev.erpix.thetowers.config.Config;
+import dev.erpix.thetowers.util.Schedulers;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Manages player profiles, including loading, saving, and creating profiles.
+ *
+ * <p>Profiles are loaded off the main thread during pre-login and written by the
+ * {@link ProfileStore} background worker, so neither joins nor quits block on disk I/O.</p>
+ *
+ * <p>When the profile journal is enabled, every stat change is appended to a {@link ProfileJournal}
+ * instead of rewriting whole profiles on each save. Profiles are checkpointed periodically and on
+ * shutdown, and changes that were journaled but not yet checkpointed are replayed on startup.</p>
  */
 public class ProfileManager {
 
     private static final ComponentLogger logger = TheTowers.getInstance().getLogger();
 
     private final Path profilesDir = TheTowers.getInstance().getPlugin().getDataPath().resolve("profiles");
-    private final Map<String, PlayerProfile> profiles = new HashMap<>();
-    private final Gson gson = new GsonBuilder()
-            .registerTypeAdapter(PlayerStat.class, new PlayerStat.Adapter())
-            .create();
+    private final Map<String, PlayerProfile> profiles = new ConcurrentHashMap<>();
+    private final ProfileStore store = new ProfileStore(profilesDir);
+    private final List<StatListener> listeners = new CopyOnWriteArrayList<>();
+    @Nullable
+    private ProfileJournal journal;
+    private ScheduledTask checkpointTask;
+
+    public ProfileManager() {
+        Config config = TheTowers.getInstance().getConfig();
+        this.journal = config.isProfileJournal() ? new ProfileJournal(profilesDir.resolve("journal")) : null;
+    }
 
     /**
      * Initializes the profile manager.
      *
-     * <p>Ensures that the profiles directory exists, creating it if necessary.</p>
+     * <p>Ensures that the profiles directory exists, creating it if necessary,
+     * and starts the background I/O worker. If the journal is enabled, replays it
+     * and schedules periodic checkpoints.</p>
      */
     public void init() {
         try {
@@ -40,96 +59,356 @@ public class ProfileManager {
         } catch (IOException e) {
             logger.error("Could not create profiles directory: {}", e.getMessage());
         }
+        store.start();
+
+        if (journal != null) {
+            try {
+                boolean replayed = replayJournal();
+                long start = journal.start();
+                if (replayed) {
+                    // The new segment keeps the sequence numbers going, the replayed ones are in the checkpoint now
+                    journal.deleteSegmentsBefore(start);
+                } else {
+                    logger.warn("Could not write all replayed profiles, keeping the journal to replay it again");
+                }
+            } catch (IOException | RuntimeException e) {
+                // Fall back to writing whole profiles, unreplayed segments stay on disk for the next start
+                logger.error("Could not open profile journal, saving whole profiles instead", e);
+                journal.close();
+                journal = null;
+                return;
+            }
+
+            long interval = Math.max(1, TheTowers.getInstance().getConfig().getProfileCheckpointInterval()) * 20L;
+            checkpointTask = Schedulers.globalTimer(this::checkpoint, interval, interval);
+        }
+    }
+
+    /**
+     * Saves all profiles with unsaved changes and waits until every pending write is on disk.
+     */
+    public void shutdown() {
+        if (checkpointTask != null) {
+            checkpointTask.cancel();
+            checkpointTask = null;
+        }
+
+        if (journal == null) {
+            saveAll();
+            store.close();
+            return;
+        }
+
+        long segment = journal.rotate();
+        enqueueDirty();
+        if (store.close()) {
+            journal.deleteSegmentsBefore(segment);
+        } else {
+            logger.warn("Could not write all profiles, keeping the journal to replay it on the next start");
+        }
+        journal.close();
+    }
+
+    /**
+     * Writes a checkpoint of all profiles with unsaved changes and discards the journal segments
+     * it covers once the checkpoint is on disk.
+     *
+     * <p>If any profile fails to be written, the segments are kept and the profile stays pending,
+     * it is written and the segments are discarded by a later checkpoint.</p>
+     *
+     * <p>Must be called on the main thread. Without the journal, this is the same as {@link #saveAll()}.</p>
+     */
+    public void checkpoint() {
+        if (journal == null) {
+            saveAll();
+            return;
+        }
+
+        long segment = journal.rotate();
+        int count = enqueueDirty();
+        Schedulers.async(() -> {
+            if (!store.flushAll()) {
+                logger.warn("Checkpoint of {} profile(s) incomplete, keeping the journal", count);
+                return;
+            }
+            journal.deleteSegmentsBefore(segment);
+            logger.info("Checkpointed {} profile(s)", count);
+        });
     }
 
     /**
      * Loads a player's profile from a JSON file.
      *
-     * <p>If the profile file does not exist or is invalid, a new profile is created.</p>
+     * <p>If the profile is already in memory, it is returned as is. If the profile file does not exist
+     * or is empty, a new profile is created. This method blocks on disk I/O and is meant to be called
+     * off the main thread, e.g. during pre-login.</p>
      *
      * @param playerName the name of the player whose profile is to be loaded.
+     * @return the loaded {@link PlayerProfile}, or empty if the profile file could not be read.
      */
-    public void load(@NotNull String playerName) {
-        try (FileReader reader = new FileReader(jsonFile(playerName))) {
-            PlayerProfile profile = gson.fromJson(reader, PlayerProfile.class);
+    public @NotNull Optional<PlayerProfile> load(@NotNull String playerName) {
+        PlayerProfile cached = profiles.get(playerName);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        try {
+            PlayerProfile profile = store.read(playerName);
 
             if (profile == null || profile.getName().isEmpty()) {
-                profile = createProfile(playerName);
+                logger.info("Profile file for '{}' not found, creating new profile", playerName);
+                return Optional.of(createProfile(playerName));
             }
 
-            profiles.put(profile.getName(), profile);
+            PlayerProfile existing = profiles.putIfAbsent(profile.getName(), profile);
+            if (existing != null) {
+                return Optional.of(existing);
+            }
+            attach(profile);
             logger.info("Loaded '{}' profile", playerName);
-        } catch (FileNotFoundException e) {
-            logger.info("Profile file for '{}' not found, creating new profile", playerName);
-            createProfile(playerName);
-        } catch (IOException e) {
+            return Optional.of(profile);
+        } catch (IOException | JsonParseException e) {
             logger.error("Error reading profile file", e);
+            return Optional.empty();
         }
     }
 
     /**
-     * Saves a player's profile to a JSON file.
+     * Schedules a player's profile to be saved to a JSON file.
+     *
+     * <p>Profiles without unsaved changes are skipped. When the journal is enabled, the changes
+     * are already durable and the profile is written with the next checkpoint instead.</p>
      *
      * @param playerName the name of the player whose profile is to be saved.
      */
     public void save(@NotNull String playerName) {
-        try (FileWriter writer = new FileWriter(jsonFile(playerName))) {
-            PlayerProfile profile = profiles.get(playerName);
-
-            if (profile == null) {
-                logger.warn("Cannot save profile for '{}', profile not found", playerName);
-            }
-
-            gson.toJson(profile, writer);
-            logger.info("Saved profile for '{}'", playerName);
-        } catch (IOException e) {
-            logger.error("Error writing profiles file", e);
+        PlayerProfile profile = profiles.get(playerName);
+        if (profile == null) {
+            logger.warn("Cannot save profile for '{}', profile not found", playerName);
+            return;
         }
+        save(profile);
     }
 
     /**
-     * Saves all player profiles to their respective JSON files.
+     * Schedules all player profiles with unsaved changes to be saved to their respective JSON files.
      */
     public void saveAll() {
         for (PlayerProfile profile : profiles.values()) {
-            save(profile.getName());
+            save(profile);
         }
-        logger.info("All player profiles saved successfully.");
+        logger.info("All player profiles scheduled for saving.");
+    }
+
+    /**
+     * Reads a stored profile without keeping it in memory.
+     *
+     * <p>Returns the in-memory profile if it is loaded. This method blocks on disk I/O
+     * and is meant to be called off the main thread.</p>
+     *
+     * @param name the name of the player.
+     * @return the profile, or empty if it does not exist or cannot be read.
+     */
+    public @NotNull Optional<PlayerProfile> readStored(@NotNull String name) {
+        PlayerProfile cached = profiles.get(name);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            return Optional.ofNullable(store.read(name));
+        } catch (IOException | JsonParseException e) {
+            logger.error("Error reading profile file for '{}'", name, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Lists the names of all stored profiles. Blocks on disk I/O.
+     *
+     * @return the profile names, or an empty set if the profiles directory cannot be read.
+     */
+    public @NotNull Set<String> getStoredProfileNames() {
+        try {
+            return store.listNames();
+        } catch (IOException e) {
+            logger.error("Could not list stored profiles", e);
+            return Set.of();
+        }
+    }
+
+    /**
+     * Returns the number of profiles loaded in memory.
+     *
+     * @return the loaded profile count.
+     */
+    public int getLoadedCount() {
+        return profiles.size();
+    }
+
+    /**
+     * Returns the number of profiles waiting to be written to disk.
+     *
+     * @return the pending write count.
+     */
+    public int getPendingWriteCount() {
+        return store.getPendingCount();
+    }
+
+    /**
+     * Registers a listener notified about stat changes of every loaded profile.
+     *
+     * @param listener the listener to add.
+     */
+    public void addListener(@NotNull StatListener listener) {
+        listeners.add(listener);
     }
 
-    // TODO: docs
     /**
      * Retrieves a player's profile from memory.
      *
      * @param name the name of the player whose profile is to be retrieved.
-     * @return the {@link PlayerProfile}, or null if not found.
+     * @return the {@link PlayerProfile}, or empty if not loaded.
      */
     public @NotNull Optional<PlayerProfile> getProfile(@NotNull String name) {
         return Optional.ofNullable(this.profiles.get(name));
     }
 
+    private void save(@NotNull PlayerProfile profile) {
+        if (journal != null) {
+            return;
+        }
+        enqueue(profile);
+    }
+
+    private boolean enqueue(@NotNull PlayerProfile profile) {
+        StatsTracker stats = profile.getStats();
+        if (!stats.isDirty()) {
+            return false;
+        }
+        stats.markClean();
+        store.enqueue(profile);
+        return true;
+    }
+
+    private int enqueueDirty() {
+        int count = 0;
+        for (PlayerProfile profile : profiles.values()) {
+            if (enqueue(profile)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Routes every stat change of a profile to the journal and the registered listeners.
+     *
+     * @param profile the profile to attach.
+     */
+    private void attach(@NotNull PlayerProfile profile) {
+        if (journal != null) {
+            // The journal may have been reset while the profile kept its sequence number
+            journal.advancePast(profile.getJournalSeq());
+        }
+        profile.getStats().setListener((stat, delta) -> {
+            if (journal != null) {
+                profile.setJournalSeq(journal.append(profile.getName(), stat, delta));
+            }
+            for (StatListener listener : listeners) {
+                listener.onStatChange(profile, stat);
+            }
+        });
+    }
+
+    /**
+     * Applies journaled changes that did not make it into a checkpoint before the last shutdown.
+     *
+     * <p>Only entries newer than the sequence number stored in a profile are applied, so entries
+     * that are already part of the checkpoint are never counted twice.</p>
+     *
+     * @return true if every replayed profile was written, false otherwise.
+     * @throws IOException if the journal cannot be read.
+     */
+    private boolean replayJournal() throws IOException {
+        List<ProfileJournal.Entry> entries = journal.replay();
+        if (entries.isEmpty()) {
+            return true;
+        }
+
+        Map<String, List<ProfileJournal.Entry>> byProfile = new LinkedHashMap<>();
+        for (ProfileJournal.Entry entry : entries) {
+            byProfile.computeIfAbsent(entry.profile(), k -> new ArrayList<>()).add(entry);
+        }
+
+        int applied = 0;
+        boolean complete = true;
+        for (Map.Entry<String, List<ProfileJournal.Entry>> group : byProfile.entrySet()) {
+            PlayerProfile profile;
+            try {
+                profile = store.read(group.getKey());
+            } catch (JsonParseException e) {
+                logger.error("Cannot replay journal for '{}', profile file is malformed", group.getKey(), e);
+                complete = false;
+                continue;
+            }
+            if (profile == null) {
+                profile = new PlayerProfile(group.getKey());
+            }
+
+            long seq = profile.getJournalSeq();
+            for (ProfileJournal.Entry entry : ProfileJournal.after(group.getValue(), profile.getJournalSeq())) {
+                PlayerStat stat = PlayerTotalStat.fromKey(entry.stat());
+                if (stat == null) {
+                    logger.warn("Skipping journal entry with unknown stat '{}'", entry.stat());
+                    continue;
+                }
+                profile.getStats().incrementStat(stat, entry.delta());
+                seq = Math.max(seq, entry.sequence());
+                applied++;
+            }
+            profile.setJournalSeq(seq);
+            store.enqueue(profile);
+        }
+
+        if (!store.flushAll()) {
+            complete = false;
+        }
+        logger.info("Replayed {} journal entries for {} profile(s)", applied, byProfile.size());
+        return complete;
+    }
+
     /**
      * Creates a new profile for a player and stores it in memory.
      *
      * @param name the name of the player for whom the profile is to be created.
-     * @return the newly created {@link PlayerProfile}.
+     * @return the newly created {@link PlayerProfile}, or the one that was stored concurrently.
      */
     private @NotNull PlayerProfile createProfile(@NotNull String name) {
         PlayerProfile profile = new PlayerProfile(name);
-        this.profiles.put(name, profile);
+        PlayerProfile existing = this.profiles.putIfAbsent(name, profile);
+        if (existing != null) {
+            return existing;
+        }
+        attach(profile);
 
         logger.info("Created new profile for player '{}'", name);
         return profile;
     }
 
     /**
-     * Constructs the file path for a player's profile JSON file.
-     *
-     * @param file the name of the file (without extension).
-     * @return the file representing the profile file path.
+     * Listener notified about stat changes of loaded profiles.
      */
-    private @NotNull File jsonFile(@NotNull String file) {
-        return profilesDir.resolve(file + ".json").toFile();
+    @FunctionalInterface
+    public interface StatListener {
+
+        /**
+         * Called after a statistic of a profile has changed.
+         *
+         * @param profile the changed profile.
+         * @param stat the changed statistic.
+         */
+        void onStatChange(@NotNull PlayerProfile profile, @NotNull PlayerStat stat);
+
     }
 
 }
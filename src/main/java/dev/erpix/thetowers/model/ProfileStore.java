@@ -0,0 +1,299 @@
+package dev.erpix.thetowers.model;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import dev.erpix.thetowers.TheTowers;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind storage for player profiles.
+ *
+ * <p>Profiles are serialized on the calling thread and handed over to a background I/O worker,
+ * which writes them to disk in batches. Multiple saves of the same profile that happen before the
+ * worker gets to it are coalesced into a single write of the latest snapshot.</p>
+ *
+ * <p>Every write goes to a temporary file that is forced to disk and then atomically renamed over
+ * the profile file, so a crash never leaves a truncated or half-written profile behind.</p>
+ */
+public class ProfileStore {
+
+    private static final ComponentLogger logger = TheTowers.getInstance().getLogger();
+
+    /**
+     * Maximum number of distinct profiles waiting to be written.
+     * When the queue is full, the caller writes the profile itself.
+     */
+    private static final int QUEUE_CAPACITY = 256;
+    /**
+     * Maximum number of profiles written by the worker in a single batch.
+     */
+    private static final int MAX_BATCH_SIZE = 32;
+    /**
+     * Maximum time to wait for the worker to finish when closing the store.
+     */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final Path directory;
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(PlayerStat.class, new PlayerStat.Adapter())
+            .registerTypeAdapter(StatsTracker.class, new StatsTracker.Adapter())
+            .create();
+    private final Map<String, String> pending = new ConcurrentHashMap<>();
+    private final BlockingQueue<String> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    // Profiles whose last write failed, they are pending but not in the queue
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+    private final Object writeLock = new Object();
+    private Thread worker;
+    private volatile boolean running;
+
+    public ProfileStore(@NotNull Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Starts the background I/O worker.
+     */
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "profile-io-worker");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops the background I/O worker and synchronously writes all pending profiles.
+     *
+     * @return true if every pending profile was written, false if any write failed.
+     */
+    public boolean close() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+
+        queue.clear();
+        int count = pending.size();
+        boolean success = flushAll();
+        if (count > 0) {
+            logger.info("Flushed {} pending profile(s) on shutdown", count - pending.size());
+        }
+        return success;
+    }
+
+    /**
+     * Reads a player's profile.
+     *
+     * <p>A snapshot that is still waiting to be written takes precedence over the file on disk.
+     * Safe to call from any thread.</p>
+     *
+     * @param name the name of the player.
+     * @return the profile, or null if the player has no stored profile.
+     * @throws IOException if the profile file cannot be read.
+     * @throws JsonParseException if the profile file is malformed.
+     */
+    public @Nullable PlayerProfile read(@NotNull String name) throws IOException {
+        String snapshot = pending.get(name);
+        if (snapshot != null) {
+            return gson.fromJson(new StringReader(snapshot), PlayerProfile.class);
+        }
+
+        try (Reader reader = Files.newBufferedReader(file(name))) {
+            return gson.fromJson(reader, PlayerProfile.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lists the names of all profiles stored on disk or waiting to be written.
+     *
+     * @return the profile names.
+     * @throws IOException if the profiles directory cannot be read.
+     */
+    public @NotNull Set<String> listNames() throws IOException {
+        Set<String> names = new HashSet<>(pending.keySet());
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".json"))
+                    .forEach(name -> names.add(name.substring(0, name.length() - ".json".length())));
+        }
+        return names;
+    }
+
+    /**
+     * Schedules a profile to be written by the background worker.
+     *
+     * <p>The profile is serialized immediately, so later changes do not affect this write.</p>
+     *
+     * @param profile the profile to write.
+     */
+    public void enqueue(@NotNull PlayerProfile profile) {
+        String name = profile.getName();
+        String json = gson.toJson(profile);
+
+        // Already queued, the worker will pick up the newer snapshot
+        if (pending.put(name, json) != null && !failed.remove(name)) {
+            return;
+        }
+
+        if (!running || !queue.offer(name)) {
+            // Worker is not running or cannot keep up, write on the calling thread
+            flush(List.of(name));
+        }
+    }
+
+    /**
+     * Synchronously writes every profile that is currently waiting to be written.
+     *
+     * <p>Waits for a write the background worker is in the middle of. When this method returns true,
+     * every snapshot enqueued before the call is on disk, either written here or by the worker.
+     * Snapshots that failed to be written stay pending and are retried by the next flush.</p>
+     *
+     * @return true if every pending profile was written, false if any write failed.
+     */
+    public boolean flushAll() {
+        // The worker writes under the same lock, so a write it has started is finished, and a failed one
+        // is pending again, by the time the lock is acquired
+        synchronized (writeLock) {
+            return flush(new ArrayList<>(pending.keySet())) == 0;
+        }
+    }
+
+    /**
+     * Returns the number of profiles waiting to be written.
+     *
+     * @return the pending write count.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void run() {
+        List<String> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running) {
+            try {
+                String first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+                int failures = flush(batch);
+                logger.debug("Saved {} profile(s)", batch.size() - failures);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Unexpected error in profile I/O worker", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes the latest pending snapshot of each given profile.
+     *
+     * <p>A snapshot that cannot be written is put back, unless a newer one has been enqueued meanwhile,
+     * so it is retried by the next flush or the next save of the profile.</p>
+     *
+     * @param names the names of the profiles to write.
+     * @return the number of profiles that failed to be written.
+     */
+    private int flush(@NotNull List<String> names) {
+        int failures = 0;
+        for (String name : names) {
+            // Taking the snapshot and writing it under one lock keeps writes of the same profile ordered
+            synchronized (writeLock) {
+                String json = pending.remove(name);
+                if (json == null) {
+                    continue;
+                }
+                failed.remove(name);
+                try {
+                    write(name, json);
+                } catch (IOException e) {
+                    logger.error("Error writing profile file for '{}'", name, e);
+                    if (pending.putIfAbsent(name, json) == null) {
+                        failed.add(name);
+                    }
+                    failures++;
+                }
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Atomically replaces a profile file with the given content.
+     *
+     * @param name the name of the player.
+     * @param json the serialized profile.
+     * @throws IOException if the profile cannot be written.
+     */
+    private void write(@NotNull String name, @NotNull String json) throws IOException {
+        Path target = file(name);
+        Path temp = target.resolveSibling(name + ".json.tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Constructs the file path for a player's profile JSON file.
+     *
+     * @param name the name of the player.
+     * @return the path of the profile file.
+     */
+    private @NotNull Path file(@NotNull String name) {
+        return directory.resolve(name + ".json");
+    }
+
+}
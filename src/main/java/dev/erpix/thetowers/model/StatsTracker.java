@@ -1,16 +1,28 @@
 package dev.erpix.thetowers.model;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import dev.erpix.thetowers.TheTowers;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.util.*;
-import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Stores and manages player statistics.
+ *
+ * <p>Values are kept in a primitive array indexed by {@link PlayerStat#getId()},
+ * so updates neither box nor hash.</p>
  */
 public class StatsTracker implements Iterable<Map.Entry<PlayerStat, Integer>> {
 
-    private final Map<PlayerStat, Integer> stats = new HashMap<>();
+    private int[] values = new int[PlayerStat.Registry.size()];
+    private transient boolean dirty;
+    private transient ChangeListener listener;
 
     /**
      * Retrieves the current value of a specific statistic.
@@ -19,7 +31,8 @@ public class StatsTracker implements Iterable<Map.Entry<PlayerStat, Integer>> {
      * @return the value or 0 if not present.
      */
     public int getStat(@NotNull PlayerStat key) {
-        return stats.getOrDefault(key, 0);
+        int id = key.getId();
+        return id < values.length ? values[id] : 0;
     }
 
     /**
@@ -41,7 +54,7 @@ public class StatsTracker implements Iterable<Map.Entry<PlayerStat, Integer>> {
      * @param key the stat key.
      */
     public void incrementStat(@NotNull PlayerStat key) {
-        stats.merge(key, 1, Integer::sum);
+        incrementStat(key, 1);
     }
 
     /**
@@ -51,7 +64,10 @@ public class StatsTracker implements Iterable<Map.Entry<PlayerStat, Integer>> {
      * @param value the value to increment the statistic by.
      */
     public void incrementStat(@NotNull PlayerStat key, int value) {
-        stats.merge(key, value, Integer::sum);
+        int id = key.getId();
+        ensureCapacity(id);
+        values[id] += value;
+        changed(key, value);
     }
 
     /**
@@ -60,7 +76,7 @@ public class StatsTracker implements Iterable<Map.Entry<PlayerStat, Integer>> {
      * @param key the stat key.
      */
     public void decrementStat(@NotNull PlayerStat key) {
-        stats.merge(key, -1, Integer::sum);
+        incrementStat(key, -1);
     }
 
     /**
@@ -70,7 +86,7 @@ public class StatsTracker implements Iterable<Map.Entry<PlayerStat, Integer>> {
      * @param value the value to decrement the statistic by.
      */
     public void decrementStat(@NotNull PlayerStat key, int value) {
-        stats.merge(key, -value, Integer::sum);
+        incrementStat(key, -value);
     }
 
     /**
@@ -80,29 +96,162 @@ public class StatsTracker implements Iterable<Map.Entry<PlayerStat, Integer>> {
      * @param value the value to set.
      */
     public void setStat(@NotNull PlayerStat key, int value) {
-        stats.put(key, value);
+        int id = key.getId();
+        ensureCapacity(id);
+        int previous = values[id];
+        values[id] = value;
+        changed(key, value - previous);
     }
 
     /**
      * Clears all stats, resetting them to zero.
      */
     public void reset() {
-        stats.replaceAll((k, v) -> 0);
+        for (int id = 0; id < values.length; id++) {
+            int previous = values[id];
+            if (previous != 0) {
+                values[id] = 0;
+                changed(PlayerStat.Registry.fromId(id), -previous);
+            }
+        }
+        dirty = true;
     }
 
+    /**
+     * Sets the listener notified about every change of a statistic.
+     *
+     * @param listener the listener, or null to remove it.
+     */
+    public void setListener(@Nullable ChangeListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Checks if any statistic has changed since the last call to {@link #markClean()}.
+     *
+     * @return true if there are unsaved changes, false otherwise.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Marks all current values as saved.
+     */
+    public void markClean() {
+        dirty = false;
+    }
+
+    private void changed(@NotNull PlayerStat key, int delta) {
+        dirty = true;
+        if (listener != null && delta != 0) {
+            listener.onChange(key, delta);
+        }
+    }
+
+    /**
+     * Performs the given action for each statistic with a non-zero value.
+     *
+     * @param action the action receiving the statistic and its value.
+     */
+    public void forEachStat(@NotNull ObjIntConsumer<PlayerStat> action) {
+        for (int id = 0; id < values.length; id++) {
+            if (values[id] != 0) {
+                action.accept(PlayerStat.Registry.fromId(id), values[id]);
+            }
+        }
+    }
+
+    private void ensureCapacity(int id) {
+        // Stats registered after this tracker was created (e.g. PlayerTotalStat) grow the array lazily
+        if (id >= values.length) {
+            values = Arrays.copyOf(values, Math.max(id + 1, PlayerStat.Registry.size()));
+        }
+    }
+
+    /**
+     * Returns an iterator over the statistics with a non-zero value.
+     *
+     * @return the iterator.
+     */
     @Override
     public @NotNull Iterator<Map.Entry<PlayerStat, Integer>> iterator() {
-        return stats.entrySet().iterator();
+        List<Map.Entry<PlayerStat, Integer>> entries = new ArrayList<>();
+        forEachStat((stat, value) -> entries.add(new AbstractMap.SimpleImmutableEntry<>(stat, value)));
+        return entries.iterator();
     }
 
-    @Override
-    public void forEach(Consumer<? super Map.Entry<PlayerStat, Integer>> action) {
-        stats.entrySet().forEach(action);
+    /**
+     * Listener notified about changes of statistics.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+
+        /**
+         * Called after a statistic has changed.
+         *
+         * @param stat the changed statistic.
+         * @param delta the difference between the new and the previous value.
+         */
+        void onChange(@NotNull PlayerStat stat, int delta);
+
     }
 
-    @Override
-    public Spliterator<Map.Entry<PlayerStat, Integer>> spliterator() {
-        return stats.entrySet().spliterator();
+    /**
+     * Gson adapter keeping the {@code {"stats": {"key": value}}} format of the former map-based tracker.
+     *
+     * <p>Unknown keys are skipped with a warning instead of failing the whole profile.</p>
+     */
+    public static class Adapter extends TypeAdapter<StatsTracker> {
+
+        @Override
+        public void write(JsonWriter out, StatsTracker tracker) throws IOException {
+            out.beginObject();
+            out.name("stats");
+            out.beginObject();
+            for (int id = 0; id < tracker.values.length; id++) {
+                if (tracker.values[id] != 0) {
+                    out.name(PlayerStat.Registry.fromId(id).getKey()).value(tracker.values[id]);
+                }
+            }
+            out.endObject();
+            out.endObject();
+        }
+
+        @Override
+        public StatsTracker read(JsonReader in) throws IOException {
+            StatsTracker tracker = new StatsTracker();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return tracker;
+            }
+
+            in.beginObject();
+            while (in.hasNext()) {
+                if (!in.nextName().equals("stats")) {
+                    in.skipValue();
+                    continue;
+                }
+                in.beginObject();
+                while (in.hasNext()) {
+                    String key = in.nextName();
+                    // Resolving through PlayerTotalStat makes sure its stats are registered
+                    PlayerStat stat = PlayerTotalStat.fromKey(key);
+                    if (stat == null) {
+                        TheTowers.getInstance().getLogger().warn("Skipping unknown stat '{}'", key);
+                        in.skipValue();
+                        continue;
+                    }
+                    int id = stat.getId();
+                    tracker.ensureCapacity(id);
+                    tracker.values[id] = in.nextInt();
+                }
+                in.endObject();
+            }
+            in.endObject();
+            return tracker;
+        }
+
     }
 
 }
@@ -0,0 +1,216 @@
+package dev.erpix.thetowers.model.game;
+
+import dev.erpix.thetowers.TheTowers;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+
+/**
+ * Registry of the {@link GameInstance game instances} running in parallel on the server.
+ *
+ * <p>Every instance plays on its own map, so events are routed to an instance by the world they happen in,
+ * while players are routed by the arena they were assigned to. Players who were never assigned to an arena
+ * belong to the default instance, which is the first one created.</p>
+ */
+public class ArenaManager {
+
+    private final Map<String, GameInstance> instances = new LinkedHashMap<>();
+    private final Map<UUID, GameInstance> instancesByWorld = new HashMap<>();
+    private final Map<String, GameInstance> instancesByPlayer = new HashMap<>();
+
+    /**
+     * Creates a new game instance.
+     *
+     * @param id the unique id of the instance.
+     * @param map the map of the instance, or null if it has none yet.
+     * @return the created {@link GameInstance}.
+     * @throws IllegalArgumentException if an instance with the id already exists,
+     * or the map is already used by another instance.
+     */
+    public @NotNull GameInstance create(@NotNull String id, @Nullable GameMap map) {
+        if (instances.containsKey(id)) {
+            throw new IllegalArgumentException("Game instance with id '" + id + "' already exists.");
+        }
+        if (map != null && instancesByWorld.containsKey(map.getWorld().getUID())) {
+            throw new IllegalArgumentException("Map '" + map.getName() + "' is already used by another instance.");
+        }
+        GameInstance instance = new GameInstance(id);
+        instances.put(id, instance);
+        if (map != null) {
+            instance.setMap(map);
+        }
+        return instance;
+    }
+
+    /**
+     * Removes a game instance, its players are moved to the default instance.
+     *
+     * @param instance the instance to remove.
+     */
+    public void remove(@NotNull GameInstance instance) {
+        if (!instances.remove(instance.getId(), instance)) {
+            return;
+        }
+        if (instance.getStage() != GameInstance.Stage.LOBBY) {
+            instance.stop();
+        }
+        instance.clearTeams();
+        GameMap map = instance.getMap();
+        if (map != null) {
+            instancesByWorld.remove(map.getWorld().getUID(), instance);
+        }
+        Set<String> moved = new HashSet<>();
+        instancesByPlayer.entrySet().removeIf(entry -> entry.getValue() == instance && moved.add(entry.getKey()));
+        GameInstance fallback = getDefaultInstance();
+        for (GamePlayer spectator : new ArrayList<>(instance.getSpectators())) {
+            instance.removeSpectator(spectator);
+            if (fallback != null) {
+                fallback.addSpectator(spectator);
+            }
+            moved.add(spectator.getName());
+        }
+        if (fallback != null) {
+            moved.forEach(TheTowers.getInstance().getTabManager().getPlaceholderRefresher()::invalidateArena);
+        }
+    }
+
+    /**
+     * Retrieves a game instance by its id.
+     *
+     * @param id the id of the instance.
+     * @return the {@link GameInstance} with the id, or empty if not found.
+     */
+    public @NotNull Optional<GameInstance> getInstance(@NotNull String id) {
+        return Optional.ofNullable(instances.get(id));
+    }
+
+    /**
+     * Retrieves the game instance played in a world.
+     *
+     * @param world the world.
+     * @return the {@link GameInstance} whose map is in the world, or null if there is none.
+     */
+    public @Nullable GameInstance getInstance(@NotNull World world) {
+        return instancesByWorld.get(world.getUID());
+    }
+
+    /**
+     * Retrieves the game instance a player belongs to.
+     *
+     * @param player the player.
+     * @return the {@link GameInstance} of the player, the default instance if the player was never assigned.
+     */
+    public @NotNull GameInstance getInstance(@NotNull GamePlayer player) {
+        return getInstanceOf(player.getName());
+    }
+
+    /**
+     * Retrieves the game instance a command sender belongs to.
+     *
+     * @param sender the command sender.
+     * @return the {@link GameInstance} of the sender, the default instance if the sender was never assigned.
+     */
+    public @NotNull GameInstance getInstance(@NotNull CommandSender sender) {
+        return getInstanceOf(sender.getName());
+    }
+
+    /**
+     * Retrieves the game instance a player belongs to by the player's name.
+     *
+     * @param playerName the name of the player.
+     * @return the {@link GameInstance} of the player, the default instance if the player was never assigned.
+     */
+    public @NotNull GameInstance getInstanceOf(@NotNull String playerName) {
+        GameInstance instance = instancesByPlayer.get(playerName);
+        return instance != null ? instance : Objects.requireNonNull(getDefaultInstance(), "No game instances");
+    }
+
+    /**
+     * Retrieves the default game instance, which holds the players not assigned to any arena.
+     *
+     * @return the default {@link GameInstance}, or null if there are no instances.
+     */
+    public @Nullable GameInstance getDefaultInstance() {
+        Iterator<GameInstance> iterator = instances.values().iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * Retrieves all game instances.
+     *
+     * @return an unmodifiable collection of all {@link GameInstance} instances, in creation order.
+     */
+    public @NotNull @Unmodifiable Collection<GameInstance> getInstances() {
+        return Collections.unmodifiableCollection(instances.values());
+    }
+
+    /**
+     * Assigns a player who is not in a team to another arena, as a spectator of its instance.
+     *
+     * @param player the player to assign.
+     * @param instance the instance to assign the player to.
+     * @throws IllegalStateException if the player is in a team.
+     */
+    public void assign(@NotNull GamePlayer player, @NotNull GameInstance instance) {
+        if (player.isInAnyTeam()) {
+            throw new IllegalStateException("Player " + player.getName() + " is in a team");
+        }
+        GameInstance previous = getInstance(player);
+        if (previous == instance) {
+            return;
+        }
+        previous.removeSpectator(player);
+        instancesByPlayer.put(player.getName(), instance);
+        instance.addSpectator(player);
+        TheTowers.getInstance().getTabManager().getPlaceholderRefresher().invalidateArena(player.getName());
+    }
+
+    /**
+     * Forgets the arena assignment of a player.
+     *
+     * @param playerName the name of the player.
+     */
+    public void forget(@NotNull String playerName) {
+        instancesByPlayer.remove(playerName);
+    }
+
+    /**
+     * Moves the assignment of a player to the instance of the team the player joined.
+     *
+     * @param player the player who joined a team.
+     * @param instance the instance of the team.
+     */
+    void onJoinedTeam(@NotNull GamePlayer player, @NotNull GameInstance instance) {
+        GameInstance previous = getInstance(player);
+        if (previous != instance) {
+            previous.removeSpectator(player);
+            instancesByPlayer.put(player.getName(), instance);
+            TheTowers.getInstance().getTabManager().getPlaceholderRefresher().invalidateArena(player.getName());
+        }
+    }
+
+    /**
+     * Updates the world index when an instance changes its map.
+     *
+     * @param instance the instance whose map changes.
+     * @param oldMap the previous map of the instance, or null if it had none.
+     * @param map the new map of the instance.
+     * @throws IllegalArgumentException if the map is already used by another instance.
+     */
+    void onMapChanged(@NotNull GameInstance instance, @Nullable GameMap oldMap, @NotNull GameMap map) {
+        UUID worldId = map.getWorld().getUID();
+        GameInstance owner = instancesByWorld.get(worldId);
+        if (owner != null && owner != instance) {
+            throw new IllegalArgumentException("Map '" + map.getName() + "' is already used by instance '" + owner.getId() + "'.");
+        }
+        if (oldMap != null) {
+            instancesByWorld.remove(oldMap.getWorld().getUID(), instance);
+        }
+        instancesByWorld.put(worldId, instance);
+    }
+
+}
@@ -0,0 +1,282 @@
+package dev.erpix.thetowers.model.game;
+
+import dev.erpix.thetowers.TheTowers;
+import dev.erpix.thetowers.util.Schedulers;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Journal of the blocks changed in the world of a game, used to reset the map after the game.
+ *
+ * <p>The original state of a block is recorded only the first time the block changes, later changes
+ * of the same block are ignored. Changes are grouped by chunk section (16x16x16 blocks), every section
+ * keeps a bitmap of its recorded positions and the original states in compact arrays, so recording
+ * is a bit lookup for blocks that are already in the journal.</p>
+ *
+ * <p>Reverting restores the original states incrementally, at most a configured number of blocks
+ * per tick, on the region thread owning each section. Only block data is restored, the contents of
+ * containers are not.</p>
+ *
+ * <p>Recording is thread-safe, as block events are fired on the region threads on Folia.</p>
+ */
+public class BlockJournal {
+
+    private static final int SECTION_BLOCKS = 16 * 16 * 16;
+
+    private final Map<Long, Section> sections = new ConcurrentHashMap<>();
+    // Sections being reverted and the position in the first one
+    private final ArrayDeque<Section> queue = new ArrayDeque<>();
+    private int cursor;
+    private ScheduledTask revertTask;
+
+    /**
+     * Records the current state of a block, unless the block has been recorded already.
+     *
+     * <p>Must be called before the block changes.</p>
+     *
+     * @param block the block about to change.
+     */
+    public void record(@NotNull Block block) {
+        Section section = section(block);
+        int index = index(block);
+        if (!section.isRecorded(index)) {
+            section.record(index, block.getBlockData());
+        }
+    }
+
+    /**
+     * Records the given original state of a block, unless the block has been recorded already.
+     *
+     * <p>Used when the block has changed already, e.g. for placed blocks.</p>
+     *
+     * @param block the changed block.
+     * @param original the state of the block before the change.
+     */
+    public void record(@NotNull Block block, @NotNull BlockData original) {
+        section(block).record(index(block), original);
+    }
+
+    /**
+     * Returns the number of recorded blocks.
+     *
+     * @return the number of recorded blocks.
+     */
+    public int size() {
+        int size = 0;
+        for (Section section : sections.values()) {
+            size += section.size();
+        }
+        return size;
+    }
+
+    /**
+     * Checks if no block has been recorded.
+     *
+     * @return true if the journal is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return sections.isEmpty();
+    }
+
+    /**
+     * Checks if the journal is being reverted.
+     *
+     * @return true if a revert is in progress, false otherwise.
+     */
+    public boolean isReverting() {
+        return revertTask != null;
+    }
+
+    /**
+     * Reverts all recorded blocks to their original state and clears the journal.
+     *
+     * <p>Blocks are restored over the next ticks, at most {@code blocksPerTick} of them per tick.
+     * Must be called on the global region thread, which is the main thread on Paper.</p>
+     *
+     * @param world the world the blocks were recorded in.
+     * @param blocksPerTick the maximum number of blocks restored per tick.
+     * @param onComplete the action to run on the global region thread once all blocks are restored.
+     * @throws IllegalStateException if a revert is already in progress.
+     */
+    public void revert(@NotNull World world, int blocksPerTick, @NotNull Runnable onComplete) {
+        if (revertTask != null) {
+            throw new IllegalStateException("Block journal is already being reverted");
+        }
+        drainSections();
+        int budget = Math.max(1, blocksPerTick);
+        AtomicInteger pending = new AtomicInteger();
+        revertTask = Schedulers.globalTimer(() -> {
+            int remaining = budget;
+            while (remaining > 0 && !queue.isEmpty()) {
+                Section section = queue.peek();
+                int from = cursor;
+                int to = Math.min(section.size(), from + remaining);
+                remaining -= to - from;
+                pending.incrementAndGet();
+                Schedulers.region(section.origin(world), () -> {
+                    try {
+                        section.revert(world, from, to);
+                    } finally {
+                        pending.decrementAndGet();
+                    }
+                });
+                if (to == section.size()) {
+                    queue.poll();
+                    cursor = 0;
+                } else {
+                    cursor = to;
+                }
+            }
+            // Complete only once the region threads have restored everything dispatched so far
+            if (queue.isEmpty() && pending.get() == 0) {
+                revertTask.cancel();
+                revertTask = null;
+                onComplete.run();
+            }
+        }, 1, 1);
+    }
+
+    /**
+     * Reverts all recorded blocks and the ones left by a revert in progress at once, on the current thread.
+     *
+     * <p>Meant for shutdown, when there are no more ticks to spread the work over. The current thread
+     * has to own the regions of the blocks, which is only the case for the main thread on Paper.</p>
+     *
+     * @param world the world the blocks were recorded in.
+     */
+    public void revertNow(@NotNull World world) {
+        if (revertTask != null) {
+            revertTask.cancel();
+            revertTask = null;
+        }
+        drainSections();
+        Section section;
+        while ((section = queue.poll()) != null) {
+            section.revert(world, cursor, section.size());
+            cursor = 0;
+        }
+    }
+
+    /**
+     * Stops a revert in progress and clears the journal, the blocks not restored yet are dropped.
+     */
+    public void clear() {
+        if (revertTask != null) {
+            revertTask.cancel();
+            revertTask = null;
+        }
+        sections.clear();
+        queue.clear();
+        cursor = 0;
+    }
+
+    private void drainSections() {
+        queue.addAll(sections.values());
+        sections.clear();
+    }
+
+    private @NotNull Section section(@NotNull Block block) {
+        long key = key(block.getX() >> 4, block.getY() >> 4, block.getZ() >> 4);
+        return sections.computeIfAbsent(key, Section::new);
+    }
+
+    /**
+     * Packs the coordinates of a chunk section, 22 bits for each of the chunk coordinates
+     * and 20 bits for the section index.
+     */
+    static long key(int chunkX, int sectionY, int chunkZ) {
+        return ((long) (chunkX & 0x3FFFFF) << 42) | ((long) (chunkZ & 0x3FFFFF) << 20) | (sectionY & 0xFFFFF);
+    }
+
+    static int chunkX(long key) {
+        return (int) (key >> 42);
+    }
+
+    static int sectionY(long key) {
+        return (int) (key << 44 >> 44);
+    }
+
+    static int chunkZ(long key) {
+        return (int) (key << 22 >> 42);
+    }
+
+    private static int index(@NotNull Block block) {
+        return (block.getY() & 15) << 8 | (block.getZ() & 15) << 4 | (block.getX() & 15);
+    }
+
+    /**
+     * Original states of the changed blocks of one chunk section.
+     */
+    private static final class Section {
+
+        private final int chunkX;
+        private final int sectionY;
+        private final int chunkZ;
+        private final long[] recorded = new long[SECTION_BLOCKS / Long.SIZE];
+        private short[] positions = new short[16];
+        private BlockData[] originals = new BlockData[16];
+        private int size;
+
+        private Section(long key) {
+            this.chunkX = chunkX(key);
+            this.sectionY = sectionY(key);
+            this.chunkZ = chunkZ(key);
+        }
+
+        private synchronized boolean isRecorded(int index) {
+            return (recorded[index >>> 6] & (1L << index)) != 0;
+        }
+
+        private synchronized void record(int index, @NotNull BlockData original) {
+            long bit = 1L << index;
+            if ((recorded[index >>> 6] & bit) != 0) {
+                return;
+            }
+            recorded[index >>> 6] |= bit;
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+                originals = Arrays.copyOf(originals, size * 2);
+            }
+            positions[size] = (short) index;
+            originals[size] = original;
+            size++;
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+
+        private @NotNull Location origin(@NotNull World world) {
+            return new Location(world, chunkX << 4, sectionY << 4, chunkZ << 4);
+        }
+
+        private synchronized void revert(@NotNull World world, int from, int to) {
+            int baseX = chunkX << 4;
+            int baseY = sectionY << 4;
+            int baseZ = chunkZ << 4;
+            for (int i = from; i < to; i++) {
+                int index = positions[i];
+                Block block = world.getBlockAt(baseX + (index & 15), baseY + (index >>> 8), baseZ + (index >>> 4 & 15));
+                try {
+                    // Without physics, so restored blocks do not update their neighbours that are not restored yet
+                    block.setBlockData(originals[i], false);
+                } catch (Exception e) {
+                    TheTowers.getInstance().getLogger().error("Failed to restore block at {}", block.getLocation(), e);
+                }
+                originals[i] = null;
+            }
+        }
+
+    }
+
+}
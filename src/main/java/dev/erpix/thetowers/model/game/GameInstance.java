@@ -0,0 +1,766 @@
+package dev.erpix.thetowers.model.game;
+
+import dev.erpix.thetowers.TheTowers;
+import dev.erpix.thetowers.config.Config;
+import dev.erpix.thetowers.model.PlayerStat;
+import dev.erpix.thetowers.model.history.MatchRecord;
+import dev.erpix.thetowers.model.tablist.PlaceholderRefresher;
+import dev.erpix.thetowers.model.tablist.TabManager;
+import dev.erpix.thetowers.util.AssistTracker;
+import dev.erpix.thetowers.util.Components;
+import dev.erpix.thetowers.util.Schedulers;
+import dev.erpix.thetowers.util.TimerWheel;
+import lombok.Getter;
+import lombok.Setter;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import net.kyori.adventure.title.Title;
+import net.kyori.adventure.util.Ticks;
+import org.bukkit.*;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * A single match played on one map, several of them may run in parallel.
+ *
+ * @see ArenaManager
+ */
+public class GameInstance {
+
+    public static final int MAX_PLAYERS = 32;
+
+    private static final Components.Template DEATH_MESSAGE = Components.template(
+            "<gray>☠ <dark_gray>» <red><victim> umarł", Components.Slot.rich("victim"));
+    private static final Components.Template KILL_MESSAGE = Components.template(
+            "<gray>☠ <dark_gray>» <red><victim> został zabity przez <attacker>",
+            Components.Slot.rich("victim"), Components.Slot.rich("attacker"));
+    private static final Components.Template HEART_DESTROYED_MESSAGE = Components.template(
+            "<gray>❤ <dark_gray>» <red>Serce drużyny <team> zostało zniszczone przez <attacker>",
+            Components.Slot.rich("team"), Components.Slot.rich("attacker"));
+    /**
+     * Seconds the players wait in the waiting room before the game moves them to their spawns.
+     */
+    private static final int START_COUNTDOWN = 30;
+    /**
+     * Ticks an attacker has to wait between two counted hits on a heart, the client reports
+     * a block damage on every new swing at a block.
+     */
+    private static final int HEART_HIT_COOLDOWN = 10;
+    /**
+     * Seconds of the respawn countdown, shown after the same number of seconds in spectator mode.
+     */
+    private static final int RESPAWN_COUNTDOWN = 5;
+    private static final Title.Times RESPAWN_TITLE_TIMES = Title.Times.times(
+            Duration.ZERO, Duration.ofSeconds(1), Duration.ZERO);
+    private static final Components.Template RESPAWN_SUBTITLE = Components.template(
+            "<gray>Odrodzisz się za: <white><seconds></white>s", Components.Slot.text("seconds"));
+    private static final Components.Template TEAM_TITLE = Components.template(
+            "<gray>Grasz jako drużyna <team>", Components.Slot.rich("team"));
+    private static final Components.Template MAP_INFO = Components.template(
+            "<gray>Wybrana mapa: <white><map>", Components.Slot.text("map"));
+    private static final Components.Template TEAM_SETUP_INFO = Components.template(
+            "<gray>Konfiguracja gry: <white><setup>", Components.Slot.text("setup"));
+
+    @NotNull @Getter
+    private final String id;
+    private final Map<String, GameTeam> teams = new LinkedHashMap<>();
+    private final Map<GameTeam.Color, GameTeam> teamsByColor = new EnumMap<>(GameTeam.Color.class);
+    private final Map<String, GamePlayer> participants = new HashMap<>();
+    private final Map<String, GamePlayer> spectators = new HashMap<>();
+    private final Map<String, Integer> heartHitTicks = new HashMap<>();
+    @NotNull @Getter
+    private final BlockJournal blockJournal = new BlockJournal();
+    @NotNull @Getter
+    private final HeartDisplay heartDisplay = new HeartDisplay(this);
+    @Getter
+    private GameMap map;
+    @Getter
+    private int maxPlayersPerTeam;
+    @NotNull @Getter @Setter
+    private Stage stage;
+    private LocalDateTime startTime;
+    private boolean starting;
+
+    /**
+     * Creates a new game instance, use {@link ArenaManager#create(String, GameMap)} to register it.
+     *
+     * @param id the unique id of the instance.
+     */
+    GameInstance(@NotNull String id) {
+        this.id = id;
+        this.stage = Stage.LOBBY;
+    }
+
+    public @NotNull GameTeam createTeam(@NotNull GamePlayer leader, @NotNull String name, @NotNull GameTeam.Color color) {
+        return new GameTeam(this, leader, name, color);
+    }
+
+    /**
+     * Sets the map for the game and updates the maximum players per team based on the map's team setup.
+     * <p>Removes any teams that exceed the maximum allowed players per team.</p>
+     *
+     * @param map the map to set.
+     * @throws IllegalArgumentException if the map is already used by another instance.
+     */
+    public void setMap(@NotNull GameMap map) {
+        GameMap oldMap = this.map;
+        TheTowers.getInstance().getArenaManager().onMapChanged(this, oldMap, map);
+        this.map = map;
+        this.maxPlayersPerTeam = GameMap.TeamSetup.getMaxPlayersInTeam(map.getTeamSetup());
+        for (GameTeam team : new ArrayList<>(teams.values())) {
+            Collection<GamePlayer> members = team.getMembers();
+            if (members.size() > maxPlayersPerTeam) {
+                removeTeam(team);
+            }
+        }
+        TabManager tabManager = TheTowers.getInstance().getTabManager();
+        if (tabManager != null) {
+            tabManager.getPlaceholderRefresher().invalidateGame(this);
+        }
+    }
+
+    /**
+     * Sets the maximum number of players per team.
+     *
+     * @param maxPlayersPerTeam the maximum number of players per team.
+     */
+    public void setMaxPlayersPerTeam(int maxPlayersPerTeam) {
+        this.maxPlayersPerTeam = maxPlayersPerTeam;
+        TheTowers.getInstance().getTabManager().getPlaceholderRefresher().invalidateGame(this);
+    }
+
+    /**
+     * Adds a team to the game.
+     *
+     * @param team the {@link GameTeam} to add.
+     */
+    public void addTeam(@NotNull GameTeam team) {
+        teams.put(team.getName(), team);
+        teamsByColor.put(team.getColor(), team);
+        ArenaManager arenaManager = TheTowers.getInstance().getArenaManager();
+        for (GamePlayer member : team.getMembers()) {
+            participants.put(member.getName(), member);
+            arenaManager.onJoinedTeam(member, this);
+            removeSpectator(member);
+        }
+        TheTowers.getInstance().getTabManager().getPlaceholderRefresher().invalidateTeam(team);
+    }
+
+    /**
+     * Updates the name of an existing team in teams map.
+     *
+     * @param team the {@link GameTeam} to update.
+     * @param newName the new name for the team.
+     * @throws IllegalArgumentException if a team with the new name already exists.
+     */
+    public void updateTeamName(@NotNull GameTeam team, @NotNull String newName) {
+        if (teams.containsKey(newName)) {
+            throw new IllegalArgumentException("Team with name '" + newName + "' already exists.");
+        }
+        teams.remove(team.getName());
+        teams.put(newName, team);
+    }
+
+    /**
+     * Clears all teams.
+     */
+    public void clearTeams() {
+        new ArrayList<>(teams.values()).forEach(this::removeTeam);
+    }
+
+    /**
+     * Retrieves a team by name.
+     *
+     * @param name the name of the team to retrieve.
+     * @return the {@link GameTeam} associated with the name, or empty if not found.
+     */
+    public @NotNull Optional<GameTeam> getTeam(@NotNull String name) {
+        return Optional.ofNullable(teams.get(name));
+    }
+
+    /**
+     * Retrieves a team by its color.
+     *
+     * @param color the color of the team to retrieve.
+     * @return the {@link GameTeam} associated with the color, or empty if not found.
+     */
+    public @NotNull Optional<GameTeam> getTeam(@NotNull GameTeam.Color color) {
+        return Optional.ofNullable(teamsByColor.get(color));
+    }
+
+    /**
+     * Retrieves a team by its color without wrapping it, for frequently called code paths.
+     *
+     * @param color the color of the team to retrieve.
+     * @return the {@link GameTeam} associated with the color, or null if not found.
+     */
+    public @Nullable GameTeam getTeamByColor(@NotNull GameTeam.Color color) {
+        return teamsByColor.get(color);
+    }
+
+    /**
+     * Retrieves all teams in the game.
+     *
+     * @return an unmodifiable collection of all {@link GameTeam} instances.
+     */
+    public @NotNull @Unmodifiable Collection<GameTeam> getTeams() {
+        return Collections.unmodifiableCollection(teams.values());
+    }
+
+    /**
+     * Removes a team from the game.
+     *
+     * @param team the {@link GameTeam} to remove.
+     */
+    public void removeTeam(@NotNull GameTeam team) {
+        if (!teams.remove(team.getName(), team)) {
+            return;
+        }
+        teamsByColor.remove(team.getColor(), team);
+        PlaceholderRefresher placeholders = TheTowers.getInstance().getTabManager().getPlaceholderRefresher();
+        placeholders.invalidateColor(this, team.getColor());
+        Collection<GamePlayer> members = team.getMembers();
+        members.forEach(member -> {
+            participants.remove(member.getName(), member);
+            placeholders.invalidatePlayer(member.getName());
+            member.sendMessage("<gray>Twoja drużyna została usunięta.");
+            member.setTeam(null);
+            addSpectator(member);
+        });
+    }
+
+    /**
+     * Updates the indexes after a player has joined a team.
+     *
+     * @param team the team the player joined.
+     * @param player the player who joined.
+     */
+    void onMemberAdded(@NotNull GameTeam team, @NotNull GamePlayer player) {
+        if (isRegistered(team)) {
+            participants.put(player.getName(), player);
+            TheTowers.getInstance().getArenaManager().onJoinedTeam(player, this);
+        }
+    }
+
+    /**
+     * Updates the indexes after a player has left a team.
+     *
+     * @param team the team the player left.
+     * @param player the player who left.
+     */
+    void onMemberRemoved(@NotNull GameTeam team, @NotNull GamePlayer player) {
+        if (isRegistered(team)) {
+            participants.remove(player.getName(), player);
+        }
+    }
+
+    /**
+     * Updates the indexes after a team has changed its color.
+     *
+     * @param team the team whose color changed.
+     * @param oldColor the previous color of the team.
+     */
+    void onColorChanged(@NotNull GameTeam team, @NotNull GameTeam.Color oldColor) {
+        if (isRegistered(team)) {
+            teamsByColor.remove(oldColor, team);
+            teamsByColor.put(team.getColor(), team);
+        }
+    }
+
+    /**
+     * Schedules a redraw of the heart health of a team after it has changed.
+     *
+     * @param team the team whose heart health changed.
+     */
+    void onHeartChanged(@NotNull GameTeam team) {
+        heartDisplay.markDirty(team);
+    }
+
+    private boolean isRegistered(@NotNull GameTeam team) {
+        return teams.get(team.getName()) == team;
+    }
+
+    /**
+     * Adds a player to the game as a spectator.
+     *
+     * @param player the {@link GamePlayer} to add as a spectator.
+     */
+    public void addSpectator(@NotNull GamePlayer player) {
+        spectators.put(player.getName(), player);
+        player.setAlive(false);
+    }
+
+    /**
+     * Removes a player from the spectators list and sets them as alive.
+     *
+     * @param player the {@link GamePlayer} to remove from spectators.
+     */
+    public void removeSpectator(@NotNull GamePlayer player) {
+        spectators.remove(player.getName());
+        player.setAlive(true);
+    }
+
+    /**
+     * Retrieves all spectators in the game.
+     *
+     * @return an unmodifiable collection of all {@link GamePlayer} instances who are spectators.
+     */
+    public @NotNull @Unmodifiable Collection<GamePlayer> getSpectators() {
+        return spectators.values();
+    }
+
+    /**
+     * Retrieves all players of the instance, both team members and spectators.
+     *
+     * @return a new list of all {@link GamePlayer} instances in the instance.
+     */
+    public @NotNull List<GamePlayer> getPlayers() {
+        List<GamePlayer> players = new ArrayList<>(participants.size() + spectators.size());
+        players.addAll(participants.values());
+        players.addAll(spectators.values());
+        return players;
+    }
+
+    /**
+     * Sends a message to all players of the instance.
+     *
+     * @param message the message to send.
+     */
+    public void broadcast(@NotNull Component message) {
+        participants.values().forEach(player -> player.sendMessage(message));
+        spectators.values().forEach(player -> player.sendMessage(message));
+    }
+
+    /**
+     * Checks if the game is about to start, while the chunks of the map are loading.
+     *
+     * @return true if the game is starting, false otherwise.
+     */
+    public boolean isStarting() {
+        return starting;
+    }
+
+    /**
+     * Starts the game once the chunks of the key locations of the map are loaded, so teleporting
+     * all players at once does not load them synchronously.
+     *
+     * @throws IllegalStateException if the game is not in the lobby or is starting already.
+     */
+    public void start() {
+        if (stage != Stage.LOBBY || starting) {
+            throw new IllegalStateException("Game cannot be started in the current stage: " + stage);
+        }
+        starting = true;
+        GameMap startMap = map;
+        startMap.loadChunks(TheTowers.getInstance().getPlugin()).whenComplete((ignored, error) -> Schedulers.global(() -> {
+            starting = false;
+            if (error != null) {
+                TheTowers.getInstance().getLogger().warn("Failed to preload chunks of map {}", startMap.getName(), error);
+            }
+            if (stage != Stage.LOBBY || map != startMap) {
+                startMap.releaseChunks(TheTowers.getInstance().getPlugin());
+                return;
+            }
+            begin();
+        }));
+    }
+
+    // TODO
+    private void begin() {
+        if (stage == Stage.LOBBY) {
+            broadcast(Components.standard("<green>Rozpoczynanie nowej gry...<br>"));
+            stage = Stage.WAITING;
+            startTime = LocalDateTime.now();
+            TheTowers.getInstance().getTabManager().updateAll();
+            placeHearts();
+
+            Title.Times times = Title.Times.times(Ticks.duration(8), Ticks.duration(100), Ticks.duration(8));
+            Component mapInfo = MAP_INFO.render(map.getName());
+            Component teamSetupInfo = TEAM_SETUP_INFO.render(map.getTeamSetup().getFormattedTeamSetup());
+            Component countdownInfo = Components.standard("<br><aqua>Gra rozpocznie się za " + START_COUNTDOWN + " sekund!<br>");
+            teams.forEach((k, v) -> {
+                Title title = Title.title(Component.empty(), TEAM_TITLE.render(v.getDisplayComponent()), times);
+                v.getMembers().forEach(member -> member.doAsBukkitPlayer(player -> {
+                    player.teleportAsync(map.getWaitingRoomLocation());
+                    player.setGameMode(GameMode.ADVENTURE);
+                    TimerWheel timerWheel = TheTowers.getInstance().getTimerWheel();
+                    timerWheel.schedule(player.getUniqueId(), 20, () -> Schedulers.entity(player, () -> {
+                        player.showTitle(title);
+                        player.playSound(player, Sound.UI_TOAST_IN, SoundCategory.MASTER, 1.0f, 1.0f);
+                    }));
+                    timerWheel.schedule(player.getUniqueId(), 120, () -> Schedulers.entity(player, () ->
+                            player.playSound(player, Sound.UI_TOAST_OUT, SoundCategory.MASTER, 1.0f, 1.0f)));
+                    player.sendMessage(mapInfo);
+                    player.sendMessage(teamSetupInfo);
+                    player.sendMessage(countdownInfo);
+                }));
+            });
+            // Owned by the instance, so stopping the game during the countdown cancels it
+            TheTowers.getInstance().getTimerWheel().schedule(this,
+                    (long) START_COUNTDOWN * Ticks.TICKS_PER_SECOND, this::play);
+        } else {
+            throw new IllegalStateException("Game cannot be started in the current stage: " + stage);
+        }
+    }
+
+    /**
+     * Moves the teams from the waiting room to their spawns and enables fighting.
+     */
+    private void play() {
+        if (stage != Stage.WAITING) {
+            return;
+        }
+        stage = Stage.IN_PROGRESS;
+        broadcast(Components.standard("<green>Gra rozpoczęta!"));
+        for (GameTeam team : teams.values()) {
+            Location spawn = map.getTeamSpawnLocations().get(team.getColor());
+            team.getMembers().forEach(member -> member.doAsBukkitPlayer(player -> Schedulers.entity(player, () -> {
+                player.setGameMode(GameMode.SURVIVAL);
+                player.teleportAsync(spawn);
+                player.playSound(player, Sound.ENTITY_ENDER_DRAGON_GROWL, SoundCategory.MASTER, 0.5f, 1.0f);
+            })));
+        }
+        TheTowers.getInstance().getTabManager().updateAll();
+    }
+
+    // TODO
+    public void stop() {
+        if (stage == Stage.FINISHED) {
+            // The map is being reset already
+            return;
+        }
+        if (startTime != null) {
+            TheTowers.getInstance().getMatchHistory().record(createMatchRecord());
+            startTime = null;
+        }
+        TimerWheel timerWheel = TheTowers.getInstance().getTimerWheel();
+        timerWheel.cancel(this);
+        heartHitTicks.clear();
+        for (GamePlayer participant : participants.values()) {
+            UUID uniqueId = participant.getUniqueId();
+            if (uniqueId != null) {
+                timerWheel.cancel(uniqueId);
+            }
+        }
+        TheTowers.getInstance().getPlayerManager().endGame(getPlayers());
+        heartDisplay.hide();
+        if (map != null) {
+            map.releaseChunks(TheTowers.getInstance().getPlugin());
+        }
+        resetMap();
+        TheTowers.getInstance().getTabManager().updateAll();
+    }
+
+    /**
+     * Places the tower hearts of the map and shows their health.
+     */
+    private void placeHearts() {
+        Config config = TheTowers.getInstance().getConfig();
+        Material material = config.getTowerHeartMaterial();
+        for (Location location : map.getTeamHeartLocations().values()) {
+            Schedulers.region(location, () -> {
+                Block block = location.getBlock();
+                blockJournal.record(block);
+                block.setType(material, false);
+            });
+        }
+        for (GameTeam team : teams.values()) {
+            team.setHeartHealth(config.getBaseHeartHealth());
+        }
+        heartDisplay.show();
+    }
+
+    /**
+     * Damages the heart of a team on behalf of a player, crediting the player with the damage
+     * and the destroyed tower if the heart health drops to zero.
+     *
+     * <p>Does nothing unless the game is in progress, the heart is still standing, the player
+     * is an alive member of another team of this instance, and the player has not hit a heart
+     * in the last {@value #HEART_HIT_COOLDOWN} ticks.</p>
+     *
+     * @param color the color of the team whose heart was hit.
+     * @param attacker the player who hit the heart.
+     * @return true if the heart was damaged, false otherwise.
+     */
+    public boolean damageHeart(@NotNull GameTeam.Color color, @NotNull GamePlayer attacker) {
+        GameTeam team = teamsByColor.get(color);
+        GameTeam attackerTeam = attacker.getTeam();
+        if (!stage.canPvp() || team == null || team.getHeartHealth() <= 0
+                || attackerTeam == null || attackerTeam == team || !isRegistered(attackerTeam) || !attacker.isAlive()) {
+            return false;
+        }
+        int now = Bukkit.getCurrentTick();
+        Integer lastHit = heartHitTicks.get(attacker.getName());
+        if (lastHit != null && now - lastHit < HEART_HIT_COOLDOWN) {
+            return false;
+        }
+        heartHitTicks.put(attacker.getName(), now);
+        int remaining = team.damageHeart();
+        attacker.getStats().incrementStat(PlayerStat.HEART_DAMAGE);
+        if (remaining <= 0) {
+            attacker.getStats().incrementStat(PlayerStat.TOWERS_DESTROYED);
+            broadcast(HEART_DESTROYED_MESSAGE.render(team.getDisplayName(), attacker.getDisplayName()));
+        }
+        return true;
+    }
+
+    /**
+     * Resets the map after the game, the instance stays {@link Stage#FINISHED finished} until the map
+     * is reset and returns to the lobby afterward.
+     *
+     * <p>A map played in a copy of its world is swapped for a fresh copy, otherwise the blocks changed
+     * during the game are reverted.</p>
+     */
+    private void resetMap() {
+        if (map == null) {
+            stage = Stage.LOBBY;
+            return;
+        }
+        MapProvisioner provisioner = TheTowers.getInstance().getMapProvisioner();
+        if (provisioner.isProvisioned(map)) {
+            stage = Stage.FINISHED;
+            GameMap played = map;
+            provisioner.acquire(played.getName()).whenComplete((fresh, error) -> Schedulers.global(() -> {
+                if (error != null) {
+                    TheTowers.getInstance().getLogger().error("Failed to load a fresh copy of map {}", played.getName(), error);
+                    revertBlocks();
+                    return;
+                }
+                blockJournal.clear();
+                setMap(fresh);
+                provisioner.release(played);
+                onMapReset();
+            }));
+        } else {
+            revertBlocks();
+        }
+    }
+
+    private void revertBlocks() {
+        if (blockJournal.isEmpty()) {
+            onMapReset();
+            return;
+        }
+        stage = Stage.FINISHED;
+        int blocksPerTick = TheTowers.getInstance().getConfig().getResetBlocksPerTick();
+        blockJournal.revert(map.getWorld(), blocksPerTick, this::onMapReset);
+    }
+
+    private void onMapReset() {
+        stage = Stage.LOBBY;
+        TheTowers.getInstance().getTabManager().updateAll();
+    }
+
+    /**
+     * Checks if block changes in the map are recorded, which is from the start of a game until it stops.
+     *
+     * @return true if block changes are recorded, false otherwise.
+     */
+    public boolean isRecordingBlocks() {
+        return stage == Stage.WAITING || stage == Stage.IN_PROGRESS;
+    }
+
+    /**
+     * Creates a record of the current game for the match history.
+     *
+     * <p>The winner is the only team with its heart still standing, if there is one.</p>
+     *
+     * @return the match record.
+     */
+    private @NotNull MatchRecord createMatchRecord() {
+        List<MatchRecord.Team> teamRecords = new ArrayList<>(teams.size());
+        List<GameTeam> standing = new ArrayList<>();
+        for (GameTeam team : teams.values()) {
+            List<MatchRecord.Player> players = new ArrayList<>();
+            for (GamePlayer member : team.getMembers()) {
+                Map<String, Integer> stats = new LinkedHashMap<>();
+                // Read from a snapshot, so the record is not built from cells still being incremented
+                member.getStats().snapshot().forEachStat((stat, value) -> stats.put(stat.getKey(), value));
+                players.add(new MatchRecord.Player(member.getName(), stats));
+            }
+            teamRecords.add(new MatchRecord.Team(team.getColor(), team.getName(), players));
+            if (team.getHeartHealth() > 0) {
+                standing.add(team);
+            }
+        }
+
+        long start = startTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long duration = Duration.between(startTime, LocalDateTime.now()).toMillis();
+        GameTeam.Color winner = standing.size() == 1 ? standing.getFirst().getColor() : null;
+        return new MatchRecord(0, start, duration, map.getName(), map.getTeamSetup(), winner, teamRecords);
+    }
+
+    // TODO: Move it somewhere else
+    /**
+     * Handles the death of a player in the game.
+     */
+    public void death(@NotNull GamePlayer victim, @NotNull Entity attacker) {
+        Optional<Player> playerOpt = victim.getBukkitPlayer();
+        if (playerOpt.isEmpty()) return;
+        Player victimPlayer = playerOpt.get();
+        victim.getStats().incrementStat(PlayerStat.DEATHS);
+        victim.setAlive(false);
+
+        victimPlayer.setGameMode(GameMode.SPECTATOR);
+        playLightningSound();
+
+        if (attacker instanceof Player attackerPlayer) {
+            handlePlayerAttacker(victim, victimPlayer, attackerPlayer);
+        } else {
+            handleNonPlayerAttacker(victim, attacker);
+        }
+        victim.getAttackers().clear();
+
+        respawn(victimPlayer);
+    }
+
+    /**
+     * Plays a lightning sound effect for all online players of the instance.
+     */
+    private void playLightningSound() {
+        for (GamePlayer gamePlayer : getPlayers()) {
+            gamePlayer.doAsBukkitPlayer(pl -> Schedulers.entity(pl, () -> {
+                Location location = pl.getLocation();
+                location.add(0, 100, 0);
+                pl.playSound(location, Sound.ENTITY_LIGHTNING_BOLT_THUNDER, SoundCategory.WEATHER, Float.MAX_VALUE, 1.0f);
+            }));
+        }
+    }
+
+    /**
+     * Handles the death caused by another player.
+     *
+     * <p>Responsible for updating the victim's and attacker's stats.</p>
+     *
+     * @param victim         the {@link GamePlayer} who died.
+     * @param victimPlayer   the bukkit {@link Player} of the victim.
+     * @param attackerPlayer the bukkit {@link Player} of the attacker.
+     */
+    private void handlePlayerAttacker(@NotNull GamePlayer victim, @NotNull Player victimPlayer, @NotNull Player attackerPlayer) {
+        GamePlayer attackerTPlayer = TheTowers.getInstance().getPlayerManager().getPlayerByEntity(attackerPlayer);
+        if (attackerTPlayer == null) return;
+        victim.getAttackers().forEach(atk -> {
+            if (!atk.attacker().equals(attackerTPlayer)) {
+                atk.attacker().getStats().incrementStat(PlayerStat.ASSISTS);
+            }
+        });
+        attackerTPlayer.getStats().incrementStat(PlayerStat.KILLS);
+        attackerTPlayer.getTeam().addSouls(1);
+        broadcastDeathMessage(victim, Components.standard(attackerTPlayer.getDisplayName()));
+        attackerPlayer.playSound(victimPlayer, Sound.BLOCK_METAL_BREAK, 1.0f, 1.0f);
+    }
+
+    /**
+     * Handles the death caused by a non-player entity.
+     *
+     * @param victim   the {@link GamePlayer} who died.
+     * @param attacker the {@link Entity} responsible for the death, or null if unknown.
+     */
+    private void handleNonPlayerAttacker(@NotNull GamePlayer victim, @Nullable Entity attacker) {
+        Component attackerName = attacker != null ? attacker.customName() : null;
+        if (attackerName != null) {
+            broadcastDeathMessage(victim, Component.text(PlainTextComponentSerializer.plainText().serialize(attackerName)));
+        } else {
+            // fallback to last attacker or general death
+            Optional<AssistTracker.AttackerEntry> lastAttacker = victim.getAttackers().getAttackers().stream().findFirst();
+            if (lastAttacker.isPresent()) {
+                broadcastDeathMessage(victim, Components.standard(lastAttacker.get().attacker().getDisplayName()));
+            } else {
+                broadcastDeathMessage(victim, null);
+            }
+        }
+    }
+
+    /**
+     * Broadcasts a death message to all players of the instance.
+     *
+     * @param victim       the {@link GamePlayer} who died.
+     * @param attackerName the name of the attacker, or null if no attacker is available.
+     */
+    private void broadcastDeathMessage(@NotNull GamePlayer victim, @Nullable Component attackerName) {
+        Component message = attackerName == null
+                ? DEATH_MESSAGE.render(victim.getDisplayName())
+                : KILL_MESSAGE.render(victim.getDisplayName(), attackerName);
+        broadcast(message);
+    }
+
+    /**
+     * Initiates the respawn process for a player.
+     *
+     * <p>Handles the countdown and teleportation back to the player's team spawn.</p>
+     *
+     * @param player the {@link Player} to respawn
+     */
+    private void respawn(@NotNull Player player) {
+        Optional<GamePlayer> gamePlayerOpt = getPlayer(player.getName());
+        if (gamePlayerOpt.isEmpty()) return;
+        GamePlayer gamePlayer = gamePlayerOpt.get();
+
+        // Register the whole respawn countdown at once, it is cancelled if the player quits or the game stops
+        TimerWheel timerWheel = TheTowers.getInstance().getTimerWheel();
+        UUID owner = player.getUniqueId();
+        for (int i = 0; i < RESPAWN_COUNTDOWN; i++) {
+            int seconds = RESPAWN_COUNTDOWN - i;
+            timerWheel.schedule(owner, (long) (RESPAWN_COUNTDOWN + i) * Ticks.TICKS_PER_SECOND, () -> {
+                Title title = Title.title(Component.empty(), RESPAWN_SUBTITLE.render(seconds), RESPAWN_TITLE_TIMES);
+                Schedulers.entity(player, () -> {
+                    player.showTitle(title);
+                    player.playSound(player, Sound.BLOCK_LEVER_CLICK, 1.0f, 1.0f);
+                });
+            });
+        }
+        timerWheel.schedule(owner, 2L * RESPAWN_COUNTDOWN * Ticks.TICKS_PER_SECOND, () -> {
+            // The game state is confined to the global region, the player is handled on its own region
+            gamePlayer.setAlive(true);
+            Location spawn = map.getTeamSpawnLocations().get(gamePlayer.getTeam().getColor());
+            Schedulers.entity(player, () -> {
+                player.heal(20);
+                // Players in adventure mode cannot damage blocks, so the hearts could not be hit
+                player.setGameMode(GameMode.SURVIVAL);
+                player.teleportAsync(spawn);
+                player.sendMessage(Components.color("<green>Odrodziłeś się!"));
+                player.playSound(player, Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 0.5f);
+            });
+        });
+    }
+
+    /**
+     * Retrieves a player that is a member of any team in the game.
+     *
+     * @param name the name of the player to retrieve.
+     * @return the {@link GamePlayer} if found, or empty if not.
+     */
+    public @NotNull Optional<GamePlayer> getPlayer(@NotNull String name) {
+        return Optional.ofNullable(participants.get(name));
+    }
+
+    /**
+     * Represents the different stages of a game.
+     */
+    public enum Stage {
+        LOBBY(false),
+        WAITING(false),
+        IN_PROGRESS(true),
+        FINISHED(false);
+
+        private final boolean canPvp;
+
+        Stage(boolean canPvp) {
+            this.canPvp = canPvp;
+        }
+
+        public boolean canPvp() {
+            return canPvp;
+        }
+    }
+
+}
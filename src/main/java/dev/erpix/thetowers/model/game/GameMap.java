@@ -1,21 +1,33 @@
 package dev.erpix.thetowers.model.game;
 
+import dev.erpix.thetowers.TheTowers;
+import dev.erpix.thetowers.config.Config;
+import dev.erpix.thetowers.util.Schedulers;
 import lombok.Getter;
+import org.bukkit.Chunk;
 import org.bukkit.GameRule;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
-import java.util.Collections;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a map in the game.
  */
 public class GameMap {
 
+    /**
+     * Radius in chunks kept loaded around the locations players are teleported to, so they do not
+     * arrive to an empty world.
+     */
+    private static final int TELEPORT_CHUNK_RADIUS = 1;
+
     @NotNull @Getter
     private final String name;
     @NotNull @Getter
@@ -28,6 +40,9 @@ public class GameMap {
     private final Map<GameTeam.Color, Location> teamHeartLocation;
     @NotNull @Getter
     private final World world;
+    @NotNull @Getter
+    private final MapIndex index;
+    private final Set<Long> ticketedChunks = ConcurrentHashMap.newKeySet();
 
     public GameMap(@NotNull String name,
                    @NotNull TeamSetup teamSetup,
@@ -43,6 +58,9 @@ public class GameMap {
         this.teamSpawnLocations = teamSpawnLocations;
         this.teamHeartLocation = teamHeartLocation;
         this.world = world;
+        Config config = TheTowers.getInstance().getConfig();
+        this.index = new MapIndex(teamSpawnLocations, teamHeartLocation,
+                config.getSpawnProtectionRadius(), config.getHeartProtectionRadius());
         applyGameRules();
     }
 
@@ -84,6 +102,69 @@ public class GameMap {
         return Collections.unmodifiableMap(teamHeartLocation);
     }
 
+    /**
+     * Loads the chunks of the key locations of the map asynchronously and keeps them loaded
+     * with plugin chunk tickets until {@link #releaseChunks(Plugin)} is called.
+     *
+     * <p>The key locations are the waiting room and the team spawns, including the chunks around them,
+     * as well as the tower hearts and the supply crate.</p>
+     *
+     * @param plugin the plugin owning the chunk tickets.
+     * @return a future completed once all the chunks are loaded.
+     */
+    public @NotNull CompletableFuture<Void> loadChunks(@NotNull Plugin plugin) {
+        Set<Long> chunks = new LinkedHashSet<>();
+        addChunks(chunks, waitingRoomLocation, TELEPORT_CHUNK_RADIUS);
+        teamSpawnLocations.values().forEach(location -> addChunks(chunks, location, TELEPORT_CHUNK_RADIUS));
+        teamHeartLocation.values().forEach(location -> addChunks(chunks, location, 0));
+        addChunks(chunks, supplyCrateLocation, 0);
+
+        CompletableFuture<?>[] futures = new CompletableFuture[chunks.size()];
+        int i = 0;
+        for (long key : chunks) {
+            // The future completes on the thread owning the chunk, where the ticket can be added
+            futures[i++] = world.getChunkAtAsync(chunkX(key), chunkZ(key)).thenAccept(chunk -> {
+                if (chunk.addPluginChunkTicket(plugin)) {
+                    ticketedChunks.add(key);
+                }
+            });
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Releases the chunk tickets added by {@link #loadChunks(Plugin)}, so the chunks can unload.
+     *
+     * @param plugin the plugin owning the chunk tickets.
+     */
+    public void releaseChunks(@NotNull Plugin plugin) {
+        List<Long> chunks = new ArrayList<>(ticketedChunks);
+        ticketedChunks.removeAll(chunks);
+        for (long key : chunks) {
+            int x = chunkX(key);
+            int z = chunkZ(key);
+            Schedulers.region(new Location(world, x << 4, 0, z << 4), () -> world.removePluginChunkTicket(x, z, plugin));
+        }
+    }
+
+    private static void addChunks(@NotNull Set<Long> chunks, @NotNull Location location, int radius) {
+        int centerX = location.getBlockX() >> 4;
+        int centerZ = location.getBlockZ() >> 4;
+        for (int x = centerX - radius; x <= centerX + radius; x++) {
+            for (int z = centerZ - radius; z <= centerZ + radius; z++) {
+                chunks.add(Chunk.getChunkKey(x, z));
+            }
+        }
+    }
+
+    private static int chunkX(long key) {
+        return (int) key;
+    }
+
+    private static int chunkZ(long key) {
+        return (int) (key >> 32);
+    }
+
     /**
      * Applies standard game rules to the world associated with this map.
      */
@@ -151,7 +232,7 @@ public class GameMap {
          * @return the maximum number of players allowed in a team.
          */
         public static int getMaxPlayersInTeam(TeamSetup setup) {
-            return (int) Math.floor((double) GameManager.MAX_PLAYERS / setup.getTeamCount());
+            return (int) Math.floor((double) GameInstance.MAX_PLAYERS / setup.getTeamCount());
         }
 
     }
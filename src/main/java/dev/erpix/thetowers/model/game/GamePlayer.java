@@ -1,7 +1,8 @@
 package dev.erpix.thetowers.model.game;
 
-import dev.erpix.thetowers.model.StatsTracker;
-import dev.erpix.thetowers.util.OrderedAttackerCache;
+import dev.erpix.thetowers.config.i18n.Messages;
+import dev.erpix.thetowers.model.ConcurrentStatsTracker;
+import dev.erpix.thetowers.util.AssistTracker;
 import lombok.Getter;
 import lombok.Setter;
 import net.kyori.adventure.text.Component;
@@ -12,6 +13,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Consumer;
 
 /**
@@ -20,16 +22,24 @@ import java.util.function.Consumer;
 @Getter
 public class GamePlayer {
 
+    /**
+     * Entity id of players that are not bound to a Bukkit entity.
+     */
+    public static final int NO_ENTITY = -1;
+
     @NotNull
     private final String name;
     @NotNull
-    private final OrderedAttackerCache attackers = new OrderedAttackerCache(10);
+    private AssistTracker attackers = AssistTracker.DETACHED;
     @NotNull
-    private final StatsTracker stats = new StatsTracker();
+    private final ConcurrentStatsTracker stats = new ConcurrentStatsTracker();
     @Nullable @Setter
     private GameTeam team;
     @Setter
     private boolean isAlive = true;
+    @Nullable
+    private UUID uniqueId;
+    private int entityId = NO_ENTITY;
 
     public GamePlayer(@NotNull String name) {
         this.name = name;
@@ -103,7 +113,7 @@ public class GamePlayer {
     }
 
     /**
-     * Adds an attacker to the player's {@link OrderedAttackerCache} with the specified damage.
+     * Adds an attacker to the player's {@link AssistTracker} with the specified damage.
      *
      * @param player The player who dealt the damage.
      * @param damage The amount of damage dealt by the attacker.
@@ -112,6 +122,58 @@ public class GamePlayer {
         attackers.put(player, damage);
     }
 
+    /**
+     * Attaches the per-session resources of the player.
+     *
+     * @param tracker the assist tracker to use while the session lasts.
+     */
+    public void attachSession(@NotNull AssistTracker tracker) {
+        this.attackers = tracker;
+    }
+
+    /**
+     * Detaches the per-session resources of the player, so they can be reused.
+     *
+     * @return the detached assist tracker, or null if the player had no session.
+     */
+    public @Nullable AssistTracker detachSession() {
+        if (!hasSession()) {
+            return null;
+        }
+        AssistTracker tracker = attackers;
+        this.attackers = AssistTracker.DETACHED;
+        return tracker;
+    }
+
+    /**
+     * Binds the player to the identifiers of their Bukkit entity.
+     *
+     * <p>The unique id is kept after the player leaves, while the entity id
+     * is only valid until the player quits.</p>
+     *
+     * @param player the bukkit player.
+     */
+    public void bind(@NotNull Player player) {
+        this.uniqueId = player.getUniqueId();
+        this.entityId = player.getEntityId();
+    }
+
+    /**
+     * Unbinds the player from their Bukkit entity id.
+     */
+    public void unbindEntity() {
+        this.entityId = NO_ENTITY;
+    }
+
+    /**
+     * Checks if the player has an active session.
+     *
+     * @return true if session resources are attached, false otherwise.
+     */
+    public boolean hasSession() {
+        return attackers != AssistTracker.DETACHED;
+    }
+
     /**
      * Checks if the player is currently in any team.
      *
@@ -132,6 +194,18 @@ public class GamePlayer {
         player.sendRichMessage(message);
     }
 
+    /**
+     * Sends a configurable message to the player, rendered in their locale.
+     *
+     * @param message the message to send.
+     * @param args the arguments of the message.
+     */
+    public void sendMessage(@NotNull Messages.Message message, @NotNull Object... args) {
+        Player player = Bukkit.getPlayer(name);
+        if (player == null) return;
+        message.send(player, args);
+    }
+
     /**
      * Sends a message to the player.
      *
@@ -2,10 +2,13 @@ package dev.erpix.thetowers.model.game;
 
 import dev.erpix.thetowers.TheTowers;
 import dev.erpix.thetowers.config.i18n.Messages;
+import dev.erpix.thetowers.model.tablist.PlaceholderRefresher;
 import dev.erpix.thetowers.util.DisguiseHandler;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.TextColor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
@@ -21,14 +24,17 @@ public class GameTeam {
     public static final int TEAM_MAX_NAME_LENGTH = 5;
     public static final int TEAM_MIN_NAME_LENGTH = 2;
 
+    @NotNull @Getter
+    private final GameInstance instance;
     private final Map<String, GamePlayer> members = new LinkedHashMap<>();
+    private final List<GamePlayer> memberOrder = new ArrayList<>();
     @NonNull @Getter
     private String name;
     @NonNull @Getter
     private GamePlayer leader;
     @NonNull @Getter
     private Color color;
-    @Getter @Setter
+    @Getter
     private int heartHealth;
     @Getter @Setter
     private int souls;
@@ -36,16 +42,18 @@ public class GameTeam {
     /**
      * Creates a new team.
      *
+     * @param instance the game instance the team belongs to.
      * @param leader the leader of the team, must not be null.
      * @param name the name of the team, must be valid.
      * @param color the color of the team, must not be null.
      * @throws IllegalArgumentException if the name is invalid.
      * @see #isValidName(String)
      */
-    GameTeam(@NotNull GamePlayer leader, @NotNull String name, @NotNull Color color) {
+    GameTeam(@NotNull GameInstance instance, @NotNull GamePlayer leader, @NotNull String name, @NotNull Color color) {
         if (!isValidName(name)) {
             throw new IllegalArgumentException("Invalid team name: " + name);
         }
+        this.instance = instance;
         this.leader = leader;
         this.name = name;
         this.color = color;
@@ -70,7 +78,7 @@ public class GameTeam {
      * @return true if the team is full, false otherwise.
      */
     public boolean isFull() {
-        return members.size() >= TheTowers.getInstance().getGameManager().getMaxPlayersPerTeam();
+        return members.size() >= instance.getMaxPlayersPerTeam();
     }
 
     /**
@@ -84,12 +92,13 @@ public class GameTeam {
         if (!isValidName(name)) {
             throw new IllegalArgumentException("Invalid team name: " + name);
         }
-        TheTowers.getInstance().getGameManager().updateTeamName(this, name);
+        instance.updateTeamName(this, name);
         this.name = name;
         for (GamePlayer member : members.values()) {
             member.getBukkitPlayer().ifPresent(DisguiseHandler::refresh);
             TheTowers.getInstance().getTabManager().updateLayout(member.getName());
         }
+        placeholders().invalidateTeam(this);
     }
 
     /**
@@ -102,6 +111,16 @@ public class GameTeam {
         return members.get(name);
     }
 
+    /**
+     * Retrieves a member of the team by their position, in the order they joined.
+     *
+     * @param index the position of the member.
+     * @return the {@link GamePlayer} at the position, or null if there is no such member.
+     */
+    public @Nullable GamePlayer getMember(int index) {
+        return index >= 0 && index < memberOrder.size() ? memberOrder.get(index) : null;
+    }
+
     /**
      * Retrieves all members of the team.
      *
@@ -118,15 +137,18 @@ public class GameTeam {
      */
     public void addMember(@NotNull GamePlayer player) {
         members.values().forEach(member ->
-                member.sendMessage(Messages.PLAYER_JOINED_TEAM.get(player.getName())));
+                member.sendMessage(Messages.PLAYER_JOINED_TEAM, player.getName()));
 
         members.put(player.getName(), player);
+        memberOrder.add(player);
         player.setTeam(this);
         player.getBukkitPlayer().ifPresent(DisguiseHandler::refresh);
 
         TheTowers theTowers = TheTowers.getInstance();
-        theTowers.getGameManager().removeSpectator(player);
+        instance.onMemberAdded(this, player);
+        instance.removeSpectator(player);
         theTowers.getTabManager().updateLayout(player.getName());
+        placeholders().invalidateTeam(this);
     }
 
     /**
@@ -156,18 +178,22 @@ public class GameTeam {
      */
     public void removeMember(@NotNull GamePlayer player, boolean kicked) {
         members.remove(player.getName());
+        memberOrder.remove(player);
         player.setTeam(null);
         player.getBukkitPlayer().ifPresent(DisguiseHandler::refresh);
 
         TheTowers theTowers = TheTowers.getInstance();
-        theTowers.getGameManager().addSpectator(player);
+        instance.onMemberRemoved(this, player);
+        instance.addSpectator(player);
         theTowers.getTabManager().updateLayout(player.getName());
+        placeholders().invalidateTeam(this);
+        placeholders().invalidatePlayer(player.getName());
 
         for (GamePlayer member : members.values()) {
             if (kicked) {
-                member.sendMessage(Messages.PLAYER_KICKED_FROM_TEAM.get(player.getName()));
+                member.sendMessage(Messages.PLAYER_KICKED_FROM_TEAM, player.getName());
             } else {
-                member.sendMessage(Messages.PLAYER_LEFT_TEAM.get(player.getName()));
+                member.sendMessage(Messages.PLAYER_LEFT_TEAM, player.getName());
             }
         }
     }
@@ -181,6 +207,15 @@ public class GameTeam {
         return String.format("<color:#%s>[%s]</color>", color.getColorHex(), name);
     }
 
+    /**
+     * Builds the display name of the team as a component, without parsing it.
+     *
+     * @return the display name of the team, in the color of the team.
+     */
+    public @NotNull Component getDisplayComponent() {
+        return Component.text("[" + name + "]", TextColor.fromHexString("#" + color.getColorHex()));
+    }
+
     /**
      * Damages the heart by 1.
      *
@@ -198,11 +233,22 @@ public class GameTeam {
      */
     public int damageHeart(int amount) {
         if (heartHealth > 0) {
-            heartHealth -= amount;
+            heartHealth = Math.max(0, heartHealth - amount);
+            instance.onHeartChanged(this);
         }
         return heartHealth;
     }
 
+    /**
+     * Sets the health of the heart.
+     *
+     * @param heartHealth the new heart health.
+     */
+    public void setHeartHealth(int heartHealth) {
+        this.heartHealth = heartHealth;
+        instance.onHeartChanged(this);
+    }
+
     /**
      * Checks if the team is still alive based on heart health and member status.
      *
@@ -226,6 +272,7 @@ public class GameTeam {
         for (GamePlayer member : members.values()) {
             TheTowers.getInstance().getTabManager().updateLayout(member.getName());
         }
+        placeholders().invalidateTeam(this);
     }
 
     /**
@@ -234,11 +281,15 @@ public class GameTeam {
      * @param color the new color for the team.
      */
     public void setColor(@NotNull Color color) {
+        Color oldColor = this.color;
         this.color = color;
+        instance.onColorChanged(this, oldColor);
         for (GamePlayer member : members.values()) {
             member.getBukkitPlayer().ifPresent(DisguiseHandler::refresh);
             TheTowers.getInstance().getTabManager().updateLayout(member.getName());
         }
+        placeholders().invalidateColor(instance, oldColor);
+        placeholders().invalidateTeam(this);
     }
 
     /**
@@ -259,6 +310,10 @@ public class GameTeam {
         souls = Math.max(0, souls - value);
     }
 
+    private static @NotNull PlaceholderRefresher placeholders() {
+        return TheTowers.getInstance().getTabManager().getPlaceholderRefresher();
+    }
+
     /**
      * Represents the color of a team.
      */
@@ -0,0 +1,121 @@
+package dev.erpix.thetowers.model.game;
+
+import dev.erpix.thetowers.TheTowers;
+import dev.erpix.thetowers.model.tablist.TabManager;
+import dev.erpix.thetowers.util.Components;
+import dev.erpix.thetowers.util.Schedulers;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Shows the heart health of the teams of a game instance, as a boss bar per team and in the tab list.
+ *
+ * <p>Changes of the heart health are coalesced, a team changed any number of times within a tick
+ * is redrawn once at the start of the next tick. Confined to the global region thread.</p>
+ */
+public class HeartDisplay {
+
+    private static final Components.Template BAR_NAME = Components.template(
+            "<team> <gray>❤ <white><health>", Components.Slot.rich("team"), Components.Slot.text("health"));
+
+    private final GameInstance instance;
+    private final Map<GameTeam, BossBar> bars = new LinkedHashMap<>();
+    private final Map<GameTeam, Integer> maxHealth = new HashMap<>();
+    private final Set<GameTeam> dirty = new LinkedHashSet<>();
+    private boolean flushScheduled;
+
+    HeartDisplay(@NotNull GameInstance instance) {
+        this.instance = instance;
+    }
+
+    /**
+     * Creates the boss bars of all teams and shows them to all players of the instance.
+     */
+    public void show() {
+        hide();
+        for (GameTeam team : instance.getTeams()) {
+            maxHealth.put(team, Math.max(1, team.getHeartHealth()));
+            BossBar bar = BossBar.bossBar(name(team), progress(team), color(team.getColor()), BossBar.Overlay.NOTCHED_10);
+            bars.put(team, bar);
+        }
+        instance.getPlayers().forEach(player -> player.doAsBukkitPlayer(this::show));
+    }
+
+    /**
+     * Shows the boss bars to a player, e.g. when joining a running game.
+     *
+     * @param player the player.
+     */
+    public void show(@NotNull Player player) {
+        for (BossBar bar : bars.values()) {
+            player.showBossBar(bar);
+        }
+    }
+
+    /**
+     * Hides the boss bars from all players and removes them.
+     */
+    public void hide() {
+        for (BossBar bar : bars.values()) {
+            // Hides the bar from everyone it was shown to, including players who switched arenas since
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                player.hideBossBar(bar);
+            }
+        }
+        bars.clear();
+        maxHealth.clear();
+        dirty.clear();
+    }
+
+    /**
+     * Marks the heart health of a team as changed, the team is redrawn at the start of the next tick.
+     *
+     * @param team the team whose heart health changed.
+     */
+    public void markDirty(@NotNull GameTeam team) {
+        dirty.add(team);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Schedulers.global(this::flush);
+        }
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        TabManager tabManager = TheTowers.getInstance().getTabManager();
+        for (GameTeam team : dirty) {
+            BossBar bar = bars.get(team);
+            if (bar != null) {
+                bar.name(name(team));
+                bar.progress(progress(team));
+            }
+            tabManager.getPlaceholderRefresher().invalidateHeart(team);
+        }
+        dirty.clear();
+    }
+
+    private @NotNull Component name(@NotNull GameTeam team) {
+        return BAR_NAME.render(team.getDisplayName(), Math.max(0, team.getHeartHealth()));
+    }
+
+    private float progress(@NotNull GameTeam team) {
+        int max = maxHealth.getOrDefault(team, Math.max(1, team.getHeartHealth()));
+        return Math.clamp((float) team.getHeartHealth() / max, 0.0f, 1.0f);
+    }
+
+    private static @NotNull BossBar.Color color(@NotNull GameTeam.Color color) {
+        return switch (color) {
+            case RED -> BossBar.Color.RED;
+            case BLUE -> BossBar.Color.BLUE;
+            case GREEN -> BossBar.Color.GREEN;
+            case YELLOW, ORANGE -> BossBar.Color.YELLOW;
+            case PURPLE -> BossBar.Color.PURPLE;
+        };
+    }
+
+}
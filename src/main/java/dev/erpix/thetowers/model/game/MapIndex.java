@@ -0,0 +1,186 @@
+package dev.erpix.thetowers.model.game;
+
+import dev.erpix.thetowers.util.LongObjectMap;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Spatial index of the tower hearts and protected regions of a {@link GameMap}.
+ *
+ * <p>Hearts are indexed by their packed block position, regions by the chunks they overlap, so answering
+ * whether a block is a heart or inside a protected region takes a hash lookup and a check of the few
+ * regions in its chunk, no matter how many teams the map has. Built once when the map is created
+ * and read-only afterward, so it can be read from any thread.</p>
+ */
+public class MapIndex {
+
+    private static final Region[] NO_REGIONS = new Region[0];
+
+    private final LongObjectMap<GameTeam.Color> hearts;
+    private final LongObjectMap<Region[]> regionsByChunk = new LongObjectMap<>();
+
+    /**
+     * Builds the index of a map.
+     *
+     * @param teamSpawnLocations the spawn locations of the teams.
+     * @param teamHeartLocations the heart locations of the teams.
+     * @param spawnRadius the radius in blocks protected around the team spawns, negative to not protect them.
+     * @param heartRadius the radius in blocks protected around the tower hearts, negative to not protect them.
+     */
+    public MapIndex(@NotNull Map<GameTeam.Color, Location> teamSpawnLocations,
+                    @NotNull Map<GameTeam.Color, Location> teamHeartLocations,
+                    int spawnRadius, int heartRadius) {
+        this.hearts = new LongObjectMap<>(teamHeartLocations.size());
+        teamHeartLocations.forEach((color, location) -> {
+            hearts.put(pack(location.getBlockX(), location.getBlockY(), location.getBlockZ()), color);
+            if (heartRadius >= 0) {
+                addRegion(new Region(color, Region.Kind.HEART, location, heartRadius));
+            }
+        });
+        if (spawnRadius >= 0) {
+            teamSpawnLocations.forEach((color, location) ->
+                    addRegion(new Region(color, Region.Kind.SPAWN, location, spawnRadius)));
+        }
+    }
+
+    /**
+     * Retrieves the team whose tower heart is at a block.
+     *
+     * @param block the block.
+     * @return the color of the team owning the heart, or null if the block is not a heart.
+     */
+    public @Nullable GameTeam.Color getHeartOwner(@NotNull Block block) {
+        return getHeartOwner(block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * Retrieves the team whose tower heart is at a block position.
+     *
+     * @param x the x coordinate of the block.
+     * @param y the y coordinate of the block.
+     * @param z the z coordinate of the block.
+     * @return the color of the team owning the heart, or null if the position is not a heart.
+     */
+    public @Nullable GameTeam.Color getHeartOwner(int x, int y, int z) {
+        return hearts.get(pack(x, y, z));
+    }
+
+    /**
+     * Retrieves the protected region containing a block.
+     *
+     * @param block the block.
+     * @return the first protected {@link Region} containing the block, or null if it is not protected.
+     */
+    public @Nullable Region getProtectedRegion(@NotNull Block block) {
+        return getProtectedRegion(block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * Retrieves the protected region containing a block position.
+     *
+     * @param x the x coordinate of the block.
+     * @param y the y coordinate of the block.
+     * @param z the z coordinate of the block.
+     * @return the first protected {@link Region} containing the position, or null if it is not protected.
+     */
+    public @Nullable Region getProtectedRegion(int x, int y, int z) {
+        Region[] regions = regionsByChunk.get(Chunk.getChunkKey(x >> 4, z >> 4));
+        if (regions == null) {
+            return null;
+        }
+        for (Region region : regions) {
+            if (region.contains(x, y, z)) {
+                return region;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a block position is inside any protected region.
+     *
+     * @param x the x coordinate of the block.
+     * @param y the y coordinate of the block.
+     * @param z the z coordinate of the block.
+     * @return true if the position is protected, false otherwise.
+     */
+    public boolean isProtected(int x, int y, int z) {
+        return getProtectedRegion(x, y, z) != null;
+    }
+
+    private void addRegion(@NotNull Region region) {
+        for (int chunkX = region.minX() >> 4; chunkX <= region.maxX() >> 4; chunkX++) {
+            for (int chunkZ = region.minZ() >> 4; chunkZ <= region.maxZ() >> 4; chunkZ++) {
+                long key = Chunk.getChunkKey(chunkX, chunkZ);
+                Region[] regions = regionsByChunk.get(key);
+                if (regions == null) {
+                    regions = NO_REGIONS;
+                }
+                regions = Arrays.copyOf(regions, regions.length + 1);
+                regions[regions.length - 1] = region;
+                regionsByChunk.put(key, regions);
+            }
+        }
+    }
+
+    /**
+     * Packs a block position into a long, 26 bits for x and z and 12 bits for y.
+     *
+     * @param x the x coordinate of the block.
+     * @param y the y coordinate of the block.
+     * @param z the z coordinate of the block.
+     * @return the packed position.
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    /**
+     * A protected box around a team spawn or a tower heart.
+     *
+     * @param owner the team owning the protected location.
+     * @param kind the kind of the protected location.
+     * @param minX the minimum x coordinate, inclusive.
+     * @param minY the minimum y coordinate, inclusive.
+     * @param minZ the minimum z coordinate, inclusive.
+     * @param maxX the maximum x coordinate, inclusive.
+     * @param maxY the maximum y coordinate, inclusive.
+     * @param maxZ the maximum z coordinate, inclusive.
+     */
+    public record Region(@NotNull GameTeam.Color owner, @NotNull Kind kind,
+                         int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+
+        private Region(@NotNull GameTeam.Color owner, @NotNull Kind kind, @NotNull Location center, int radius) {
+            this(owner, kind,
+                    center.getBlockX() - radius, center.getBlockY() - radius, center.getBlockZ() - radius,
+                    center.getBlockX() + radius, center.getBlockY() + radius, center.getBlockZ() + radius);
+        }
+
+        /**
+         * Checks if the region contains a block position.
+         *
+         * @param x the x coordinate of the block.
+         * @param y the y coordinate of the block.
+         * @param z the z coordinate of the block.
+         * @return true if the position is inside the region, false otherwise.
+         */
+        public boolean contains(int x, int y, int z) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+        }
+
+        /**
+         * The kind of a protected location.
+         */
+        public enum Kind {
+            SPAWN,
+            HEART
+        }
+    }
+
+}
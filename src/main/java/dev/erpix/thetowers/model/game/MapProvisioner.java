@@ -0,0 +1,269 @@
+package dev.erpix.thetowers.model.game;
+
+import dev.erpix.thetowers.TheTowers;
+import dev.erpix.thetowers.config.Config;
+import dev.erpix.thetowers.util.Schedulers;
+import net.kyori.adventure.util.TriState;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Provides the worlds the maps are played in.
+ *
+ * <p>The configured world of every map is a read-only template. Every game gets a fresh copy of it,
+ * the files are copied off the tick threads and only loading the copied world runs on the main thread.
+ * A number of copies of every map is kept loaded in the background, so selecting a map or starting
+ * the next game does not wait for a world to load. Used copies are unloaded and deleted.</p>
+ *
+ * <p>If pre-warming is disabled, the maps are played directly in their configured worlds.</p>
+ */
+public class MapProvisioner {
+
+    private static final String INSTANCE_PREFIX = "tt-instance-";
+    // Files bound to the template world itself, a copy with the same uid would not load
+    private static final Set<String> SKIPPED_FILES = Set.of("session.lock", "uid.dat");
+
+    private final Map<String, Config.MapEntry> entries;
+    private final int prewarmed;
+    private final Path worldContainer = Bukkit.getWorldContainer().toPath();
+    private final Map<String, GameMap> liveMaps = new HashMap<>();
+    private final Map<String, ArrayDeque<GameMap>> warmMaps = new HashMap<>();
+    private final Map<String, Integer> pendingMaps = new HashMap<>();
+    private final Set<GameMap> provisionedMaps = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Copies of this run are named after it, so the cleanup of the previous runs never touches them
+    private final String runPrefix = INSTANCE_PREFIX + Long.toString(System.currentTimeMillis(), 36) + "-";
+    private final AtomicInteger counter = new AtomicInteger();
+
+    /**
+     * Creates a new map provisioner.
+     *
+     * @param entries the configured maps by name.
+     * @param prewarmed the number of copies of every map kept ready, 0 to play in the configured worlds.
+     */
+    public MapProvisioner(@NotNull Map<String, Config.MapEntry> entries, int prewarmed) {
+        this.entries = new LinkedHashMap<>(entries);
+        this.prewarmed = Math.max(0, prewarmed);
+    }
+
+    /**
+     * Deletes the copies left over from the previous run and starts pre-warming the maps.
+     */
+    public void init() {
+        if (!isCopying()) {
+            return;
+        }
+        Schedulers.async(() -> {
+            try (Stream<Path> files = Files.list(worldContainer)) {
+                files.filter(path -> {
+                            String name = path.getFileName().toString();
+                            return name.startsWith(INSTANCE_PREFIX) && !name.startsWith(runPrefix);
+                        })
+                        .forEach(this::deleteQuietly);
+            } catch (IOException e) {
+                TheTowers.getInstance().getLogger().warn("Failed to clean up map copies", e);
+            }
+        });
+        Schedulers.global(this::prewarm);
+    }
+
+    /**
+     * Checks if games are played in copies of the map worlds.
+     *
+     * @return true if the map worlds are copied, false if games are played in the configured worlds.
+     */
+    public boolean isCopying() {
+        return prewarmed > 0;
+    }
+
+    /**
+     * Retrieves the names of all configured maps.
+     *
+     * @return an unmodifiable set of the map names, in configuration order.
+     */
+    public @NotNull @Unmodifiable Set<String> getMapNames() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * Checks if a map is configured.
+     *
+     * @param name the name of the map.
+     * @return true if the map exists, false otherwise.
+     */
+    public boolean hasMap(@NotNull String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * Acquires a map to play on, a pre-warmed copy if one is ready.
+     *
+     * <p>Must be called on the global region thread, which is the main thread on Paper.
+     * The future is completed on the main thread.</p>
+     *
+     * @param name the name of the map.
+     * @return a future completed with the map, or exceptionally if the map cannot be loaded.
+     */
+    public @NotNull CompletableFuture<GameMap> acquire(@NotNull String name) {
+        Config.MapEntry entry = entries.get(name);
+        if (entry == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Map '" + name + "' not found."));
+        }
+        if (!isCopying()) {
+            try {
+                return CompletableFuture.completedFuture(liveMaps.computeIfAbsent(name, entry::toGameMap));
+            } catch (IllegalArgumentException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        GameMap warm = warmMaps.computeIfAbsent(name, k -> new ArrayDeque<>()).poll();
+        CompletableFuture<GameMap> future = warm != null ? CompletableFuture.completedFuture(warm) : copy(name, entry);
+        prewarm();
+        return future;
+    }
+
+    /**
+     * Releases a map after it has been played, the copy of its world is unloaded and deleted.
+     *
+     * <p>Players who are still in the world are moved to the lobby. Maps played in their configured
+     * worlds are kept. Must be called on the main thread.</p>
+     *
+     * @param map the map to release.
+     */
+    public void release(@NotNull GameMap map) {
+        if (!provisionedMaps.remove(map)) {
+            return;
+        }
+        World world = map.getWorld();
+        Location lobby = TheTowers.getInstance().getLobbyLocation();
+        for (Player player : world.getPlayers()) {
+            player.teleport(lobby);
+        }
+        Path folder = world.getWorldFolder().toPath();
+        if (Bukkit.unloadWorld(world, false)) {
+            Schedulers.async(() -> deleteQuietly(folder));
+        } else {
+            TheTowers.getInstance().getLogger().warn("Failed to unload map copy {}", world.getName());
+        }
+    }
+
+    /**
+     * Checks if a map is played in a copy of its world.
+     *
+     * @param map the map.
+     * @return true if the map is a copy which is deleted when released, false otherwise.
+     */
+    public boolean isProvisioned(@NotNull GameMap map) {
+        return provisionedMaps.contains(map);
+    }
+
+    /**
+     * Starts copying the maps which have fewer copies ready or in progress than configured.
+     */
+    private void prewarm() {
+        for (Map.Entry<String, Config.MapEntry> entry : entries.entrySet()) {
+            String name = entry.getKey();
+            ArrayDeque<GameMap> warm = warmMaps.computeIfAbsent(name, k -> new ArrayDeque<>());
+            int pending = pendingMaps.getOrDefault(name, 0);
+            for (int i = warm.size() + pending; i < prewarmed; i++) {
+                pendingMaps.merge(name, 1, Integer::sum);
+                copy(name, entry.getValue()).whenComplete((map, error) -> {
+                    pendingMaps.merge(name, -1, Integer::sum);
+                    if (error != null) {
+                        TheTowers.getInstance().getLogger().error("Failed to pre-warm map {}", name, error);
+                    } else {
+                        warm.add(map);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Copies the files of the template world off the tick threads, then loads the copy on the main thread.
+     *
+     * <p>Refuses to copy a template world loaded by the server, its region files are written in place
+     * while they are copied, which would give a torn copy.</p>
+     */
+    private @NotNull CompletableFuture<GameMap> copy(@NotNull String name, @NotNull Config.MapEntry entry) {
+        if (Bukkit.getWorld(entry.getWorld()) != null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Map template '" + entry.getWorld()
+                    + "' is loaded by the server and cannot be copied, unload it or set prewarmed-maps to 0."));
+        }
+        Path template = worldContainer.resolve(entry.getWorld());
+        String worldName = runPrefix + name + "-" + counter.incrementAndGet();
+        Path target = worldContainer.resolve(worldName);
+        CompletableFuture<GameMap> future = new CompletableFuture<>();
+        CompletableFuture.runAsync(() -> copyTree(template, target), Schedulers.asyncExecutor())
+                .whenComplete((ignored, error) -> Schedulers.global(() -> {
+                    if (error != null) {
+                        Schedulers.async(() -> deleteQuietly(target));
+                        future.completeExceptionally(error);
+                        return;
+                    }
+                    try {
+                        World world = new WorldCreator(worldName)
+                                .keepSpawnLoaded(TriState.FALSE)
+                                .createWorld();
+                        if (world == null) {
+                            throw new IllegalStateException("Failed to load map copy " + worldName);
+                        }
+                        world.setAutoSave(false);
+                        GameMap map = entry.toGameMap(name, world);
+                        provisionedMaps.add(map);
+                        future.complete(map);
+                    } catch (RuntimeException e) {
+                        future.completeExceptionally(e);
+                    }
+                }));
+        return future;
+    }
+
+    private void copyTree(@NotNull Path source, @NotNull Path target) {
+        if (!Files.isDirectory(source)) {
+            throw new IllegalArgumentException("Map template '" + source + "' not found.");
+        }
+        try (Stream<Path> files = Files.walk(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (SKIPPED_FILES.contains(file.getFileName().toString())) {
+                    continue;
+                }
+                Path copy = target.resolve(source.relativize(file).toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteQuietly(@NotNull Path root) {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            // Children first, so every directory is empty when it is deleted
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            TheTowers.getInstance().getLogger().warn("Failed to delete map copy {}", root, e);
+        }
+    }
+
+}
@@ -0,0 +1,494 @@
+package dev.erpix.thetowers.model.history;
+
+import dev.erpix.thetowers.TheTowers;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of finished games.
+ *
+ * <p>Matches are appended to binary segment files, each with an index file holding the offset
+ * and the players of every match in it. The index is kept in memory, so the latest matches and
+ * the matches of a single player are read directly at their offsets without scanning the log.
+ * When the active segment grows past {@link #MAX_SEGMENT_BYTES}, a new one is started. Matches
+ * beyond the retention limit are dropped by deleting whole segments, or by compacting segments
+ * in which most matches have expired.</p>
+ *
+ * <p>All file access happens on a single background thread.</p>
+ */
+public class MatchHistory {
+
+    private static final ComponentLogger logger = TheTowers.getInstance().getLogger();
+
+    private static final String SEGMENT_PREFIX = "matches-";
+    private static final String DATA_SUFFIX = ".dat";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String TEMP_SUFFIX = ".tmp";
+    /**
+     * Size after which the active segment is sealed and a new one is started.
+     */
+    private static final long MAX_SEGMENT_BYTES = 1024 * 1024;
+    /**
+     * Maximum time to wait for pending writes when closing the history.
+     */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final Path directory;
+    private final int retention;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "match-history-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Confined to the executor thread
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final List<IndexEntry> index = new ArrayList<>();
+    private final Map<String, List<IndexEntry>> byPlayer = new HashMap<>();
+    private long nextId = 1;
+    // Appending on top of segments that failed to load would corrupt their index
+    private boolean writable;
+
+    /**
+     * Creates a new match history.
+     *
+     * @param directory the directory holding the segments.
+     * @param retention the maximum number of matches to keep, or 0 to keep all of them.
+     */
+    public MatchHistory(@NotNull Path directory, int retention) {
+        this.directory = directory;
+        this.retention = retention;
+    }
+
+    /**
+     * Loads the indexes of existing segments in the background.
+     */
+    public void init() {
+        executor.execute(() -> {
+            try {
+                load();
+                writable = true;
+                logger.info("Loaded match history with {} match(es)", index.size());
+            } catch (IOException | RuntimeException e) {
+                logger.error("Could not load match history, new matches will not be recorded", e);
+            }
+        });
+    }
+
+    /**
+     * Waits for pending writes and stops the background thread.
+     */
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                logger.warn("Match history did not finish writing in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Appends a match to the history in the background.
+     *
+     * <p>The id of the given record is ignored, the next sequential id is assigned instead.
+     * The match is dropped if the history failed to load.</p>
+     *
+     * @param record the match to append.
+     */
+    public void record(@NotNull MatchRecord record) {
+        executor.execute(() -> {
+            if (!writable) {
+                logger.warn("Match history is not loaded, dropping match on map {}", record.map());
+                return;
+            }
+            try {
+                append(record);
+            } catch (IOException e) {
+                logger.error("Could not write match to history", e);
+            }
+        });
+    }
+
+    /**
+     * Reads the latest matches.
+     *
+     * @param limit the maximum number of matches.
+     * @return a future completed with the matches, newest first.
+     */
+    public @NotNull CompletableFuture<List<MatchRecord>> getLatest(int limit) {
+        return CompletableFuture.supplyAsync(() -> readLatest(index, limit), executor);
+    }
+
+    /**
+     * Reads the latest matches of a player.
+     *
+     * @param player the name of the player.
+     * @param limit the maximum number of matches.
+     * @return a future completed with the matches, newest first.
+     */
+    public @NotNull CompletableFuture<List<MatchRecord>> getByPlayer(@NotNull String player, int limit) {
+        return CompletableFuture.supplyAsync(() ->
+                readLatest(byPlayer.getOrDefault(player.toLowerCase(Locale.ROOT), List.of()), limit), executor);
+    }
+
+    private @NotNull List<MatchRecord> readLatest(@NotNull List<IndexEntry> entries, int limit) {
+        List<MatchRecord> records = new ArrayList<>(Math.min(limit, entries.size()));
+        for (int i = entries.size() - 1; i >= 0 && records.size() < limit; i--) {
+            IndexEntry entry = entries.get(i);
+            try {
+                records.add(read(entry));
+            } catch (IOException e) {
+                logger.error("Could not read match #{} from history", entry.id(), e);
+            }
+        }
+        return records;
+    }
+
+    private @NotNull MatchRecord read(@NotNull IndexEntry entry) throws IOException {
+        Segment segment = segments.get(entry.segment());
+        if (segment == null) {
+            throw new IOException("Segment " + entry.segment() + " no longer exists");
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.data.toFile(), "r")) {
+            file.seek(entry.offset());
+            int length = file.readInt();
+            int checksum = file.readInt();
+            byte[] payload = new byte[length];
+            file.readFully(payload);
+            if (checksum(payload) != checksum) {
+                throw new IOException("Checksum mismatch");
+            }
+            return MatchRecord.decode(payload);
+        }
+    }
+
+    private void append(@NotNull MatchRecord record) throws IOException {
+        MatchRecord stored = record.withId(nextId++);
+        byte[] payload = stored.encode();
+
+        Map.Entry<Long, Segment> last = segments.lastEntry();
+        Segment segment = last == null ? null : last.getValue();
+        if (segment == null || segment.size >= MAX_SEGMENT_BYTES) {
+            segment = new Segment(stored.id(), directory);
+            segments.put(segment.firstId, segment);
+        }
+
+        long offset = segment.size;
+        ByteBuffer frame = ByteBuffer.allocate(8 + payload.length);
+        frame.putInt(payload.length).putInt(checksum(payload)).put(payload).flip();
+        try (FileChannel channel = FileChannel.open(segment.data,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+            channel.force(false);
+        }
+        segment.size = offset + 8 + payload.length;
+        segment.records++;
+
+        IndexEntry entry = new IndexEntry(stored.id(), segment.firstId, offset, stored.getPlayerNames());
+        appendIndex(segment, entry);
+        addToIndex(entry);
+        applyRetention();
+    }
+
+    private void load() throws IOException {
+        Files.createDirectories(directory);
+
+        // Left over by a compaction that did not finish, the segment it was rewriting is still complete
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+
+        List<Long> ids;
+        try (Stream<Path> files = Files.list(directory)) {
+            ids = files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(DATA_SUFFIX))
+                    .map(name -> name.substring(SEGMENT_PREFIX.length(), name.length() - DATA_SUFFIX.length()))
+                    .map(Long::parseLong)
+                    .sorted()
+                    .toList();
+        } catch (NumberFormatException e) {
+            throw new IOException("Unexpected file in match history directory", e);
+        }
+
+        for (long firstId : ids) {
+            Segment segment = new Segment(firstId, directory);
+            segment.size = Files.size(segment.data);
+            segments.put(firstId, segment);
+            for (IndexEntry entry : loadIndex(segment)) {
+                addToIndex(entry);
+                nextId = Math.max(nextId, entry.id() + 1);
+            }
+        }
+        applyRetention();
+    }
+
+    /**
+     * Reads the index of a segment, recovering entries for records that were written to the segment
+     * but not to its index, and cutting off a torn record at the end of the segment.
+     */
+    private @NotNull List<IndexEntry> loadIndex(@NotNull Segment segment) throws IOException {
+        List<IndexEntry> entries = new ArrayList<>();
+        long indexed = 0;
+        boolean intact = true;
+        if (Files.exists(segment.index)) {
+            byte[] bytes = Files.readAllBytes(segment.index);
+            ByteArrayInputStream buffer = new ByteArrayInputStream(bytes);
+            DataInputStream in = new DataInputStream(buffer);
+            while (buffer.available() > 0) {
+                IndexEntry entry;
+                try {
+                    entry = IndexEntry.read(in, segment.firstId);
+                } catch (EOFException e) {
+                    intact = false;
+                    break;
+                }
+                if (entry.offset() >= segment.size) {
+                    intact = false;
+                    break;
+                }
+                entries.add(entry);
+                indexed = entry.offset();
+            }
+        }
+
+        // Scan whatever follows the last indexed record
+        List<IndexEntry> recovered = new ArrayList<>();
+        try (RandomAccessFile file = new RandomAccessFile(segment.data.toFile(), "rw")) {
+            long position = indexed;
+            if (!entries.isEmpty()) {
+                file.seek(position);
+                position += 8 + file.readInt();
+            }
+            while (position < segment.size) {
+                try {
+                    file.seek(position);
+                    int length = file.readInt();
+                    int checksum = file.readInt();
+                    byte[] payload = new byte[length];
+                    file.readFully(payload);
+                    if (checksum(payload) != checksum) {
+                        break;
+                    }
+                    MatchRecord record = MatchRecord.decode(payload);
+                    recovered.add(new IndexEntry(record.id(), segment.firstId, position, record.getPlayerNames()));
+                    position += 8 + length;
+                } catch (EOFException | NegativeArraySizeException e) {
+                    break;
+                }
+            }
+            if (position < segment.size) {
+                logger.warn("Truncating torn match record at the end of {}", segment.data.getFileName());
+                file.setLength(position);
+                segment.size = position;
+            }
+        }
+
+        entries.addAll(recovered);
+        if (!intact || !recovered.isEmpty()) {
+            writeIndex(segment.index, entries);
+        }
+        segment.records = entries.size();
+        return entries;
+    }
+
+    private void appendIndex(@NotNull Segment segment, @NotNull IndexEntry entry) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(segment.index,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)))) {
+            entry.write(out);
+        }
+    }
+
+    private void writeIndex(@NotNull Path file, @NotNull List<IndexEntry> entries) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            for (IndexEntry entry : entries) {
+                entry.write(out);
+            }
+        }
+    }
+
+    private void addToIndex(@NotNull IndexEntry entry) {
+        index.add(entry);
+        for (String player : entry.players()) {
+            byPlayer.computeIfAbsent(player.toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(entry);
+        }
+    }
+
+    /**
+     * Drops matches beyond the retention limit from the index, deletes segments that only hold
+     * expired matches and compacts sealed segments in which most matches have expired.
+     */
+    private void applyRetention() throws IOException {
+        if (retention <= 0 || index.size() <= retention) {
+            return;
+        }
+
+        long cutoff = index.get(index.size() - retention).id();
+        index.subList(0, index.size() - retention).clear();
+        byPlayer.values().forEach(entries -> entries.removeIf(entry -> entry.id() < cutoff));
+        byPlayer.values().removeIf(List::isEmpty);
+
+        Long activeId = segments.lastKey();
+        Iterator<Segment> iterator = segments.values().iterator();
+        while (iterator.hasNext()) {
+            Segment segment = iterator.next();
+            if (segment.firstId == activeId) {
+                break;
+            }
+            Long nextFirstId = segments.higherKey(segment.firstId);
+            if (nextFirstId <= cutoff) {
+                // Every match in this segment is older than the cutoff
+                Files.deleteIfExists(segment.data);
+                Files.deleteIfExists(segment.index);
+                iterator.remove();
+            } else if (segment.firstId < cutoff) {
+                compact(segment);
+            }
+        }
+    }
+
+    /**
+     * Rewrites a segment without its expired matches, if they make up at least half of it.
+     *
+     * <p>Both files are written and forced to disk under temporary names first. The old index is
+     * deleted before the new data file replaces the old one, so a crash at any point leaves either
+     * the old data with its own index, or a data file without an index, which {@link #loadIndex(Segment)}
+     * rebuilds by scanning it. The new data file is never paired with the old index.</p>
+     */
+    private void compact(@NotNull Segment segment) throws IOException {
+        List<IndexEntry> retained = index.stream()
+                .filter(entry -> entry.segment() == segment.firstId)
+                .toList();
+        int expired = segment.records - retained.size();
+        if (expired == 0 || expired * 2 < segment.records) {
+            return;
+        }
+        Path data = segment.data.resolveSibling(segment.data.getFileName() + TEMP_SUFFIX);
+        Path indexFile = segment.index.resolveSibling(segment.index.getFileName() + TEMP_SUFFIX);
+
+        Map<Long, IndexEntry> moved = new HashMap<>();
+        long offset = 0;
+        try (RandomAccessFile source = new RandomAccessFile(segment.data.toFile(), "r");
+             FileOutputStream dataFile = new FileOutputStream(data.toFile());
+             FileOutputStream indexFileOut = new FileOutputStream(indexFile.toFile());
+             DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(dataFile));
+             DataOutputStream indexOut = new DataOutputStream(new BufferedOutputStream(indexFileOut))) {
+            for (IndexEntry entry : retained) {
+                source.seek(entry.offset());
+                int length = source.readInt();
+                byte[] frame = new byte[8 + length];
+                source.seek(entry.offset());
+                source.readFully(frame);
+                dataOut.write(frame);
+
+                IndexEntry relocated = new IndexEntry(entry.id(), entry.segment(), offset, entry.players());
+                relocated.write(indexOut);
+                moved.put(entry.id(), relocated);
+                offset += frame.length;
+            }
+            dataOut.flush();
+            indexOut.flush();
+            dataFile.getChannel().force(true);
+            indexFileOut.getChannel().force(true);
+        }
+
+        Files.deleteIfExists(segment.index);
+        syncDirectory();
+        Files.move(data, segment.data, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+        Files.move(indexFile, segment.index, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+        segment.size = offset;
+        segment.records = retained.size();
+
+        index.replaceAll(entry -> moved.getOrDefault(entry.id(), entry));
+        byPlayer.values().forEach(entries -> entries.replaceAll(entry -> moved.getOrDefault(entry.id(), entry)));
+        logger.info("Compacted match history segment {} ({} match(es) kept)", segment.data.getFileName(), retained.size());
+    }
+
+    /**
+     * Forces the renames and deletions in the history directory to disk.
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform (e.g. Windows), where renames are durable on their own
+            logger.debug("Could not sync match history directory", e);
+        }
+    }
+
+    private static int checksum(byte @NotNull [] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static final class Segment {
+
+        private final long firstId;
+        private final Path data;
+        private final Path index;
+        private long size;
+        private int records;
+
+        private Segment(long firstId, @NotNull Path directory) {
+            this.firstId = firstId;
+            this.data = directory.resolve(SEGMENT_PREFIX + firstId + DATA_SUFFIX);
+            this.index = directory.resolve(SEGMENT_PREFIX + firstId + INDEX_SUFFIX);
+        }
+
+    }
+
+    /**
+     * Location and players of a stored match.
+     *
+     * @param id the id of the match.
+     * @param segment the first id of the segment holding the match.
+     * @param offset the offset of the match within the segment.
+     * @param players the names of the players that took part in the match.
+     */
+    private record IndexEntry(long id, long segment, long offset, @NotNull List<String> players) {
+
+        private void write(@NotNull DataOutputStream out) throws IOException {
+            out.writeLong(id);
+            out.writeLong(offset);
+            out.writeByte(players.size());
+            for (String player : players) {
+                out.writeUTF(player);
+            }
+        }
+
+        private static @NotNull IndexEntry read(@NotNull DataInputStream in, long segment) throws IOException {
+            long id = in.readLong();
+            long offset = in.readLong();
+            int count = in.readUnsignedByte();
+            List<String> players = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                players.add(in.readUTF());
+            }
+            return new IndexEntry(id, segment, offset, players);
+        }
+
+    }
+
+}
@@ -0,0 +1,153 @@
+package dev.erpix.thetowers.model.history;
+
+import dev.erpix.thetowers.model.game.GameMap;
+import dev.erpix.thetowers.model.game.GameTeam;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a finished game stored in the {@link MatchHistory}.
+ *
+ * @param id the sequential id of the match, assigned by the history.
+ * @param startTime the start of the match, in epoch milliseconds.
+ * @param duration the duration of the match, in milliseconds.
+ * @param map the name of the map.
+ * @param teamSetup the team setup of the map.
+ * @param winner the color of the winning team, or null if there was no winner.
+ * @param teams the teams that took part in the match.
+ */
+public record MatchRecord(long id,
+                          long startTime,
+                          long duration,
+                          @NotNull String map,
+                          @NotNull GameMap.TeamSetup teamSetup,
+                          @Nullable GameTeam.Color winner,
+                          @NotNull List<Team> teams) {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    /**
+     * Returns a copy of this record with the given id.
+     *
+     * @param id the new id.
+     * @return the copy.
+     */
+    public @NotNull MatchRecord withId(long id) {
+        return new MatchRecord(id, startTime, duration, map, teamSetup, winner, teams);
+    }
+
+    /**
+     * Returns the names of all players that took part in the match.
+     *
+     * @return the player names.
+     */
+    public @NotNull List<String> getPlayerNames() {
+        List<String> names = new ArrayList<>();
+        for (Team team : teams) {
+            for (Player player : team.players()) {
+                names.add(player.name());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Encodes this record into its binary form.
+     *
+     * @return the encoded record.
+     * @throws IOException if the record cannot be encoded.
+     */
+    byte @NotNull [] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(FORMAT_VERSION);
+        out.writeLong(id);
+        out.writeLong(startTime);
+        out.writeLong(duration);
+        out.writeUTF(map);
+        out.writeUTF(teamSetup.name());
+        out.writeUTF(winner == null ? "" : winner.name());
+        out.writeByte(teams.size());
+        for (Team team : teams) {
+            out.writeUTF(team.color().name());
+            out.writeUTF(team.name());
+            out.writeByte(team.players().size());
+            for (Player player : team.players()) {
+                out.writeUTF(player.name());
+                out.writeShort(player.stats().size());
+                for (Map.Entry<String, Integer> stat : player.stats().entrySet()) {
+                    out.writeUTF(stat.getKey());
+                    out.writeInt(stat.getValue());
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a record from its binary form.
+     *
+     * @param payload the encoded record.
+     * @return the decoded record.
+     * @throws IOException if the payload is malformed.
+     */
+    static @NotNull MatchRecord decode(byte @NotNull [] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported match record version: " + version);
+        }
+        long id = in.readLong();
+        long startTime = in.readLong();
+        long duration = in.readLong();
+        String map = in.readUTF();
+        GameMap.TeamSetup teamSetup = GameMap.TeamSetup.valueOf(in.readUTF());
+        String winner = in.readUTF();
+
+        int teamCount = in.readUnsignedByte();
+        List<Team> teams = new ArrayList<>(teamCount);
+        for (int i = 0; i < teamCount; i++) {
+            GameTeam.Color color = GameTeam.Color.valueOf(in.readUTF());
+            String name = in.readUTF();
+            int playerCount = in.readUnsignedByte();
+            List<Player> players = new ArrayList<>(playerCount);
+            for (int j = 0; j < playerCount; j++) {
+                String playerName = in.readUTF();
+                int statCount = in.readUnsignedShort();
+                Map<String, Integer> stats = new LinkedHashMap<>();
+                for (int k = 0; k < statCount; k++) {
+                    stats.put(in.readUTF(), in.readInt());
+                }
+                players.add(new Player(playerName, stats));
+            }
+            teams.add(new Team(color, name, players));
+        }
+
+        return new MatchRecord(id, startTime, duration, map, teamSetup,
+                winner.isEmpty() ? null : GameTeam.Color.valueOf(winner), teams);
+    }
+
+    /**
+     * Represents a team that took part in a match.
+     *
+     * @param color the color of the team.
+     * @param name the name of the team.
+     * @param players the members of the team.
+     */
+    public record Team(@NotNull GameTeam.Color color, @NotNull String name, @NotNull List<Player> players) { }
+
+    /**
+     * Represents a player that took part in a match.
+     *
+     * @param name the name of the player.
+     * @param stats the stats gained during the match, by stat key.
+     */
+    public record Player(@NotNull String name, @NotNull Map<String, Integer> stats) { }
+
+}
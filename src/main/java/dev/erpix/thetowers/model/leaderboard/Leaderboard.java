@@ -0,0 +1,275 @@
+package dev.erpix.thetowers.model.leaderboard;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ordered index of player scores in a single {@link LeaderboardCategory}.
+ *
+ * <p>Backed by a treap with subtree sizes (an order-statistic tree), ordered by score descending
+ * and then by name, so updates, rank lookups and positional lookups all take O(log n).
+ * Players with a score of zero are not ranked. All methods are thread-safe.</p>
+ */
+public class Leaderboard {
+
+    private final Map<String, Node> byName = new HashMap<>();
+    // Players updated live since the rebuild started, their stored scores are outdated
+    private final Set<String> updatedLive = new HashSet<>();
+    private boolean rebuilding;
+    private Node root;
+
+    /**
+     * Sets the score of a player, replacing the previous one.
+     *
+     * @param name the name of the player.
+     * @param score the new score, or 0 to remove the player from the leaderboard.
+     */
+    public synchronized void update(@NotNull String name, double score) {
+        if (rebuilding) {
+            updatedLive.add(name);
+        }
+        set(name, score);
+    }
+
+    /**
+     * Sets the stored score of a player, unless the player has been updated live since
+     * the rebuild started.
+     *
+     * <p>Used when rebuilding from disk, so that stored scores never overwrite live updates,
+     * including live updates to a score of zero which leave the player unranked.</p>
+     *
+     * @param name the name of the player.
+     * @param score the stored score.
+     */
+    public synchronized void updateStored(@NotNull String name, double score) {
+        if (!updatedLive.contains(name)) {
+            set(name, score);
+        }
+    }
+
+    /**
+     * Starts tracking live updates, so that {@link #updateStored(String, double)} does not overwrite them.
+     */
+    public synchronized void beginRebuild() {
+        rebuilding = true;
+        updatedLive.clear();
+    }
+
+    /**
+     * Stops tracking live updates after a rebuild.
+     */
+    public synchronized void endRebuild() {
+        rebuilding = false;
+        updatedLive.clear();
+    }
+
+    private void set(@NotNull String name, double score) {
+        Node previous = byName.get(name);
+        if (previous != null) {
+            if (previous.score == score) {
+                return;
+            }
+            byName.remove(name);
+            root = remove(root, previous);
+        }
+        if (score != 0) {
+            Node node = new Node(name, score);
+            byName.put(name, node);
+            root = insert(root, node);
+        }
+    }
+
+    /**
+     * Returns the position of a player on the leaderboard.
+     *
+     * @param name the name of the player.
+     * @return the entry of the player, or empty if the player is not ranked.
+     */
+    public synchronized @NotNull Optional<Entry> getEntry(@NotNull String name) {
+        Node node = byName.get(name);
+        if (node == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new Entry(rankOf(node), node.name, node.score));
+    }
+
+    /**
+     * Returns the best players on the leaderboard.
+     *
+     * @param limit the maximum number of entries.
+     * @return the entries, best first.
+     */
+    public @NotNull List<Entry> top(int limit) {
+        return range(0, limit);
+    }
+
+    /**
+     * Returns a page of the leaderboard.
+     *
+     * @param page the page number, starting at 1.
+     * @param pageSize the number of entries per page.
+     * @return the entries on the page, best first.
+     */
+    public @NotNull List<Entry> page(int page, int pageSize) {
+        return range((Math.max(page, 1) - 1) * pageSize, pageSize);
+    }
+
+    /**
+     * Returns the number of ranked players.
+     *
+     * @return the size of the leaderboard.
+     */
+    public synchronized int size() {
+        return size(root);
+    }
+
+    /**
+     * Removes all players from the leaderboard.
+     */
+    public synchronized void clear() {
+        byName.clear();
+        root = null;
+    }
+
+    private synchronized @NotNull List<Entry> range(int offset, int limit) {
+        int total = size(root);
+        if (offset >= total || limit <= 0) {
+            return List.of();
+        }
+        List<Entry> entries = new ArrayList<>(Math.min(limit, total - offset));
+        collect(root, offset, Math.min(offset + limit, total), 0, entries);
+        return entries;
+    }
+
+    /**
+     * Collects the nodes at positions [from, to) in order, skipping subtrees outside of the range.
+     */
+    private static void collect(@Nullable Node node, int from, int to, int base, @NotNull List<Entry> out) {
+        if (node == null || base >= to || base + node.size <= from) {
+            return;
+        }
+        collect(node.left, from, to, base, out);
+        int position = base + size(node.left);
+        if (position >= from && position < to) {
+            out.add(new Entry(position + 1, node.name, node.score));
+        }
+        collect(node.right, from, to, position + 1, out);
+    }
+
+    private int rankOf(@NotNull Node target) {
+        int rank = 1;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(target, node);
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left);
+                if (cmp == 0) {
+                    return rank;
+                }
+                rank++;
+                node = node.right;
+            }
+        }
+        throw new IllegalStateException("Node not found in leaderboard: " + target.name);
+    }
+
+    private static @Nullable Node insert(@Nullable Node node, @NotNull Node inserted) {
+        Node[] parts = split(node, inserted);
+        return merge(merge(parts[0], inserted), parts[1]);
+    }
+
+    private static @Nullable Node remove(@Nullable Node node, @NotNull Node removed) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(removed, node);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, removed);
+        } else {
+            node.right = remove(node.right, removed);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Splits a subtree into nodes ordered before the key and the rest.
+     */
+    private static Node[] split(@Nullable Node node, @NotNull Node key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(node, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            node.update();
+            parts[0] = node;
+            return parts;
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        node.update();
+        parts[1] = node;
+        return parts;
+    }
+
+    private static @Nullable Node merge(@Nullable Node left, @Nullable Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static int compare(@NotNull Node a, @NotNull Node b) {
+        int cmp = Double.compare(b.score, a.score);
+        return cmp != 0 ? cmp : a.name.compareTo(b.name);
+    }
+
+    private static int size(@Nullable Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Represents a ranked player.
+     *
+     * @param rank the position on the leaderboard, starting at 1.
+     * @param name the name of the player.
+     * @param score the score of the player.
+     */
+    public record Entry(int rank, @NotNull String name, double score) { }
+
+    private static final class Node {
+
+        private final String name;
+        private final double score;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(String name, double score) {
+            this.name = name;
+            this.score = score;
+        }
+
+        private void update() {
+            size = 1 + Leaderboard.size(left) + Leaderboard.size(right);
+        }
+
+    }
+
+}
@@ -0,0 +1,97 @@
+package dev.erpix.thetowers.model.leaderboard;
+
+import dev.erpix.thetowers.model.PlayerStat;
+import dev.erpix.thetowers.model.PlayerTotalStat;
+import dev.erpix.thetowers.model.StatsTracker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Represents a category players are ranked by.
+ */
+public enum LeaderboardCategory {
+
+    KILLS("kills", PlayerStat.KILLS),
+    WINS("wins", PlayerTotalStat.WINS),
+    KD("kd", PlayerStat.KILLS, PlayerStat.DEATHS) {
+        @Override
+        public double score(@NotNull StatsTracker stats) {
+            int kills = stats.getStat(PlayerStat.KILLS);
+            int deaths = stats.getStat(PlayerStat.DEATHS);
+            // Without deaths the ratio would be 0, rank by kills instead
+            return deaths == 0 ? kills : (double) kills / deaths;
+        }
+
+        @Override
+        public @NotNull String format(double score) {
+            return String.format("%.2f", score);
+        }
+    },
+    HEART_DAMAGE("heart_damage", PlayerStat.HEART_DAMAGE),
+    TOWERS_DESTROYED("towers_destroyed", PlayerStat.TOWERS_DESTROYED);
+
+    private final String key;
+    private final List<PlayerStat> stats;
+
+    LeaderboardCategory(@NotNull String key, @NotNull PlayerStat... stats) {
+        this.key = key;
+        this.stats = List.of(stats);
+    }
+
+    /**
+     * Returns the key of this category, used in commands and translations.
+     *
+     * @return the key.
+     */
+    public @NotNull String getKey() {
+        return key;
+    }
+
+    /**
+     * Checks if the score of this category depends on the given statistic.
+     *
+     * @param stat the statistic.
+     * @return true if a change of the statistic changes the score, false otherwise.
+     */
+    public boolean dependsOn(@NotNull PlayerStat stat) {
+        return stats.contains(stat);
+    }
+
+    /**
+     * Computes the score of a player in this category.
+     *
+     * @param stats the stats of the player.
+     * @return the score, higher is better.
+     */
+    public double score(@NotNull StatsTracker stats) {
+        return stats.getStat(this.stats.getFirst());
+    }
+
+    /**
+     * Formats a score of this category for display.
+     *
+     * @param score the score.
+     * @return the formatted score.
+     */
+    public @NotNull String format(double score) {
+        return String.valueOf((long) score);
+    }
+
+    /**
+     * Retrieves a category by its key.
+     *
+     * @param key the key of the category.
+     * @return the category, or null if not found.
+     */
+    public static @Nullable LeaderboardCategory fromKey(@NotNull String key) {
+        for (LeaderboardCategory category : values()) {
+            if (category.key.equalsIgnoreCase(key)) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+}
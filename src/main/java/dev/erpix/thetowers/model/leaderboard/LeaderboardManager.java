@@ -0,0 +1,98 @@
+package dev.erpix.thetowers.model.leaderboard;
+
+import dev.erpix.thetowers.TheTowers;
+import dev.erpix.thetowers.model.PlayerProfile;
+import dev.erpix.thetowers.model.PlayerStat;
+import dev.erpix.thetowers.model.ProfileManager;
+import dev.erpix.thetowers.util.Schedulers;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Manages the leaderboards of all {@link LeaderboardCategory categories}.
+ *
+ * <p>Leaderboards are kept up to date incrementally from stat changes of loaded profiles.
+ * Profiles that are not loaded are picked up by a background rebuild from disk at startup.</p>
+ */
+public class LeaderboardManager {
+
+    private static final ComponentLogger logger = TheTowers.getInstance().getLogger();
+
+    private final Map<LeaderboardCategory, Leaderboard> leaderboards = new EnumMap<>(LeaderboardCategory.class);
+    private final ProfileManager profileManager;
+
+    public LeaderboardManager(@NotNull ProfileManager profileManager) {
+        this.profileManager = profileManager;
+        for (LeaderboardCategory category : LeaderboardCategory.values()) {
+            leaderboards.put(category, new Leaderboard());
+        }
+    }
+
+    /**
+     * Starts listening for stat changes and rebuilds the leaderboards from stored profiles
+     * in the background.
+     */
+    public void init() {
+        // Before listening, so every live update is tracked
+        leaderboards.values().forEach(Leaderboard::beginRebuild);
+        profileManager.addListener(this::onStatChange);
+        Schedulers.async(this::rebuild);
+    }
+
+    /**
+     * Retrieves the leaderboard of a category.
+     *
+     * @param category the category.
+     * @return the leaderboard.
+     */
+    public @NotNull Leaderboard getLeaderboard(@NotNull LeaderboardCategory category) {
+        return leaderboards.get(category);
+    }
+
+    /**
+     * Updates the scores of a profile in every category.
+     *
+     * @param profile the profile.
+     */
+    public void update(@NotNull PlayerProfile profile) {
+        for (Map.Entry<LeaderboardCategory, Leaderboard> entry : leaderboards.entrySet()) {
+            entry.getValue().update(profile.getName(), entry.getKey().score(profile.getStats()));
+        }
+    }
+
+    private void onStatChange(@NotNull PlayerProfile profile, @NotNull PlayerStat stat) {
+        for (Map.Entry<LeaderboardCategory, Leaderboard> entry : leaderboards.entrySet()) {
+            LeaderboardCategory category = entry.getKey();
+            if (category.dependsOn(stat)) {
+                entry.getValue().update(profile.getName(), category.score(profile.getStats()));
+            }
+        }
+    }
+
+    /**
+     * Reads every stored profile and ranks the players with their stored scores.
+     *
+     * <p>Players updated live while the rebuild is running keep their live score.</p>
+     */
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        Set<String> names = profileManager.getStoredProfileNames();
+        try {
+            for (String name : names) {
+                profileManager.readStored(name).ifPresent(profile -> {
+                    for (Map.Entry<LeaderboardCategory, Leaderboard> entry : leaderboards.entrySet()) {
+                        entry.getValue().updateStored(profile.getName(), entry.getKey().score(profile.getStats()));
+                    }
+                });
+            }
+        } finally {
+            leaderboards.values().forEach(Leaderboard::endRebuild);
+        }
+        logger.info("Rebuilt leaderboards from {} profile(s) in {} ms", names.size(), System.currentTimeMillis() - start);
+    }
+
+}
@@ -0,0 +1,221 @@
+package dev.erpix.thetowers.model.tablist;
+
+import dev.erpix.thetowers.model.game.GameInstance;
+import dev.erpix.thetowers.model.game.GamePlayer;
+import dev.erpix.thetowers.model.game.GameTeam;
+import dev.erpix.thetowers.util.Schedulers;
+import me.neznamy.tab.api.TabAPI;
+import me.neznamy.tab.api.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Pushes placeholder values to TAB when, and only when, their inputs change.
+ *
+ * <p>All placeholders are registered without a refresh interval, so TAB never polls them.
+ * Instead, game code invalidates the placeholders that depend on the changed state, e.g. team
+ * membership, heart health, profile stats or the map. Invalidated placeholders are collected and
+ * evaluated once at the start of the next tick. A value is only pushed through the TAB API
+ * if it differs from the last pushed one.</p>
+ *
+ * <p>Game placeholders show the arena of each player, so changes of an arena only invalidate them
+ * for the players of that arena.</p>
+ *
+ * <p>Invalidation may happen from any thread, evaluation always happens on the main thread.</p>
+ */
+public class PlaceholderRefresher {
+
+    private static final TabAPI TAB = TabAPI.getInstance();
+    private static final TPlayerPlaceholder[] TEAM_PLACEHOLDERS = {
+            TPlayerPlaceholder.PLAYER_TEAM, TPlayerPlaceholder.PLAYER_TEAM_LEADER,
+            TPlayerPlaceholder.PLAYER_TEAM_MEMBER_1, TPlayerPlaceholder.PLAYER_TEAM_MEMBER_2,
+            TPlayerPlaceholder.PLAYER_TEAM_MEMBER_3, TPlayerPlaceholder.PLAYER_TEAM_MEMBER_4,
+            TPlayerPlaceholder.PLAYER_TEAM_MEMBER_5, TPlayerPlaceholder.PLAYER_TEAM_MEMBER_6,
+            TPlayerPlaceholder.PLAYER_TEAM_MEMBER_7, TPlayerPlaceholder.PLAYER_TEAM_MEMBER_8
+    };
+    private static final TPlayerPlaceholder[] PROFILE_PLACEHOLDERS = {
+            TPlayerPlaceholder.PLAYER_TOTAL_ASSISTS, TPlayerPlaceholder.PLAYER_TOTAL_DEATHS,
+            TPlayerPlaceholder.PLAYER_TOTAL_GAMES_PLAYED, TPlayerPlaceholder.PLAYER_TOTAL_HEART_DAMAGE,
+            TPlayerPlaceholder.PLAYER_TOTAL_KD, TPlayerPlaceholder.PLAYER_TOTAL_KILLS,
+            TPlayerPlaceholder.PLAYER_TOTAL_TOWERS_DESTROYED
+    };
+
+    private static final TGamePlaceholder[] ARENA_PLACEHOLDERS = {
+            TGamePlaceholder.GAME_MAP, TGamePlaceholder.GAME_TEAM_SETUP,
+            TGamePlaceholder.GAME_TEAMS_READY, TGamePlaceholder.GAME_TEAMS_COUNT
+    };
+    private static final TGamePlaceholder[] TEAM_COUNT_PLACEHOLDERS = {
+            TGamePlaceholder.GAME_TEAMS_READY, TGamePlaceholder.GAME_TEAMS_COUNT
+    };
+
+    private final Map<String, String[]> playerValues = new HashMap<>();
+    private final Map<String, String[]> gameValues = new HashMap<>();
+    private final Map<String, Set<TPlayerPlaceholder>> dirtyPlayers = new HashMap<>();
+    private final Map<String, Set<TGamePlaceholder>> dirtyGame = new HashMap<>();
+    private boolean flushScheduled;
+
+    /**
+     * Invalidates the arena wide placeholders of an instance, e.g. after its map or its teams have changed.
+     *
+     * @param game the instance that has changed.
+     */
+    public synchronized void invalidateGame(@NotNull GameInstance game) {
+        markDirty(game, ARENA_PLACEHOLDERS);
+    }
+
+    /**
+     * Invalidates all placeholders that depend on a team, including the team placeholders of its members.
+     *
+     * @param team the team that has changed.
+     */
+    public synchronized void invalidateTeam(@NotNull GameTeam team) {
+        invalidateColor(team.getInstance(), team.getColor());
+        for (GamePlayer member : team.getMembers()) {
+            invalidatePlayer(member.getName());
+        }
+    }
+
+    /**
+     * Invalidates the placeholders of a team color in an instance, e.g. after a team has left the color.
+     *
+     * @param game the instance of the team.
+     * @param color the team color.
+     */
+    public synchronized void invalidateColor(@NotNull GameInstance game, @NotNull GameTeam.Color color) {
+        markDirty(game, TGamePlaceholder.getTeamPlaceholders(color).getAllPlaceholders());
+        markDirty(game, TEAM_COUNT_PLACEHOLDERS);
+    }
+
+    /**
+     * Invalidates the heart health placeholder of a team.
+     *
+     * @param team the team whose heart health has changed.
+     */
+    public synchronized void invalidateHeart(@NotNull GameTeam team) {
+        markDirty(team.getInstance(), TGamePlaceholder.getTeamPlaceholders(team.getColor()).getHeartHealthPlaceholder());
+    }
+
+    /**
+     * Invalidates all game placeholders of a player, e.g. after they joined the server or switched arenas.
+     *
+     * @param name the name of the player.
+     */
+    public synchronized void invalidateArena(@NotNull String name) {
+        Set<TGamePlaceholder> dirty = dirtyGame.computeIfAbsent(name, k -> EnumSet.noneOf(TGamePlaceholder.class));
+        Collections.addAll(dirty, TGamePlaceholder.values());
+        scheduleFlush();
+    }
+
+    /**
+     * Invalidates the team placeholders of a player, e.g. after they joined or left a team.
+     *
+     * @param name the name of the player.
+     */
+    public synchronized void invalidatePlayer(@NotNull String name) {
+        markDirty(name, TEAM_PLACEHOLDERS);
+    }
+
+    /**
+     * Invalidates the profile placeholders of a player, e.g. after their total stats have changed.
+     *
+     * @param name the name of the player.
+     */
+    public synchronized void invalidateProfile(@NotNull String name) {
+        markDirty(name, PROFILE_PLACEHOLDERS);
+    }
+
+    /**
+     * Forgets the pushed values of a player who left the server.
+     *
+     * @param name the name of the player.
+     */
+    public synchronized void forget(@NotNull String name) {
+        playerValues.remove(name);
+        gameValues.remove(name);
+        dirtyPlayers.remove(name);
+        dirtyGame.remove(name);
+    }
+
+    private void markDirty(@NotNull String name, @NotNull TPlayerPlaceholder[] placeholders) {
+        Set<TPlayerPlaceholder> dirty = dirtyPlayers.computeIfAbsent(name,
+                k -> EnumSet.noneOf(TPlayerPlaceholder.class));
+        Collections.addAll(dirty, placeholders);
+        scheduleFlush();
+    }
+
+    private void markDirty(@NotNull GameInstance game, @NotNull TGamePlaceholder... placeholders) {
+        for (GamePlayer viewer : game.getPlayers()) {
+            Set<TGamePlaceholder> dirty = dirtyGame.computeIfAbsent(viewer.getName(),
+                    k -> EnumSet.noneOf(TGamePlaceholder.class));
+            Collections.addAll(dirty, placeholders);
+        }
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled) {
+            return;
+        }
+        flushScheduled = true;
+        Schedulers.global(this::flush);
+    }
+
+    /**
+     * Evaluates all invalidated placeholders and pushes the values that have changed.
+     */
+    private void flush() {
+        Map<String, Set<TPlayerPlaceholder>> players;
+        Map<String, Set<TGamePlaceholder>> games;
+        synchronized (this) {
+            flushScheduled = false;
+            players = new HashMap<>(dirtyPlayers);
+            dirtyPlayers.clear();
+            games = new HashMap<>(dirtyGame);
+            dirtyGame.clear();
+        }
+
+        for (Map.Entry<String, Set<TGamePlaceholder>> entry : games.entrySet()) {
+            TabPlayer tabPlayer = TAB.getPlayer(entry.getKey());
+            if (tabPlayer == null) {
+                continue;
+            }
+            String[] values;
+            synchronized (this) {
+                values = gameValues.computeIfAbsent(entry.getKey(),
+                        k -> new String[TGamePlaceholder.values().length]);
+            }
+            for (TGamePlaceholder placeholder : entry.getValue()) {
+                String value = placeholder.getFunction().apply(tabPlayer);
+                int index = placeholder.ordinal();
+                if (value.equals(values[index])) {
+                    continue;
+                }
+                values[index] = value;
+                placeholder.resolve().updateValue(tabPlayer, value);
+            }
+        }
+
+        for (Map.Entry<String, Set<TPlayerPlaceholder>> entry : players.entrySet()) {
+            TabPlayer tabPlayer = TAB.getPlayer(entry.getKey());
+            if (tabPlayer == null) {
+                continue;
+            }
+            String[] values;
+            synchronized (this) {
+                values = playerValues.computeIfAbsent(entry.getKey(),
+                        k -> new String[TPlayerPlaceholder.values().length]);
+            }
+            for (TPlayerPlaceholder placeholder : entry.getValue()) {
+                String value = placeholder.getFunction().apply(tabPlayer);
+                int index = placeholder.ordinal();
+                if (value.equals(values[index])) {
+                    continue;
+                }
+                values[index] = value;
+                placeholder.resolve().updateValue(tabPlayer, value);
+            }
+        }
+    }
+
+}
@@ -1,35 +1,36 @@
 package dev.erpix.thetowers.model.tablist;
 
 import dev.erpix.thetowers.TheTowers;
-import dev.erpix.thetowers.model.game.GameManager;
+import dev.erpix.thetowers.model.game.ArenaManager;
+import dev.erpix.thetowers.model.game.GameInstance;
 import dev.erpix.thetowers.model.game.GameTeam;
 import dev.erpix.thetowers.model.game.GameMap;
 import dev.erpix.thetowers.model.game.GamePlayer;
 import lombok.Getter;
 import me.neznamy.tab.api.TabAPI;
+import me.neznamy.tab.api.TabPlayer;
 import me.neznamy.tab.api.placeholder.Placeholder;
 import me.neznamy.tab.api.placeholder.PlaceholderManager;
-import me.neznamy.tab.api.placeholder.ServerPlaceholder;
+import me.neznamy.tab.api.placeholder.PlayerPlaceholder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.function.Function;
-import java.util.function.Supplier;
 
 /**
- * Enum representing all server placeholders used in the tab list.
+ * Enum representing all game placeholders used in the tab list.
  * <p>
  * Each enum constant defines a placeholder identifier, a refresh interval,
- * and a supplier function that provides the placeholder's dynamic value.
- * These placeholders are designed to integrate with the TAB API and
- * represent various game-related information such as map name, teams,
- * and team members.
+ * and a function that generates the placeholder's dynamic value based on
+ * the {@link TabPlayer} instance. These placeholders represent various
+ * game-related information such as map name, teams, and team members,
+ * of the arena the player is in, so players of parallel arenas each see their own game.
  * </p>
  */
 @Getter
-public enum TServerPlaceholder {
+public enum TGamePlaceholder {
 
     // Game placeholders
     GAME_MAP("%tt_game_map%", -1,
@@ -180,38 +181,38 @@ public enum TServerPlaceholder {
     private final String placeholder;
     private final int refresh;
     @NotNull
-    private final Supplier<String> supplier;
+    private final Function<TabPlayer, String> function;
 
-    TServerPlaceholder(@NotNull String placeholder, int refresh, @NotNull Supplier<String> supplier) {
+    TGamePlaceholder(@NotNull String placeholder, int refresh, @NotNull Function<TabPlayer, String> function) {
         this.placeholder = placeholder;
         this.refresh = refresh;
-        this.supplier = supplier;
+        this.function = function;
     }
 
     /**
-     * Attempts to resolve this placeholder into a {@link ServerPlaceholder}
+     * Attempts to resolve this placeholder into a {@link PlayerPlaceholder}
      * from the TAB API.
      *
-     * @return the resolved {@link ServerPlaceholder}.
-     * @throws IllegalArgumentException if the placeholder is not a {@link ServerPlaceholder}.
+     * @return the resolved {@link PlayerPlaceholder}.
+     * @throws IllegalArgumentException if the placeholder is not a {@link PlayerPlaceholder}.
      */
-    public @NotNull ServerPlaceholder resolve() {
+    public @NotNull PlayerPlaceholder resolve() {
         PlaceholderManager pm = TAB.getPlaceholderManager();
         Placeholder tabPlaceholder = pm.getPlaceholder(placeholder);
-        if (tabPlaceholder instanceof ServerPlaceholder serverPlaceholder) {
-            return serverPlaceholder;
+        if (tabPlaceholder instanceof PlayerPlaceholder playerPlaceholder) {
+            return playerPlaceholder;
         }
-        throw new IllegalArgumentException("Placeholder is not a ServerPlaceholder: " + placeholder);
+        throw new IllegalArgumentException("Placeholder is not a PlayerPlaceholder: " + placeholder);
     }
 
     /**
-     * Finds a {@link TServerPlaceholder} matching the given placeholder string.
+     * Finds a {@link TGamePlaceholder} matching the given placeholder string.
      *
      * @param placeholder the placeholder string to match.
-     * @return the matching {@link TServerPlaceholder}, or null if none matches.
+     * @return the matching {@link TGamePlaceholder}, or null if none matches.
      */
-    public static @Nullable TServerPlaceholder from(@NotNull String placeholder) {
-        for (TServerPlaceholder placeholders : values()) {
+    public static @Nullable TGamePlaceholder from(@NotNull String placeholder) {
+        for (TGamePlaceholder placeholders : values()) {
             if (placeholders.getPlaceholder().equals(placeholder)) {
                 return placeholders;
             }
@@ -228,9 +229,9 @@ public enum TServerPlaceholder {
         private static final Map<GameTeam.Color, TeamPlaceholders> COLORS = new EnumMap<>(GameTeam.Color.class);
 
         @Getter private final GameTeam.Color color;
-        @Getter private final TServerPlaceholder namePlaceholder;
-        @Getter private final TServerPlaceholder heartHealthPlaceholder;
-        private final TServerPlaceholder[] memberPlaceholders;
+        @Getter private final TGamePlaceholder namePlaceholder;
+        @Getter private final TGamePlaceholder heartHealthPlaceholder;
+        private final TGamePlaceholder[] memberPlaceholders;
 
         private TeamPlaceholders(GameTeam.Color color) {
             this.color = color;
@@ -238,7 +239,7 @@ public enum TServerPlaceholder {
                 case RED -> {
                     this.namePlaceholder = GAME_RED_TEAM_NAME;
                     this.heartHealthPlaceholder = GAME_RED_TEAM_HEART_HEALTH;
-                    this.memberPlaceholders = new TServerPlaceholder[] {
+                    this.memberPlaceholders = new TGamePlaceholder[] {
                             GAME_RED_TEAM_MEMBER_1, GAME_RED_TEAM_MEMBER_2,
                             GAME_RED_TEAM_MEMBER_3, GAME_RED_TEAM_MEMBER_4,
                             GAME_RED_TEAM_MEMBER_5, GAME_RED_TEAM_MEMBER_6,
@@ -248,7 +249,7 @@ public enum TServerPlaceholder {
                 case BLUE -> {
                     this.namePlaceholder = GAME_BLUE_TEAM_NAME;
                     this.heartHealthPlaceholder = GAME_BLUE_TEAM_HEART_HEALTH;
-                    this.memberPlaceholders = new TServerPlaceholder[] {
+                    this.memberPlaceholders = new TGamePlaceholder[] {
                             GAME_BLUE_TEAM_MEMBER_1, GAME_BLUE_TEAM_MEMBER_2,
                             GAME_BLUE_TEAM_MEMBER_3, GAME_BLUE_TEAM_MEMBER_4,
                             GAME_BLUE_TEAM_MEMBER_5, GAME_BLUE_TEAM_MEMBER_6,
@@ -258,7 +259,7 @@ public enum TServerPlaceholder {
                 case GREEN -> {
                     this.namePlaceholder = GAME_GREEN_TEAM_NAME;
                     this.heartHealthPlaceholder = GAME_GREEN_TEAM_HEART_HEALTH;
-                    this.memberPlaceholders = new TServerPlaceholder[] {
+                    this.memberPlaceholders = new TGamePlaceholder[] {
                             GAME_GREEN_TEAM_MEMBER_1, GAME_GREEN_TEAM_MEMBER_2,
                             GAME_GREEN_TEAM_MEMBER_3, GAME_GREEN_TEAM_MEMBER_4,
                             GAME_GREEN_TEAM_MEMBER_5, GAME_GREEN_TEAM_MEMBER_6,
@@ -268,7 +269,7 @@ public enum TServerPlaceholder {
                 case YELLOW -> {
                     this.namePlaceholder = GAME_YELLOW_TEAM_NAME;
                     this.heartHealthPlaceholder = GAME_YELLOW_TEAM_HEART_HEALTH;
-                    this.memberPlaceholders = new TServerPlaceholder[] {
+                    this.memberPlaceholders = new TGamePlaceholder[] {
                             GAME_YELLOW_TEAM_MEMBER_1, GAME_YELLOW_TEAM_MEMBER_2,
                             GAME_YELLOW_TEAM_MEMBER_3, GAME_YELLOW_TEAM_MEMBER_4,
                             GAME_YELLOW_TEAM_MEMBER_5, GAME_YELLOW_TEAM_MEMBER_6,
@@ -278,7 +279,7 @@ public enum TServerPlaceholder {
                 case ORANGE -> {
                     this.namePlaceholder = GAME_ORANGE_TEAM_NAME;
                     this.heartHealthPlaceholder = GAME_ORANGE_TEAM_HEART_HEALTH;
-                    this.memberPlaceholders = new TServerPlaceholder[] {
+                    this.memberPlaceholders = new TGamePlaceholder[] {
                             GAME_ORANGE_TEAM_MEMBER_1, GAME_ORANGE_TEAM_MEMBER_2,
                             GAME_ORANGE_TEAM_MEMBER_3, GAME_ORANGE_TEAM_MEMBER_4,
                             GAME_ORANGE_TEAM_MEMBER_5, GAME_ORANGE_TEAM_MEMBER_6,
@@ -288,7 +289,7 @@ public enum TServerPlaceholder {
                 case PURPLE -> {
                     this.namePlaceholder = GAME_PURPLE_TEAM_NAME;
                     this.heartHealthPlaceholder = GAME_PURPLE_TEAM_HEART_HEALTH;
-                    this.memberPlaceholders = new TServerPlaceholder[] {
+                    this.memberPlaceholders = new TGamePlaceholder[] {
                             GAME_PURPLE_TEAM_MEMBER_1, GAME_PURPLE_TEAM_MEMBER_2,
                             GAME_PURPLE_TEAM_MEMBER_3, GAME_PURPLE_TEAM_MEMBER_4,
                             GAME_PURPLE_TEAM_MEMBER_5, GAME_PURPLE_TEAM_MEMBER_6,
@@ -299,19 +300,19 @@ public enum TServerPlaceholder {
             }
         }
 
-        public @NotNull TServerPlaceholder[] getMemberPlaceholders() {
+        public @NotNull TGamePlaceholder[] getMemberPlaceholders() {
             return memberPlaceholders.clone();
         }
 
-        public @NotNull TServerPlaceholder getMemberPlaceholder(int index) {
+        public @NotNull TGamePlaceholder getMemberPlaceholder(int index) {
             if (index < 0 || index >= memberPlaceholders.length) {
                 throw new IndexOutOfBoundsException("Member placeholder index out of bounds: " + index);
             }
             return memberPlaceholders[index];
         }
 
-        public @NotNull TServerPlaceholder[] getAllPlaceholders() {
-            TServerPlaceholder[] all = new TServerPlaceholder[memberPlaceholders.length + 2];
+        public @NotNull TGamePlaceholder[] getAllPlaceholders() {
+            TGamePlaceholder[] all = new TGamePlaceholder[memberPlaceholders.length + 2];
             all[0] = namePlaceholder;
             all[1] = heartHealthPlaceholder;
             System.arraycopy(memberPlaceholders, 0, all, 2, memberPlaceholders.length);
@@ -324,37 +325,37 @@ public enum TServerPlaceholder {
     }
 
     //
-    // Helper methods for creating suppliers
+    // Helper methods to create functions
     //
 
-    private static @NotNull Supplier<String> fromGame(@NotNull Function<GameManager, String> fn) {
-        return () -> fn.apply(TheTowers.getInstance().getGameManager());
+    private static @NotNull Function<TabPlayer, String> fromGame(@NotNull Function<GameInstance, String> fn) {
+        return tabPlayer -> {
+            GameInstance game = gameOf(tabPlayer);
+            return game != null ? fn.apply(game) : "";
+        };
     }
 
-    private static @NotNull Supplier<String> fromMap(@NotNull Function<GameMap, String> fn) {
-        return () -> fn.apply(TheTowers.getInstance().getGameManager().getMap());
+    private static @NotNull Function<TabPlayer, String> fromMap(@NotNull Function<GameMap, String> fn) {
+        return fromGame(game -> game.getMap() != null ? fn.apply(game.getMap()) : "");
     }
 
-    private static @NotNull Supplier<String> fromTeam(@NotNull GameTeam.Color color, @NotNull Function<GameTeam, String> fn) {
-        return () -> {
-            GameTeam team = TheTowers.getInstance().getGameManager().getTeam(color);
+    private static @NotNull Function<TabPlayer, String> fromTeam(@NotNull GameTeam.Color color, @NotNull Function<GameTeam, String> fn) {
+        return fromGame(game -> {
+            GameTeam team = game.getTeamByColor(color);
             return team != null ? fn.apply(team) : "";
-        };
+        });
     }
 
-    private static @NotNull Supplier<String> getNTeamMember(@NotNull GameTeam.Color color, int n) {
-        return () -> {
-            GameManager game = TheTowers.getInstance().getGameManager();
-            GameTeam team = game.getTeam(color);
-            if (team == null || team.getMembers().size() < n) {
-                return "";
-            }
-            return team.getMembers().stream()
-                    .skip(n)
-                    .findFirst()
-                    .map(GamePlayer::getDisplayName)
-                    .orElse("");
-        };
+    private static @NotNull Function<TabPlayer, String> getNTeamMember(@NotNull GameTeam.Color color, int n) {
+        return fromTeam(color, team -> {
+            GamePlayer member = team.getMember(n);
+            return member != null ? member.getDisplayName() : "";
+        });
+    }
+
+    private static @Nullable GameInstance gameOf(@NotNull TabPlayer tabPlayer) {
+        ArenaManager arenaManager = TheTowers.getInstance().getArenaManager();
+        return arenaManager.getDefaultInstance() != null ? arenaManager.getInstanceOf(tabPlayer.getName()) : null;
     }
 
 }
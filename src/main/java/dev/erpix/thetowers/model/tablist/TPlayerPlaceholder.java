@@ -123,19 +123,17 @@ public enum TPlayerPlaceholder {
     }
 
     private static @NotNull Function<TabPlayer, String> fromPlayerTeam(@NotNull Function<GameTeam, String> fn) {
-        return tabPlayer -> fromPlayer(player -> {
+        return fromPlayer(player -> {
             GameTeam team = player.getTeam();
             return team != null ? fn.apply(team) : "";
-        }).apply(tabPlayer);
+        });
     }
 
     private static @NotNull Function<TabPlayer, String> getNTeamMember(int n) {
-        return tabPlayer -> fromPlayerTeam(team -> team.getMembers().stream()
-                .skip(n)
-                .findFirst()
-                .map(GamePlayer::getDisplayName)
-                .orElse("")
-        ).apply(tabPlayer);
+        return fromPlayerTeam(team -> {
+            GamePlayer member = team.getMember(n);
+            return member != null ? member.getDisplayName() : "";
+        });
     }
 
     private static @NotNull Function<TabPlayer, String> fromPlayerProfile(@NotNull Function<PlayerProfile, String> fn) {
@@ -145,9 +143,7 @@ public enum TPlayerPlaceholder {
     }
 
     private static @NotNull Function<TabPlayer, String> getStat(@NotNull PlayerStat stat) {
-        return tabPlayer -> fromPlayerProfile(profile ->
-                String.valueOf(profile.getStats().getStat(stat))
-        ).apply(tabPlayer);
+        return fromPlayerProfile(profile -> String.valueOf(profile.getStats().getStat(stat)));
     }
 
 }
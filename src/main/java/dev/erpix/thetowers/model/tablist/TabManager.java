@@ -1,11 +1,12 @@
 package dev.erpix.thetowers.model.tablist;
 
 import dev.erpix.thetowers.TheTowers;
-import dev.erpix.thetowers.model.game.GameManager;
+import dev.erpix.thetowers.model.game.GameInstance;
 import dev.erpix.thetowers.model.game.GameMap;
 import dev.erpix.thetowers.model.game.GamePlayer;
 import dev.erpix.thetowers.model.game.GameTeam;
 import dev.erpix.thetowers.model.PlayerManager;
+import lombok.Getter;
 import me.neznamy.tab.api.TabAPI;
 import me.neznamy.tab.api.TabPlayer;
 import me.neznamy.tab.api.placeholder.PlaceholderManager;
@@ -13,26 +14,41 @@ import me.neznamy.tab.api.placeholder.PlayerPlaceholder;
 import me.neznamy.tab.api.tablist.layout.Layout;
 import me.neznamy.tab.api.tablist.layout.LayoutManager;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.stream.IntStream;
 
-// TODO
+/**
+ * Manages the tab list layouts and placeholders.
+ *
+ * <p>All layouts are created once at startup. The in-game layouts are precomputed for every
+ * {@link GameMap.TeamSetup} and every combination of team colors it can be played with, so
+ * choosing the layout of a player is a lookup. The last layout sent to each player is remembered
+ * and a layout is only sent again when it differs.</p>
+ */
 public class TabManager {
 
     private static final TabAPI TAB = TabAPI.getInstance();
+    private static final GameTeam.Color[] COLORS = GameTeam.Color.values();
     private final TheTowers theTowers = TheTowers.getInstance();
 
     private final Layout lobbyLayout;
     private final Layout teamLobbyLayout;
-    private /*final*/ Layout inGameLayout;
+    private final Layout[][] inGameLayouts = new Layout[GameMap.TeamSetup.values().length][1 << COLORS.length];
+    private final Map<String, Layout> sentLayouts = new HashMap<>();
     private final Set<PlayerPlaceholder> lobbyPlaceholders = new HashSet<>();
     private final Set<PlayerPlaceholder> teamLobbyPlaceholders = new HashSet<>();
     private final Set<PlayerPlaceholder> inGamePlaceholders = new HashSet<>();
+    @NotNull @Getter
+    private final PlaceholderRefresher placeholderRefresher = new PlaceholderRefresher();
 
     public TabManager() {
         lobbyLayout = createLobbyLayout();
         teamLobbyLayout = createTeamLobbyLayout();
+        createGameLayouts();
+        theTowers.getProfileManager().addListener((profile, stat) ->
+                placeholderRefresher.invalidateProfile(profile.getName()));
     }
 
     private @NotNull Layout createLobbyLayout() {
@@ -65,9 +81,9 @@ public class TabManager {
         lobby.addGroup(null, IntStream.range(21, 61).toArray());
 
         addFixedSlots(lobby, new String[][]{
-                {"1", "<gray>Tryb gry: <white>" + TServerPlaceholder.GAME_TEAM_SETUP.getPlaceholder()},
-                {"3", "<gray>Mapa: <white>" + TServerPlaceholder.GAME_MAP.getPlaceholder()},
-                {"5", "<gray>Gotowe drużyny: <white>" + TServerPlaceholder.GAME_TEAMS_READY.getPlaceholder() + "</white>/<white>" + TServerPlaceholder.GAME_TEAMS_COUNT.getPlaceholder()},
+                {"1", "<gray>Tryb gry: <white>" + TGamePlaceholder.GAME_TEAM_SETUP.getPlaceholder()},
+                {"3", "<gray>Mapa: <white>" + TGamePlaceholder.GAME_MAP.getPlaceholder()},
+                {"5", "<gray>Gotowe drużyny: <white>" + TGamePlaceholder.GAME_TEAMS_READY.getPlaceholder() + "</white>/<white>" + TGamePlaceholder.GAME_TEAMS_COUNT.getPlaceholder()},
                 {"7", "<gray>Twoja drużyna: <white>" + TPlayerPlaceholder.PLAYER_TEAM.getPlaceholder()},
                 {"9", "<gray>Lider drużyny"}, {"10", "<gray>» <white>" + TPlayerPlaceholder.PLAYER_TEAM_LEADER.getPlaceholder()},
                 {"12", "<gray>Gracze w drużynie"},
@@ -92,21 +108,92 @@ public class TabManager {
         return lobby;
     }
 
-    private @NotNull Layout createGameLayout(@NotNull GameManager game) {
+    /**
+     * Creates the in-game layouts for every team setup and every combination of team colors.
+     */
+    private void createGameLayouts() {
+        for (GameMap.TeamSetup setup : GameMap.TeamSetup.values()) {
+            for (int mask = 0; mask < 1 << COLORS.length; mask++) {
+                if (Integer.bitCount(mask) == setup.getTeamCount()) {
+                    inGameLayouts[setup.ordinal()][mask] = createGameLayout(setup, mask);
+                }
+            }
+        }
+    }
+
+    private @NotNull Layout createGameLayout(@NotNull GameMap.TeamSetup setup, int colorMask) {
         LayoutManager lm = getLayoutManagerOrThrow();
-        Layout layout = lm.createNewLayout("in-game");
+        Layout layout = lm.createNewLayout("in-game-" + setup.name().toLowerCase() + "-" + colorMask);
 
-        Collection<GameTeam> teams = game.getTeams();
+        addFixedSlots(layout, new String[][] {
+                {"1", "<gray>Mapa: <white>" + TGamePlaceholder.GAME_MAP.getPlaceholder()},
+                {"2", "<gray>Tryb gry: <white>" + TGamePlaceholder.GAME_TEAM_SETUP.getPlaceholder()},
+                {"4", "<gray>Twoja drużyna: <white>" + TPlayerPlaceholder.PLAYER_TEAM.getPlaceholder()},
+                {"7", "<gray>\uD83D\uDDE1 Zabójstwa"}, {"8", "<white>" + TPlayerPlaceholder.PLAYER_TOTAL_KILLS.getPlaceholder()},
+                {"10", "<gray>⚔ Asysty"}, {"11", "<white>" + TPlayerPlaceholder.PLAYER_TOTAL_ASSISTS.getPlaceholder()},
+                {"13", "<gray>☠ Śmierci"}, {"14", "<white>" + TPlayerPlaceholder.PLAYER_TOTAL_DEATHS.getPlaceholder()},
+                {"16", "<gray>☄ K/D"}, {"17", "<white>" + TPlayerPlaceholder.PLAYER_TOTAL_KD.getPlaceholder()},
+                {"19", "<gray>⛏ Uszkodzenia serca"}, {"20", "<white>" + TPlayerPlaceholder.PLAYER_TOTAL_HEART_DAMAGE.getPlaceholder()},
+                {"3", "<reset>                              "}
+        });
+        appendToLayoutBasedOnTeamSetup(layout, setup, colorMask);
 
-        return null;
+        return layout;
     }
 
-    private void appendToLayoutBasedOnTeamSetup(@NotNull Layout layout, @NotNull GameMap.TeamSetup setup) {
-        switch (setup) {
-            case TWO_TEAMS -> {
-                
+    private void appendToLayoutBasedOnTeamSetup(@NotNull Layout layout, @NotNull GameMap.TeamSetup setup, int colorMask) {
+        // First slot of each team block, every block spans 10 slots
+        int[] blocks = switch (setup) {
+            case TWO_TEAMS -> new int[] {21, 41};
+            case FOUR_TEAMS -> new int[] {21, 31, 41, 51};
+            case SIX_TEAMS -> new int[] {21, 31, 41, 51, 61, 71};
+        };
+        int block = 0;
+        for (GameTeam.Color color : COLORS) {
+            if ((colorMask & 1 << color.ordinal()) == 0) {
+                continue;
+            }
+            TGamePlaceholder.TeamPlaceholders placeholders = TGamePlaceholder.getTeamPlaceholders(color);
+            int slot = blocks[block++];
+            layout.addFixedSlot(slot, placeholders.getNamePlaceholder().getPlaceholder()
+                    + " <gray>❤ <white>" + placeholders.getHeartHealthPlaceholder().getPlaceholder());
+            for (TGamePlaceholder member : placeholders.getMemberPlaceholders()) {
+                layout.addFixedSlot(++slot, "<gray>» <white>" + member.getPlaceholder());
+            }
+        }
+    }
+
+    /**
+     * Selects the precomputed in-game layout for the map and teams of a game instance.
+     *
+     * <p>The colors of the registered teams are used first, missing ones are filled with
+     * the colors of the map and then in declaration order.</p>
+     *
+     * @param game the game instance.
+     * @return the in-game layout.
+     */
+    private @NotNull Layout getGameLayout(@NotNull GameInstance game) {
+        GameMap map = game.getMap();
+        GameMap.TeamSetup setup = map.getTeamSetup();
+        int teamCount = setup.getTeamCount();
+
+        int mask = 0;
+        for (GameTeam team : game.getTeams()) {
+            if (Integer.bitCount(mask) < teamCount) {
+                mask |= 1 << team.getColor().ordinal();
+            }
+        }
+        for (GameTeam.Color color : map.getTeamSpawnLocations().keySet()) {
+            if (Integer.bitCount(mask) < teamCount) {
+                mask |= 1 << color.ordinal();
+            }
+        }
+        for (GameTeam.Color color : COLORS) {
+            if (Integer.bitCount(mask) < teamCount) {
+                mask |= 1 << color.ordinal();
             }
         }
+        return inGameLayouts[setup.ordinal()][mask];
     }
 
     private @NotNull LayoutManager getLayoutManagerOrThrow() {
@@ -123,7 +210,46 @@ public class TabManager {
         }
     }
 
+    /**
+     * Sends the layout matching the game stage of the player's arena to a player, unless they already have it.
+     *
+     * @param playerName the name of the player.
+     */
     public void updateLayout(@NotNull String playerName) {
+        GameInstance game = theTowers.getArenaManager().getInstanceOf(playerName);
+        updateLayout(playerName, selectGameLayout(game));
+    }
+
+    /**
+     * Sends the layout matching the game stage of their arena to all online players in one pass,
+     * e.g. after a stage transition.
+     */
+    public void updateAll() {
+        // The layout is selected once per arena, not once per player
+        Map<GameInstance, Optional<Layout>> gameLayouts = new IdentityHashMap<>();
+        for (TabPlayer tabPlayer : TAB.getOnlinePlayers()) {
+            GameInstance game = theTowers.getArenaManager().getInstanceOf(tabPlayer.getName());
+            Layout gameLayout = gameLayouts.computeIfAbsent(game, g -> Optional.ofNullable(selectGameLayout(g))).orElse(null);
+            updateLayout(tabPlayer.getName(), gameLayout);
+        }
+    }
+
+    private @Nullable Layout selectGameLayout(@NotNull GameInstance game) {
+        return game.getStage() == GameInstance.Stage.LOBBY ? null : getGameLayout(game);
+    }
+
+    /**
+     * Forgets the layout sent to a player, so the next update sends it again.
+     *
+     * <p>Must be called when the player leaves or when TAB reloads the player.</p>
+     *
+     * @param playerName the name of the player.
+     */
+    public void forgetLayout(@NotNull String playerName) {
+        sentLayouts.remove(playerName);
+    }
+
+    private void updateLayout(@NotNull String playerName, @Nullable Layout gameLayout) {
         TabPlayer tabPlayer = TAB.getPlayer(playerName);
         if (tabPlayer == null) {
             return;
@@ -135,28 +261,23 @@ public class TabManager {
             return;
         }
 
-        LayoutManager lm = getLayoutManagerOrThrow();
-
-        GameManager game = theTowers.getGameManager();
-        switch (game.getStage()) {
-            case LOBBY:
-                Layout layout = tPlayer.get().isInAnyTeam() ? teamLobbyLayout : lobbyLayout;
-                System.out.println("Updating layout for player: " + playerName + " Layout: " + layout.getName());
-                lm.sendLayout(tabPlayer, layout);
-                break;
-            case WAITING, IN_PROGRESS:
-                lm.sendLayout(tabPlayer, inGameLayout);
-                break;
-            default:
-                throw new IllegalStateException("Cannot update layout for '" + playerName + "'. Unexpected game stage");
+        Layout layout;
+        if (gameLayout != null) {
+            layout = gameLayout;
+        } else {
+            layout = tPlayer.get().isInAnyTeam() ? teamLobbyLayout : lobbyLayout;
         }
+        if (sentLayouts.put(playerName, layout) == layout) {
+            return;
+        }
+        getLayoutManagerOrThrow().sendLayout(tabPlayer, layout);
     }
 
     public void registerDefaultPlaceholders() {
         PlaceholderManager pm = TAB.getPlaceholderManager();
 
-        for (TServerPlaceholder placeholder : TServerPlaceholder.values()) {
-            pm.registerServerPlaceholder(placeholder.getPlaceholder(), placeholder.getRefresh(), placeholder.getSupplier());
+        for (TGamePlaceholder placeholder : TGamePlaceholder.values()) {
+            pm.registerPlayerPlaceholder(placeholder.getPlaceholder(), placeholder.getRefresh(), placeholder.getFunction());
         }
         for (TPlayerPlaceholder placeholder : TPlayerPlaceholder.values()) {
             pm.registerPlayerPlaceholder(placeholder.getPlaceholder(), placeholder.getRefresh(), placeholder.getFunction());
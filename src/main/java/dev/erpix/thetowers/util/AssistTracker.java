@@ -0,0 +1,209 @@
+package dev.erpix.thetowers.util;
+
+import dev.erpix.thetowers.model.game.GamePlayer;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+/**
+ * Tracks the attackers who have dealt damage to a player, for kill credit and assists.
+ *
+ * <p>Attackers are kept in small fixed-capacity parallel arrays, so recording a hit does not allocate.
+ * Entries expire lazily once no hit has been recorded for the TTL, measured in server ticks.
+ * When the tracker is full, the attacker whose last hit is the oldest is replaced.</p>
+ *
+ * <p>Not thread-safe, meant to be used on the main thread only.</p>
+ */
+public class AssistTracker implements Iterable<AssistTracker.AttackerEntry> {
+
+    /**
+     * Default number of attackers tracked per player.
+     */
+    public static final int DEFAULT_CAPACITY = 8;
+    /**
+     * Default time after which an attacker without new hits is forgotten, in ticks.
+     */
+    public static final int DEFAULT_TTL_TICKS = 10 * 20;
+    /**
+     * Shared tracker for players without a session, which ignores all hits.
+     */
+    public static final AssistTracker DETACHED = new AssistTracker(0, DEFAULT_TTL_TICKS);
+
+    // Damage descending, then name descending, the order of the reversed keys of the former OrderedAttackerCache
+    private static final Comparator<AttackerEntry> ORDER = Comparator
+            .comparingDouble(AttackerEntry::damage)
+            .thenComparing(entry -> entry.attacker().getName())
+            .reversed();
+
+    private final GamePlayer[] attackers;
+    private final double[] damage;
+    private final int[] lastHitTick;
+    private final int ttlTicks;
+    private final IntSupplier clock;
+    private int size;
+
+    public AssistTracker() {
+        this(DEFAULT_CAPACITY, DEFAULT_TTL_TICKS);
+    }
+
+    public AssistTracker(int capacity, int ttlTicks) {
+        this(capacity, ttlTicks, Bukkit::getCurrentTick);
+    }
+
+    AssistTracker(int capacity, int ttlTicks, @NotNull IntSupplier clock) {
+        this.clock = clock;
+        this.attackers = new GamePlayer[capacity];
+        this.damage = new double[capacity];
+        this.lastHitTick = new int[capacity];
+        this.ttlTicks = ttlTicks;
+    }
+
+    /**
+     * Records damage dealt by an attacker, adding it to the attacker's previous damage.
+     *
+     * @param player The attacker who dealt the damage.
+     * @param amount The amount of damage dealt by the attacker.
+     */
+    public void put(@NotNull GamePlayer player, double amount) {
+        if (attackers.length == 0) {
+            return;
+        }
+        int now = clock.getAsInt();
+        expire(now);
+
+        int index = indexOf(player);
+        if (index >= 0) {
+            damage[index] += amount;
+            lastHitTick[index] = now;
+            return;
+        }
+
+        if (size < attackers.length) {
+            index = size++;
+        } else {
+            index = oldest();
+        }
+        attackers[index] = player;
+        damage[index] = amount;
+        lastHitTick[index] = now;
+    }
+
+    /**
+     * Retrieves the damage dealt by a specific attacker.
+     *
+     * @param player The attacker whose damage is to be retrieved.
+     * @return The amount of damage dealt by the attacker, or 0 if the attacker is not tracked.
+     */
+    public double getDamage(@NotNull GamePlayer player) {
+        expire(clock.getAsInt());
+        int index = indexOf(player);
+        return index >= 0 ? damage[index] : 0;
+    }
+
+    /**
+     * Retrieves all attackers who have recently dealt damage to the player,
+     * sorted by the amount of damage dealt in descending order, then by name in descending order.
+     *
+     * @return Ordered list of all attackers.
+     */
+    public @NotNull @Unmodifiable List<AttackerEntry> getAttackers() {
+        expire(clock.getAsInt());
+        if (size == 0) {
+            return List.of();
+        }
+        AttackerEntry[] entries = new AttackerEntry[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = new AttackerEntry(attackers[i], damage[i], lastHitTick[i]);
+        }
+        Arrays.sort(entries, ORDER);
+        return List.of(entries);
+    }
+
+    /**
+     * Returns the number of tracked attackers, including ones that have not been expired yet.
+     *
+     * @return the number of tracked attackers.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Forgets all attackers, e.g. after the player has died.
+     */
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(attackers, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public @NotNull Iterator<AttackerEntry> iterator() {
+        return getAttackers().iterator();
+    }
+
+    @Override
+    public void forEach(Consumer<? super AttackerEntry> action) {
+        getAttackers().forEach(action);
+    }
+
+    @Override
+    public Spliterator<AttackerEntry> spliterator() {
+        return getAttackers().spliterator();
+    }
+
+    private int indexOf(@NotNull GamePlayer player) {
+        for (int i = 0; i < size; i++) {
+            if (attackers[i].equals(player)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int oldest() {
+        int oldest = 0;
+        for (int i = 1; i < size; i++) {
+            if (lastHitTick[i] < lastHitTick[oldest]) {
+                oldest = i;
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Removes entries without a hit within the TTL, keeping the arrays compact.
+     */
+    private void expire(int now) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (now - lastHitTick[i] > ttlTicks) {
+                continue;
+            }
+            if (kept != i) {
+                attackers[kept] = attackers[i];
+                damage[kept] = damage[i];
+                lastHitTick[kept] = lastHitTick[i];
+            }
+            kept++;
+        }
+        Arrays.fill(attackers, kept, size, null);
+        size = kept;
+    }
+
+    /**
+     * Represents an attacker tracked by the {@link AssistTracker}.
+     *
+     * @param attacker The attacker who dealt the damage.
+     * @param damage The amount of damage dealt by the attacker.
+     * @param lastHitTick The server tick of the attacker's last hit.
+     */
+    public record AttackerEntry(@NotNull GamePlayer attacker, double damage, int lastHitTick) { }
+
+}
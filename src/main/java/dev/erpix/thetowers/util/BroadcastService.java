@@ -0,0 +1,78 @@
+package dev.erpix.thetowers.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Broadcasts messages to all online players and the console.
+ *
+ * <p>Messages are rendered once, no matter how many players receive them. Broadcasts issued within
+ * the same tick are collected and sent on the main thread at the start of the next tick, joined into
+ * a single message, so every recipient gets one chat packet per tick. Safe to call from any thread,
+ * e.g. from the async chat event, which can defer rendering that reads game state to the main thread
+ * with {@link #broadcast(Supplier)}.</p>
+ */
+public class BroadcastService {
+
+    private final Queue<Supplier<Component>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * Broadcasts a rich text message, parsed once for all recipients.
+     *
+     * @param message the message to broadcast, formatted as a rich text string.
+     */
+    public void broadcast(@NotNull String message) {
+        broadcast(Components.standard(message));
+    }
+
+    /**
+     * Broadcasts a message.
+     *
+     * @param message the message to broadcast.
+     */
+    public void broadcast(@NotNull Component message) {
+        broadcast(() -> message);
+    }
+
+    /**
+     * Broadcasts a message rendered on the main thread when the batch is sent.
+     *
+     * @param renderer the renderer of the message, may return null to broadcast nothing.
+     */
+    public void broadcast(@NotNull Supplier<Component> renderer) {
+        queue.add(renderer);
+        if (flushScheduled.compareAndSet(false, true)) {
+            Schedulers.global(this::flush);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        List<Component> messages = new ArrayList<>();
+        Supplier<Component> renderer;
+        while ((renderer = queue.poll()) != null) {
+            Component message = renderer.get();
+            if (message != null) {
+                messages.add(message);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+        Component batch = messages.size() == 1
+                ? messages.getFirst()
+                : Component.join(JoinConfiguration.newlines(), messages);
+        Bukkit.getServer().sendMessage(batch);
+    }
+
+}
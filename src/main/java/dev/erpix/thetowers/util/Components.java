@@ -1,18 +1,36 @@
 package dev.erpix.thetowers.util;
 
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.text.minimessage.tag.standard.StandardTags;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
 /**
  * Utility class for creating and manipulating text components.
+ *
+ * <p>Parsed components are kept in a bounded LRU cache per {@link MiniMessage} instance, since most
+ * inputs are constant. Messages with dynamic parts should use a {@link Template} instead, so the
+ * dynamic values do not pollute the cache.</p>
  */
 public final class Components {
 
     private Components() { }
 
+    /**
+     * Maximum number of parsed components cached per {@link MiniMessage} instance.
+     */
+    private static final int CACHE_SIZE = 256;
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
     /**
      * The standard {@link MiniMessage} instance with all tags support.
      */
@@ -42,6 +60,11 @@ public final class Components {
                     .build())
             .build();
 
+    private static final ParseCache STANDARD_CACHE = new ParseCache(STANDARD);
+    private static final ParseCache COLOR_CACHE = new ParseCache(COLOR);
+    private static final ParseCache COLOR_WITH_DECO_CACHE = new ParseCache(COLOR_WITH_DECO);
+    private static final ParseCache GRADIENT_CACHE = new ParseCache(GRADIENT);
+
     /**
      * <p>Deserializes a standard text input into a {@link Component} with all tags support.</p>
      *
@@ -49,7 +72,7 @@ public final class Components {
      * @return A {@link Component} of the input text.
      */
     public static @NotNull Component standard(@NotNull String input) {
-        return STANDARD.deserialize(input);
+        return STANDARD_CACHE.get(input);
     }
 
     /**
@@ -59,7 +82,7 @@ public final class Components {
      * @return A {@link Component} of the input text.
      */
     public static @NotNull Component color(@NotNull String input) {
-        return COLOR.deserialize(input);
+        return COLOR_CACHE.get(input);
     }
 
     /**
@@ -69,7 +92,7 @@ public final class Components {
      * @return A {@link Component} of the input text.
      */
     public static @NotNull Component colorWithDeco(@NotNull String input) {
-        return COLOR_WITH_DECO.deserialize(input);
+        return COLOR_WITH_DECO_CACHE.get(input);
     }
 
     /**
@@ -79,7 +102,7 @@ public final class Components {
      * @return A {@link Component} of the input text.
      */
     public static @NotNull Component gradient(@NotNull String input) {
-        return GRADIENT.deserialize(input);
+        return GRADIENT_CACHE.get(input);
     }
 
     /**
@@ -92,4 +115,199 @@ public final class Components {
         return STANDARD.serialize(input);
     }
 
+    /**
+     * Compiles a template with all tags support.
+     *
+     * @param input The template text, with each slot written as a self-closing tag, e.g. {@code <player>}.
+     * @param slots The slots of the template, in the order of the render arguments.
+     * @return The compiled {@link Template}.
+     */
+    public static @NotNull Template template(@NotNull String input, @NotNull Slot... slots) {
+        return new Template(input, slots);
+    }
+
+    /**
+     * Returns the number of parses served from the cache.
+     *
+     * @return the cache hit count.
+     */
+    public static long getCacheHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * Returns the number of parses that were not served from the cache.
+     *
+     * @return the cache miss count.
+     */
+    public static long getCacheMisses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Returns the number of parsed components currently cached.
+     *
+     * @return the cache size.
+     */
+    public static int getCacheSize() {
+        return STANDARD_CACHE.size() + COLOR_CACHE.size() + COLOR_WITH_DECO_CACHE.size() + GRADIENT_CACHE.size();
+    }
+
+    /**
+     * Bounded LRU cache of components parsed by a single {@link MiniMessage} instance.
+     */
+    private static final class ParseCache {
+
+        private final MiniMessage miniMessage;
+        private final Map<String, Component> entries = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Component> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+
+        private ParseCache(@NotNull MiniMessage miniMessage) {
+            this.miniMessage = miniMessage;
+        }
+
+        private @NotNull Component get(@NotNull String input) {
+            synchronized (entries) {
+                Component cached = entries.get(input);
+                if (cached != null) {
+                    HITS.increment();
+                    return cached;
+                }
+            }
+            MISSES.increment();
+            // Components are immutable, so they can be shared between callers
+            Component parsed = miniMessage.deserialize(input);
+            synchronized (entries) {
+                entries.put(input, parsed);
+            }
+            return parsed;
+        }
+
+        private int size() {
+            synchronized (entries) {
+                return entries.size();
+            }
+        }
+
+    }
+
+    /**
+     * A typed placeholder slot of a {@link Template}.
+     *
+     * @param name The name of the slot, used as a tag in the template.
+     * @param kind How values of the slot are turned into components.
+     */
+    public record Slot(@NotNull String name, @NotNull Kind kind) {
+
+        /**
+         * Creates a slot for plain text, which is inserted as is without parsing any tags.
+         *
+         * @param name The name of the slot.
+         * @return The slot.
+         */
+        public static @NotNull Slot text(@NotNull String name) {
+            return new Slot(name, Kind.TEXT);
+        }
+
+        /**
+         * Creates a slot for rich text, which is parsed with all tags support, e.g. display names.
+         *
+         * @param name The name of the slot.
+         * @return The slot.
+         */
+        public static @NotNull Slot rich(@NotNull String name) {
+            return new Slot(name, Kind.RICH);
+        }
+
+        /**
+         * The ways of turning a value into a component.
+         */
+        public enum Kind {
+            TEXT,
+            RICH
+        }
+
+    }
+
+    /**
+     * A message parsed once, with typed slots for the dynamic parts.
+     *
+     * <p>The template text is parsed when the template is compiled, with every slot replaced by a marker.
+     * Rendering only substitutes the markers in the parsed tree with the values, which is much cheaper than
+     * parsing. Values of {@link Slot.Kind#TEXT text} slots are never parsed, so user input cannot inject tags.
+     * {@link Component} values are inserted as is for any slot.</p>
+     */
+    public static final class Template {
+
+        /**
+         * First character of the private use area, used as the slot markers.
+         */
+        private static final char MARKER_BASE = '\uE000';
+        private static final Pattern MARKER = Pattern.compile("[\uE000-\uE0FF]");
+
+        private final Component tree;
+        private final Slot[] slots;
+
+        private Template(@NotNull String input, @NotNull Slot[] slots) {
+            if (slots.length > 0x100) {
+                throw new IllegalArgumentException("Too many template slots: " + slots.length);
+            }
+            TagResolver.Builder resolver = TagResolver.builder();
+            for (int i = 0; i < slots.length; i++) {
+                resolver.tag(slots[i].name(), Tag.selfClosingInserting(Component.text((char) (MARKER_BASE + i))));
+            }
+            this.tree = STANDARD.deserialize(input, resolver.build());
+            this.slots = slots.clone();
+        }
+
+        /**
+         * Returns the number of slots of the template.
+         *
+         * @return the slot count.
+         */
+        public int getSlotCount() {
+            return slots.length;
+        }
+
+        /**
+         * Renders the template with the given values.
+         *
+         * @param args The values of the slots, in the order of the slots.
+         * @return The rendered {@link Component}.
+         * @throws IllegalArgumentException if the number of values does not match the number of slots.
+         */
+        public @NotNull Component render(@NotNull Object... args) {
+            if (args.length != slots.length) {
+                throw new IllegalArgumentException("Expected " + slots.length + " values, got " + args.length);
+            }
+            if (slots.length == 0) {
+                return tree;
+            }
+            Component[] values = new Component[args.length];
+            for (int i = 0; i < args.length; i++) {
+                values[i] = toComponent(slots[i], args[i]);
+            }
+            return tree.replaceText(TextReplacementConfig.builder()
+                    .match(MARKER)
+                    .replacement((match, builder) -> values[match.group().charAt(0) - MARKER_BASE])
+                    .build());
+        }
+
+        private static @NotNull Component toComponent(@NotNull Slot slot, Object value) {
+            if (value instanceof Component component) {
+                return component;
+            }
+            String text = String.valueOf(value);
+            return switch (slot.kind()) {
+                case TEXT -> Component.text(text);
+                case RICH -> standard(text);
+            };
+        }
+
+    }
+
 }
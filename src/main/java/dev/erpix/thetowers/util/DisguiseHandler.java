@@ -3,103 +3,180 @@ package dev.erpix.thetowers.util;
 import dev.erpix.thetowers.TheTowers;
 import dev.erpix.thetowers.model.game.GamePlayer;
 import dev.erpix.thetowers.model.game.GameTeam;
-import me.libraryaddict.disguise.DisguiseAPI;
-import me.libraryaddict.disguise.disguisetypes.Disguise;
 import me.libraryaddict.disguise.disguisetypes.PlayerDisguise;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Optional;
+import java.util.*;
 
 /**
  * Utility class for managing player disguises.
+ *
+ * <p>The name tag itself is not part of the disguise, it is drawn by the {@link NametagRenderer}.
+ * Name tag refreshes are coalesced: a refresh only marks the player as dirty, and all dirty
+ * players are updated once at the start of the next tick. The renderer is only updated when the
+ * contents of the name tag differ from the last ones shown, so e.g. several hits within one tick
+ * cause at most one update. The lines are rendered from templates, so health values never reach
+ * the parse cache.</p>
  */
 public final class DisguiseHandler {
 
+    /**
+     * Marker for pending refreshes that should read the health of the player when flushed.
+     */
+    private static final double CURRENT_HEALTH = Double.NaN;
+    private static final Components.Template TEAM_LINES = Components.template(
+            "<team>\n<player>", Components.Slot.rich("team"), Components.Slot.rich("player"));
+    private static final Components.Template HEALTH_LINE = Components.template(
+            "<red><health> <dark_red>❤", Components.Slot.text("health"));
+
+    private static final Map<UUID, Double> pending = new LinkedHashMap<>();
+    private static final Map<UUID, NameTag> shownTags = new HashMap<>();
+    private static boolean flushScheduled;
+
     private DisguiseHandler() { }
 
     /**
-     * Creates a disguise for the player that shows their team and health.
+     * Creates a disguise for the player and schedules the name tag showing their team and health.
      *
      * @param player The player to create a disguise for.
      */
     public static void create(@NotNull Player player) {
         PlayerDisguise disguise = new PlayerDisguise(player, player);
-        disguise.setMultiName(getNameForPlayer(player));
+        disguise.setNameVisible(false);
         disguise.setEntity(player);
         disguise.setSkin(player.getName());
         disguise.setSelfDisguiseVisible(false);
         disguise.setNotifyBar(null);
         disguise.startDisguise();
+        refresh(player);
     }
 
     /**
-     * Refreshes the player's disguise with a specific health value.
+     * Schedules a refresh of the player's name tag with a specific health value.
      *
-     * @param player The player whose disguise should be refreshed.
+     * <p>Used when the health is about to change, e.g. before regeneration is applied.</p>
+     *
+     * @param player The player whose name tag should be refreshed.
      * @param hp The health value to display.
      */
     public static void refresh(@NotNull Player player, double hp) {
-        Disguise disguise = DisguiseAPI.getDisguise(player);
-        if (disguise == null) return;
-        disguise.setMultiName(getNameForPlayer(player, hp));
-        disguise.startDisguise();
+        markDirty(player, hp);
     }
 
     /**
-     * Refreshes the player's disguise with their current health.
+     * Schedules a refresh of the player's name tag with their health at the time of the update.
      *
-     * @param player The player whose disguise should be refreshed.
+     * @param player The player whose name tag should be refreshed.
      */
     public static void refresh(@NotNull Player player) {
-        refresh(player, player.getHealth());
+        markDirty(player, CURRENT_HEALTH);
     }
 
     /**
-     * Toggles the visibility of the player's name tag.
+     * Forgets the state of a player who left the server.
      *
-     * <p>Works only for {@link PlayerDisguise} instances.</p>
-     *
-     * @param player The player whose name tag should be toggled.
+     * @param player The player who left.
      */
-    public static void toggleName(@NotNull Player player) {
-        if (!(DisguiseAPI.getDisguise(player) instanceof PlayerDisguise disguise)) {
+    public static void forget(@NotNull Player player) {
+        pending.remove(player.getUniqueId());
+        shownTags.remove(player.getUniqueId());
+        TheTowers.getInstance().getNametagRenderer().remove(player);
+    }
+
+    private static void markDirty(@NotNull Player player, double hp) {
+        // The latest refresh within a tick wins
+        pending.put(player.getUniqueId(), hp);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Schedulers.global(DisguiseHandler::flush);
+        }
+    }
+
+    private static void flush() {
+        flushScheduled = false;
+        if (pending.isEmpty()) {
             return;
         }
-        if (disguise.getMultiNameLength() > 0) {
-            disguise.setMultiName("");
-        } else {
-            disguise.setMultiName(getNameForPlayer(player));
+        List<Map.Entry<UUID, Double>> entries = new ArrayList<>(pending.entrySet());
+        pending.clear();
+
+        NametagRenderer renderer = TheTowers.getInstance().getNametagRenderer();
+        for (Map.Entry<UUID, Double> entry : entries) {
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null) {
+                continue;
+            }
+            double hp = entry.getValue();
+            NameTag tag = getNameForPlayer(player, Double.isNaN(hp) ? player.getHealth() : hp);
+            if (tag.equals(shownTags.put(player.getUniqueId(), tag))) {
+                continue;
+            }
+            renderer.update(player, tag.renderName(), tag.renderHealth());
         }
-        disguise.startDisguise();
     }
 
-    private static @NotNull String[] getNameForPlayer(@NotNull Player player) {
-        return getNameForPlayer(player, player.getHealth());
+    /**
+     * Hides the player's name tag from players outside of their team, or shows it again.
+     *
+     * @param player The player whose name tag should be hidden or shown.
+     * @param hidden true to hide the name tag, e.g. while the player is sneaking.
+     */
+    public static void setNameHidden(@NotNull Player player, boolean hidden) {
+        TheTowers.getInstance().getNametagRenderer().setSneaking(player, hidden);
     }
 
-    private static @NotNull String[] getNameForPlayer(@NotNull Player player, double hp) {
+    /**
+     * Renders the name tag of a player.
+     *
+     * @param player The player.
+     * @param hp The health value to display.
+     * @return the contents of the name tag.
+     */
+    private static @NotNull NameTag getNameForPlayer(@NotNull Player player, double hp) {
         hp = MathUtil.round(hp, 1);
         if (hp < 0 || player.isDead()) {
-            return new String[] { };
+            return NameTag.EMPTY;
         }
 
         String name = player.getName();
         Optional<GamePlayer> optPlayer = TheTowers.getInstance().getPlayerManager().getPlayer(name);
         if (optPlayer.isEmpty()) {
-            return new String[] { };
+            return NameTag.EMPTY;
         }
         GamePlayer gamePlayer = optPlayer.get();
         GameTeam team = gamePlayer.getTeam();
         if (team == null) {
-            return new String[] { gamePlayer.getDisplayNameNoTag() };
+            return new NameTag(null, gamePlayer.getDisplayNameNoTag(), 0);
         }
+        return new NameTag(team.getDisplayComponent(), gamePlayer.getDisplayNameNoTag(), hp);
+    }
 
-        String line1 = String.format("<#%s>[%s]", team.getColor().getColorHex(), team.getName());
-        String line2 = String.format("%s", gamePlayer.getDisplayNameNoTag());
-        String line3 = String.format("<red>%s <dark_red>❤", hp);
+    /**
+     * Contents of a name tag, compared to skip updates that would not change it.
+     *
+     * @param team the display name of the player's team, or null if the name tag has no team and health lines.
+     * @param displayName the display name of the player, formatted as a rich text string.
+     * @param hp the health value to display.
+     */
+    private record NameTag(@Nullable Component team, @NotNull String displayName, double hp) {
+
+        private static final NameTag EMPTY = new NameTag(null, "", 0);
+
+        private @NotNull Component renderName() {
+            if (team == null) {
+                return displayName.isEmpty() ? Component.empty() : Components.standard(displayName);
+            }
+            return TEAM_LINES.render(team, displayName);
+        }
+
+        private @NotNull Component renderHealth() {
+            return team == null ? Component.empty() : HEALTH_LINE.render(hp);
+        }
 
-        return new String[] { line1, line2, line3 };
     }
 
 }
@@ -0,0 +1,236 @@
+package dev.erpix.thetowers.util;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.protocol.entity.data.EntityData;
+import com.github.retrooper.packetevents.protocol.entity.data.EntityDataTypes;
+import com.github.retrooper.packetevents.protocol.entity.type.EntityTypes;
+import com.github.retrooper.packetevents.util.Vector3d;
+import com.github.retrooper.packetevents.util.Vector3f;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerDestroyEntities;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityMetadata;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSetPassengers;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSpawnEntity;
+import dev.erpix.thetowers.TheTowers;
+import dev.erpix.thetowers.model.game.GamePlayer;
+import dev.erpix.thetowers.model.game.GameTeam;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Renders player name tags with client-side text displays riding the player.
+ *
+ * <p>Each player gets two text displays which exist only in packets: one with the team tag and
+ * name, and one with the health line. They are spawned for every viewer that starts tracking the
+ * player and destroyed when the viewer stops tracking. Changing a line only sends the metadata
+ * packet of that display, nothing else is re-sent.</p>
+ *
+ * <p>Visibility is decided per viewer: while a player is sneaking, the name tag is hidden from
+ * everyone except their teammates.</p>
+ *
+ * <p>Not thread-safe, meant to be used on the main thread only.</p>
+ */
+public class NametagRenderer {
+
+    // Text display metadata indices
+    private static final int TRANSLATION_INDEX = 11;
+    private static final int BILLBOARD_INDEX = 15;
+    private static final int TEXT_INDEX = 23;
+    private static final int BACKGROUND_INDEX = 25;
+
+    private static final byte BILLBOARD_CENTER = 3;
+    private static final Vector3f NAME_OFFSET = new Vector3f(0, 0.55f, 0);
+    private static final Vector3f HEALTH_OFFSET = new Vector3f(0, 0.3f, 0);
+
+    private final Map<UUID, Nametag> nametags = new HashMap<>();
+
+    /**
+     * Updates the lines of a player's name tag, sending only the lines that have changed.
+     *
+     * @param owner the player whose name tag is updated.
+     * @param name the team tag and name lines.
+     * @param health the health line.
+     */
+    public void update(@NotNull Player owner, @NotNull Component name, @NotNull Component health) {
+        Nametag nametag = nametags.computeIfAbsent(owner.getUniqueId(), k -> new Nametag(owner));
+        boolean nameChanged = !name.equals(nametag.name);
+        boolean healthChanged = !health.equals(nametag.health);
+        nametag.name = name;
+        nametag.health = health;
+
+        for (UUID viewerId : nametag.viewers) {
+            Player viewer = Bukkit.getPlayer(viewerId);
+            if (viewer == null || !isVisible(nametag, owner, viewer)) {
+                continue;
+            }
+            if (nameChanged) {
+                send(viewer, textMetadata(nametag.nameId, name));
+            }
+            if (healthChanged) {
+                send(viewer, textMetadata(nametag.healthId, health));
+            }
+        }
+    }
+
+    /**
+     * Hides or shows a player's name tag for the viewers outside of their team.
+     *
+     * @param owner the player who started or stopped sneaking.
+     * @param sneaking true if the player is sneaking.
+     */
+    public void setSneaking(@NotNull Player owner, boolean sneaking) {
+        Nametag nametag = nametags.get(owner.getUniqueId());
+        if (nametag == null || nametag.sneaking == sneaking) {
+            return;
+        }
+        nametag.sneaking = sneaking;
+        for (UUID viewerId : nametag.viewers) {
+            Player viewer = Bukkit.getPlayer(viewerId);
+            if (viewer == null || isTeammate(owner, viewer)) {
+                continue;
+            }
+            sendText(viewer, nametag, !sneaking);
+        }
+    }
+
+    /**
+     * Spawns the name tag of a player for a viewer that started tracking them.
+     *
+     * <p>The viewer receives the player's entity after the tracking event,
+     * so the name tag is spawned on the next tick.</p>
+     *
+     * @param viewer the viewer.
+     * @param entity the entity that is now tracked by the viewer.
+     */
+    public void track(@NotNull Player viewer, @NotNull Entity entity) {
+        if (!(entity instanceof Player owner)) {
+            return;
+        }
+        Nametag nametag = nametags.computeIfAbsent(owner.getUniqueId(), k -> new Nametag(owner));
+        UUID viewerId = viewer.getUniqueId();
+        if (!nametag.viewers.add(viewerId)) {
+            return;
+        }
+        Schedulers.entityLater(viewer, () -> {
+            if (nametag.viewers.contains(viewerId) && viewer.isOnline() && owner.isOnline()) {
+                spawn(viewer, owner, nametag);
+            }
+        }, 1);
+    }
+
+    /**
+     * Destroys the name tag of a player for a viewer that stopped tracking them.
+     *
+     * @param viewer the viewer.
+     * @param entity the entity that is no longer tracked by the viewer.
+     */
+    public void untrack(@NotNull Player viewer, @NotNull Entity entity) {
+        if (!(entity instanceof Player owner)) {
+            return;
+        }
+        Nametag nametag = nametags.get(owner.getUniqueId());
+        if (nametag != null && nametag.viewers.remove(viewer.getUniqueId())) {
+            send(viewer, new WrapperPlayServerDestroyEntities(nametag.nameId, nametag.healthId));
+        }
+    }
+
+    /**
+     * Removes a player who left the server, both as an owner and as a viewer.
+     *
+     * @param player the player who left.
+     */
+    public void remove(@NotNull Player player) {
+        Nametag own = nametags.remove(player.getUniqueId());
+        if (own != null) {
+            WrapperPlayServerDestroyEntities destroy = new WrapperPlayServerDestroyEntities(own.nameId, own.healthId);
+            for (UUID viewerId : own.viewers) {
+                Player viewer = Bukkit.getPlayer(viewerId);
+                if (viewer != null) {
+                    send(viewer, destroy);
+                }
+            }
+        }
+        for (Nametag nametag : nametags.values()) {
+            nametag.viewers.remove(player.getUniqueId());
+        }
+    }
+
+    private void spawn(@NotNull Player viewer, @NotNull Player owner, @NotNull Nametag nametag) {
+        Location location = owner.getLocation();
+        Vector3d position = new Vector3d(location.getX(), location.getY() + owner.getHeight(), location.getZ());
+        boolean visible = isVisible(nametag, owner, viewer);
+
+        send(viewer, new WrapperPlayServerSpawnEntity(nametag.nameId, Optional.of(UUID.randomUUID()),
+                EntityTypes.TEXT_DISPLAY, position, 0, 0, 0, 0, Optional.empty()));
+        send(viewer, new WrapperPlayServerSpawnEntity(nametag.healthId, Optional.of(UUID.randomUUID()),
+                EntityTypes.TEXT_DISPLAY, position, 0, 0, 0, 0, Optional.empty()));
+        send(viewer, fullMetadata(nametag.nameId, NAME_OFFSET, visible ? nametag.name : Component.empty()));
+        send(viewer, fullMetadata(nametag.healthId, HEALTH_OFFSET, visible ? nametag.health : Component.empty()));
+        send(viewer, new WrapperPlayServerSetPassengers(owner.getEntityId(),
+                new int[] { nametag.nameId, nametag.healthId }));
+    }
+
+    private void sendText(@NotNull Player viewer, @NotNull Nametag nametag, boolean visible) {
+        send(viewer, textMetadata(nametag.nameId, visible ? nametag.name : Component.empty()));
+        send(viewer, textMetadata(nametag.healthId, visible ? nametag.health : Component.empty()));
+    }
+
+    private boolean isVisible(@NotNull Nametag nametag, @NotNull Player owner, @NotNull Player viewer) {
+        return !nametag.sneaking || isTeammate(owner, viewer);
+    }
+
+    private boolean isTeammate(@NotNull Player owner, @NotNull Player viewer) {
+        GameTeam team = getTeam(owner);
+        return team != null && team == getTeam(viewer);
+    }
+
+    private @Nullable GameTeam getTeam(@NotNull Player player) {
+        GamePlayer gamePlayer = TheTowers.getInstance().getPlayerManager().getPlayerByEntity(player);
+        return gamePlayer != null ? gamePlayer.getTeam() : null;
+    }
+
+    private @NotNull WrapperPlayServerEntityMetadata textMetadata(int entityId, @NotNull Component text) {
+        return new WrapperPlayServerEntityMetadata(entityId,
+                List.of(new EntityData<>(TEXT_INDEX, EntityDataTypes.ADV_COMPONENT, text)));
+    }
+
+    private @NotNull WrapperPlayServerEntityMetadata fullMetadata(int entityId, @NotNull Vector3f offset,
+                                                                  @NotNull Component text) {
+        return new WrapperPlayServerEntityMetadata(entityId, List.of(
+                new EntityData<>(TRANSLATION_INDEX, EntityDataTypes.VECTOR3F, offset),
+                new EntityData<>(BILLBOARD_INDEX, EntityDataTypes.BYTE, BILLBOARD_CENTER),
+                new EntityData<>(TEXT_INDEX, EntityDataTypes.ADV_COMPONENT, text),
+                new EntityData<>(BACKGROUND_INDEX, EntityDataTypes.INT, 0)));
+    }
+
+    private void send(@NotNull Player viewer, @NotNull PacketWrapper<?> packet) {
+        PacketEvents.getAPI().getPlayerManager().sendPacket(viewer, packet);
+    }
+
+    /**
+     * Client-side name tag of a single player.
+     */
+    private static final class Nametag {
+        private final int nameId;
+        private final int healthId;
+        private final Set<UUID> viewers = new HashSet<>();
+        private Component name = Component.empty();
+        private Component health = Component.empty();
+        private boolean sneaking;
+
+        @SuppressWarnings("deprecation")
+        private Nametag(@NotNull Player owner) {
+            this.nameId = Bukkit.getUnsafe().nextEntityId();
+            this.healthId = Bukkit.getUnsafe().nextEntityId();
+            this.sneaking = owner.isSneaking();
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+package dev.erpix.thetowers.util;
+
+import dev.erpix.thetowers.TheTowers;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Utility class for scheduling tasks on the thread that owns the affected state.
+ *
+ * <p>Built on the region aware schedulers of the Paper API, which run everything on the main thread on
+ * Paper. Every call site names the thread that owns the state it touches, which is groundwork for Folia's
+ * regionized threading; the plugin does not declare Folia support, as the game state is still shared
+ * between the listeners of all regions:</p>
+ * <ul>
+ *     <li>{@link #entity(Entity, Runnable)} for actions on a single player or entity, e.g. titles,
+ *     sounds or teleports,</li>
+ *     <li>{@link #region(Location, Runnable)} for actions on blocks and chunks at a location,</li>
+ *     <li>{@link #global(Runnable)} for game wide state which is not tied to any region, e.g. the tab list,
+ *     broadcasts or the game state itself,</li>
+ *     <li>{@link #async(Runnable)} for I/O.</li>
+ * </ul>
+ */
+public final class Schedulers {
+
+    private Schedulers() { }
+
+    /**
+     * Runs a task on the global region at the next tick.
+     *
+     * @param task the task to run.
+     */
+    public static void global(@NotNull Runnable task) {
+        Bukkit.getGlobalRegionScheduler().run(plugin(), t -> task.run());
+    }
+
+    /**
+     * Runs a task on the global region repeatedly.
+     *
+     * @param task the task to run.
+     * @param delay the delay before the first run in ticks, at least one tick.
+     * @param period the period between runs in ticks.
+     * @return the scheduled task, used for cancelling.
+     */
+    public static @NotNull ScheduledTask globalTimer(@NotNull Runnable task, long delay, long period) {
+        return Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin(), t -> task.run(), Math.max(1, delay), period);
+    }
+
+    /**
+     * Runs a task on the thread that owns an entity, immediately if the current thread owns it already,
+     * otherwise at the next tick of its region. The task is dropped if the entity is removed in the meantime.
+     *
+     * @param entity the entity the task acts on.
+     * @param task the task to run.
+     */
+    public static void entity(@NotNull Entity entity, @NotNull Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(entity)) {
+            task.run();
+        } else {
+            entity.getScheduler().run(plugin(), t -> task.run(), null);
+        }
+    }
+
+    /**
+     * Runs a task on the thread that owns an entity after the given delay.
+     * The task is dropped if the entity is removed in the meantime.
+     *
+     * @param entity the entity the task acts on.
+     * @param task the task to run.
+     * @param delay the delay in ticks, at least one tick.
+     */
+    public static void entityLater(@NotNull Entity entity, @NotNull Runnable task, long delay) {
+        entity.getScheduler().execute(plugin(), task, null, Math.max(1, delay));
+    }
+
+    /**
+     * Runs a task on the region of a location, immediately if the current thread owns it already,
+     * otherwise at the next tick of the region.
+     *
+     * @param location the location the task acts on.
+     * @param task the task to run.
+     */
+    public static void region(@NotNull Location location, @NotNull Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(location)) {
+            task.run();
+        } else {
+            Bukkit.getRegionScheduler().run(plugin(), location, t -> task.run());
+        }
+    }
+
+    /**
+     * Runs a task for a command sender at the next tick, on the player's region if the sender is an entity,
+     * otherwise on the global region.
+     *
+     * @param sender the command sender.
+     * @param task the task to run.
+     */
+    public static void sender(@NotNull CommandSender sender, @NotNull Runnable task) {
+        if (sender instanceof Entity entity) {
+            entity.getScheduler().run(plugin(), t -> task.run(), null);
+        } else {
+            global(task);
+        }
+    }
+
+    /**
+     * Runs a task off the tick threads.
+     *
+     * @param task the task to run.
+     */
+    public static void async(@NotNull Runnable task) {
+        Bukkit.getAsyncScheduler().runNow(plugin(), t -> task.run());
+    }
+
+    /**
+     * Returns an executor which runs tasks off the tick threads, e.g. for {@link java.util.concurrent.CompletableFuture}.
+     *
+     * @return the executor.
+     */
+    public static @NotNull Executor asyncExecutor() {
+        return Schedulers::async;
+    }
+
+    private static @NotNull Plugin plugin() {
+        return TheTowers.getInstance().getPlugin();
+    }
+
+}
@@ -0,0 +1,270 @@
+package dev.erpix.thetowers.util;
+
+import dev.erpix.thetowers.TheTowers;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hierarchical timer wheel for short delayed actions, e.g. respawn countdowns, title sequences or delayed sounds.
+ *
+ * <p>The wheel is driven by a single repeating task that advances it by one slot every tick, instead of
+ * creating a scheduler task per delayed action. Each level has {@value #SLOTS} slots, the first level covers
+ * the next {@value #SLOTS} ticks one tick per slot, and every next level covers {@value #SLOTS} times more.
+ * Timeouts on the higher levels are moved down when their slot comes up, so scheduling and cancelling
+ * are O(1) no matter the delay.</p>
+ *
+ * <p>Every timeout may belong to an owner, e.g. the unique id of a player, which allows cancelling all of
+ * them at once when the player quits or the game stops.</p>
+ *
+ * <p>Not thread-safe, meant to be used on the global region thread only, which is the main thread on Paper.</p>
+ */
+public class TimerWheel {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY = (1L << (BITS * LEVELS)) - 1;
+
+    private final Timeout[][] wheel = new Timeout[LEVELS][SLOTS];
+    private final Map<Object, Timeout> owners = new HashMap<>();
+    private long now;
+    private int size;
+    private ScheduledTask task;
+
+    /**
+     * Starts advancing the wheel every tick on the global region.
+     *
+     * <p>Actions which act on an entity have to move to its thread, e.g. with
+     * {@link Schedulers#entity(org.bukkit.entity.Entity, Runnable)}.</p>
+     */
+    public void start() {
+        if (task == null) {
+            task = Schedulers.globalTimer(this::tick, 1, 1);
+        }
+    }
+
+    /**
+     * Stops advancing the wheel and drops all pending timeouts.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (Timeout[] level : wheel) {
+            for (int i = 0; i < SLOTS; i++) {
+                for (Timeout timeout = level[i]; timeout != null; timeout = timeout.next) {
+                    timeout.cancelled = true;
+                }
+                level[i] = null;
+            }
+        }
+        owners.clear();
+        size = 0;
+    }
+
+    /**
+     * Schedules an action to run after the given delay.
+     *
+     * @param owner the owner of the timeout, used for cancelling, or null if it has none.
+     * @param delay the delay in ticks, at least one tick.
+     * @param action the action to run.
+     * @return the scheduled {@link Timeout}.
+     */
+    public @NotNull Timeout schedule(@Nullable Object owner, long delay, @NotNull Runnable action) {
+        Timeout timeout = new Timeout(this, owner, now + Math.max(1, delay), action);
+        insert(timeout);
+        if (owner != null) {
+            Timeout head = owners.put(owner, timeout);
+            timeout.ownerNext = head;
+            if (head != null) {
+                head.ownerPrev = timeout;
+            }
+        }
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels all pending timeouts of an owner.
+     *
+     * @param owner the owner.
+     * @return the number of cancelled timeouts.
+     */
+    public int cancel(@NotNull Object owner) {
+        Timeout timeout = owners.remove(owner);
+        int cancelled = 0;
+        while (timeout != null) {
+            Timeout next = timeout.ownerNext;
+            timeout.owner = null;
+            timeout.ownerPrev = timeout.ownerNext = null;
+            timeout.cancel();
+            timeout = next;
+            cancelled++;
+        }
+        return cancelled;
+    }
+
+    /**
+     * Returns the number of pending timeouts.
+     *
+     * @return the number of pending timeouts.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Advances the wheel by one tick and runs the timeouts that are due.
+     */
+    void tick() {
+        now++;
+        if ((now & MASK) == 0) {
+            cascade(1);
+        }
+
+        // Take the timeouts one by one, so that an action can still cancel the ones behind it
+        Timeout[] slots = wheel[0];
+        int index = (int) (now & MASK);
+        Timeout timeout;
+        while ((timeout = slots[index]) != null) {
+            slots[index] = timeout.next;
+            if (timeout.next != null) {
+                timeout.next.prev = null;
+            }
+            timeout.next = null;
+            timeout.slot = null;
+            timeout.cancelled = true;
+            unlinkOwner(timeout);
+            size--;
+            try {
+                timeout.action.run();
+            } catch (Exception e) {
+                TheTowers.getInstance().getLogger().error("Timer wheel action failed", e);
+            }
+        }
+    }
+
+    /**
+     * Moves the timeouts of the current slot of a level down to the lower levels.
+     */
+    private void cascade(int level) {
+        int index = (int) ((now >>> (BITS * level)) & MASK);
+        if (index == 0 && level + 1 < LEVELS) {
+            cascade(level + 1);
+        }
+        Timeout timeout = wheel[level][index];
+        wheel[level][index] = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.prev = timeout.next = null;
+            insert(timeout);
+            timeout = next;
+        }
+    }
+
+    private void insert(@NotNull Timeout timeout) {
+        long delta = timeout.deadline - now;
+        // Timeouts beyond the last level wait in its furthest slot and are placed again when it comes up
+        long deadline = delta > MAX_DELAY ? now + MAX_DELAY : timeout.deadline;
+        int level = 0;
+        while (level < LEVELS - 1 && deadline - now >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        Timeout[] slots = wheel[level];
+        int index = (int) ((deadline >>> (BITS * level)) & MASK);
+        Timeout head = slots[index];
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        slots[index] = timeout;
+        timeout.slot = slots;
+        timeout.index = index;
+    }
+
+    private void unlinkOwner(@NotNull Timeout timeout) {
+        if (timeout.owner == null) {
+            return;
+        }
+        if (timeout.ownerPrev != null) {
+            timeout.ownerPrev.ownerNext = timeout.ownerNext;
+        } else if (timeout.ownerNext != null) {
+            owners.put(timeout.owner, timeout.ownerNext);
+        } else {
+            owners.remove(timeout.owner);
+        }
+        if (timeout.ownerNext != null) {
+            timeout.ownerNext.ownerPrev = timeout.ownerPrev;
+        }
+        timeout.owner = null;
+        timeout.ownerPrev = timeout.ownerNext = null;
+    }
+
+    /**
+     * An action scheduled on a {@link TimerWheel}.
+     */
+    public static final class Timeout {
+
+        private final TimerWheel wheel;
+        private final long deadline;
+        private final Runnable action;
+        private Object owner;
+        private boolean cancelled;
+        // Links of the slot list
+        private Timeout[] slot;
+        private int index;
+        private Timeout prev;
+        private Timeout next;
+        // Links of the owner list
+        private Timeout ownerPrev;
+        private Timeout ownerNext;
+
+        private Timeout(@NotNull TimerWheel wheel, @Nullable Object owner, long deadline, @NotNull Runnable action) {
+            this.wheel = wheel;
+            this.owner = owner;
+            this.deadline = deadline;
+            this.action = action;
+        }
+
+        /**
+         * Cancels the timeout if it has not run yet.
+         */
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            if (slot != null) {
+                if (prev != null) {
+                    prev.next = next;
+                } else {
+                    slot[index] = next;
+                }
+                if (next != null) {
+                    next.prev = prev;
+                }
+                prev = next = null;
+                slot = null;
+                wheel.size--;
+            }
+            wheel.unlinkOwner(this);
+        }
+
+        /**
+         * Checks if the timeout has either run or been cancelled.
+         *
+         * @return true if the timeout will not run anymore, false otherwise.
+         */
+        public boolean isDone() {
+            return cancelled;
+        }
+
+    }
+
+}
@@ -0,0 +1,88 @@
+package dev.erpix.thetowers.config.i18n;
+
+import dev.erpix.thetowers.util.Components;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessagesTest {
+
+    @Test
+    void compilesArgumentsIntoSlots() {
+        Messages.Compiled compiled = Messages.Compiled.compile("<gray>Gracz <white>%s</white> ma %d punktów");
+
+        assertNotNull(compiled.template());
+        assertEquals(2, compiled.template().getSlotCount());
+        assertEquals("Gracz Bob ma 12 punktów", plain(compiled.render("Bob", 12)));
+    }
+
+    @Test
+    void parsesTagsOfStringArgumentsOnly() {
+        Messages.Compiled compiled = Messages.Compiled.compile("%s: %d");
+
+        // Strings were formatted into the message before parsing, numbers never contain tags
+        assertEquals("Bob: 3", plain(compiled.render("<red>Bob", 3)));
+        assertEquals("<b>: 3", plain(compiled.render(Component.text("<b>"), 3)));
+    }
+
+    @Test
+    void unescapesPercentSigns() {
+        Messages.Compiled compiled = Messages.Compiled.compile("<green>%d%% gotowe, 100%%");
+
+        assertNotNull(compiled.template());
+        assertEquals(1, compiled.template().getSlotCount());
+        assertEquals("50% gotowe, 100%", plain(compiled.render(50)));
+    }
+
+    @Test
+    void rendersTextOfTheFormattedRawMessage() {
+        String[] raws = {
+                "<gray>%s <dark_gray>» <white>%s",
+                "<red>%d%%</red> <gray>(%s)",
+                "%%s to nie argument, %s tak",
+                "Bez argumentów",
+        };
+        Object[][] args = {
+                {"<green>Alice", "Bob"},
+                {75, "<bold>tekst</bold>"},
+                {"ten"},
+                {},
+        };
+        for (int i = 0; i < raws.length; i++) {
+            Messages.Compiled compiled = Messages.Compiled.compile(raws[i]);
+            assertNotNull(compiled.template(), raws[i]);
+            Component formatted = Components.standard(String.format(raws[i], args[i]));
+            assertEquals(plain(formatted), plain(compiled.render(args[i])), raws[i]);
+        }
+    }
+
+    @Test
+    void fallsBackToFormattingOtherSpecifiers() {
+        Messages.Compiled compiled = Messages.Compiled.compile("<gray>K/D: %.2f");
+
+        assertNull(compiled.template());
+        assertEquals(String.format("K/D: %.2f", 1.5), plain(compiled.render(1.5)));
+    }
+
+    @Test
+    void fallsBackToFormattingArgumentsInsideTags() {
+        Messages.Compiled compiled = Messages.Compiled.compile("<color:%s>Drużyna</color> %s");
+
+        assertNull(compiled.template());
+        assertEquals("Drużyna Czerwoni", plain(compiled.render("#FF0000", "Czerwoni")));
+    }
+
+    @Test
+    void fallsBackToFormattingOnArgumentCountMismatch() {
+        Messages.Compiled compiled = Messages.Compiled.compile("%s i %s");
+
+        assertEquals("a i b", plain(compiled.render("a", "b", "c")));
+    }
+
+    private static String plain(Component component) {
+        return PlainTextComponentSerializer.plainText().serialize(component);
+    }
+
+}
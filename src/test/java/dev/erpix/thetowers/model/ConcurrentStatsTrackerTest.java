@@ -0,0 +1,115 @@
+package dev.erpix.thetowers.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentStatsTrackerTest {
+
+    private static final int WRITERS = 4;
+    private static final int INCREMENTS = 200_000;
+
+    @Test
+    void countsEveryConcurrentIncrement() throws InterruptedException {
+        ConcurrentStatsTracker tracker = new ConcurrentStatsTracker();
+
+        runWriters(tracker, INCREMENTS, () -> {});
+
+        StatsTracker snapshot = tracker.snapshot();
+        assertEquals(WRITERS * INCREMENTS, snapshot.getStat(PlayerStat.KILLS));
+        assertEquals(WRITERS * INCREMENTS, snapshot.getStat(PlayerStat.BLOCKS_BROKEN));
+        assertFalse(snapshot.isDirty());
+    }
+
+    @Test
+    void snapshotIsConsistentWithConcurrentIncrements() throws InterruptedException {
+        ConcurrentStatsTracker tracker = new ConcurrentStatsTracker();
+        List<String> violations = new ArrayList<>();
+
+        // Writers increment kills before broken blocks, which a snapshot reads much later,
+        // so a consistent view lags by at most one pair per writer
+        runWriters(tracker, INCREMENTS, () -> {
+            StatsTracker snapshot = tracker.snapshot();
+            int difference = snapshot.getStat(PlayerStat.KILLS) - snapshot.getStat(PlayerStat.BLOCKS_BROKEN);
+            if (difference < 0 || difference > WRITERS) {
+                violations.add(snapshot.getStat(PlayerStat.KILLS) + " kills, " + snapshot.getStat(PlayerStat.BLOCKS_BROKEN) + " blocks broken");
+            }
+        });
+
+        assertEquals(List.of(), violations);
+    }
+
+    @Test
+    void resetIsAtomicWithRespectToIncrements() throws InterruptedException {
+        ConcurrentStatsTracker tracker = new ConcurrentStatsTracker();
+        List<String> violations = new ArrayList<>();
+
+        // A reset can split at most one pair per writer, in either direction
+        runWriters(tracker, INCREMENTS, () -> {
+            tracker.reset();
+            StatsTracker snapshot = tracker.snapshot();
+            int difference = snapshot.getStat(PlayerStat.KILLS) - snapshot.getStat(PlayerStat.BLOCKS_BROKEN);
+            if (Math.abs(difference) > WRITERS) {
+                violations.add(snapshot.getStat(PlayerStat.KILLS) + " kills, " + snapshot.getStat(PlayerStat.BLOCKS_BROKEN) + " blocks broken");
+            }
+        });
+
+        assertEquals(List.of(), violations);
+        tracker.reset();
+        assertEquals(0, tracker.getStat(PlayerStat.KILLS));
+        assertEquals(0, tracker.getStat(PlayerStat.BLOCKS_BROKEN));
+    }
+
+    @Test
+    void setStatKeepsLaterIncrements() throws InterruptedException {
+        ConcurrentStatsTracker tracker = new ConcurrentStatsTracker();
+        tracker.setStat(PlayerStat.ASSISTS, 5);
+
+        runWriters(tracker, 1_000, () -> {});
+        tracker.incrementStat(PlayerStat.ASSISTS, 2);
+        tracker.decrementStat(PlayerStat.ASSISTS);
+
+        assertEquals(6, tracker.getStat(PlayerStat.ASSISTS));
+        tracker.setStat(PlayerStat.ASSISTS, 0);
+        assertEquals(0, tracker.snapshot().getStat(PlayerStat.ASSISTS));
+    }
+
+    /**
+     * Runs writers which increment kills and then broken blocks, and calls the observer until all of them finish.
+     */
+    private static void runWriters(ConcurrentStatsTracker tracker, int increments, Runnable observer)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            Thread writer = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < increments; j++) {
+                        tracker.incrementStat(PlayerStat.KILLS);
+                        tracker.incrementStat(PlayerStat.BLOCKS_BROKEN);
+                    }
+                } catch (InterruptedException e) {
+                    failed.set(true);
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        start.countDown();
+        while (writers.stream().anyMatch(Thread::isAlive)) {
+            observer.run();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        assertFalse(failed.get());
+    }
+
+}
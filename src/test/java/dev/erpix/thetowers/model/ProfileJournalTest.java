@@ -0,0 +1,98 @@
+package dev.erpix.thetowers.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysEntriesInSequenceOrder() throws IOException {
+        ProfileJournal journal = new ProfileJournal(directory);
+        assertTrue(journal.replay().isEmpty());
+        assertEquals(1, journal.start());
+        journal.append("alice", PlayerStat.KILLS, 1);
+        journal.append("bob", PlayerStat.DEATHS, 2);
+        journal.rotate();
+        journal.append("alice", PlayerStat.KILLS, 3);
+        journal.close();
+
+        List<ProfileJournal.Entry> entries = new ProfileJournal(directory).replay();
+        assertEquals(List.of(
+                new ProfileJournal.Entry(1, "alice", PlayerStat.KILLS.getKey(), 1),
+                new ProfileJournal.Entry(2, "bob", PlayerStat.DEATHS.getKey(), 2),
+                new ProfileJournal.Entry(3, "alice", PlayerStat.KILLS.getKey(), 3)), entries);
+    }
+
+    @Test
+    void continuesSequenceAfterReplay() throws IOException {
+        ProfileJournal journal = new ProfileJournal(directory);
+        journal.replay();
+        journal.start();
+        journal.append("alice", PlayerStat.KILLS, 1);
+        journal.append("alice", PlayerStat.KILLS, 1);
+        journal.close();
+
+        ProfileJournal reopened = new ProfileJournal(directory);
+        reopened.replay();
+        assertEquals(3, reopened.start());
+        assertEquals(3, reopened.append("alice", PlayerStat.KILLS, 1));
+        reopened.close();
+    }
+
+    @Test
+    void advancesPastStoredSequence() throws IOException {
+        ProfileJournal journal = new ProfileJournal(directory);
+        journal.replay();
+        journal.start();
+        journal.advancePast(41);
+        assertEquals(42, journal.append("alice", PlayerStat.KILLS, 1));
+
+        // Never moves the sequence backwards
+        journal.advancePast(10);
+        assertEquals(43, journal.append("alice", PlayerStat.KILLS, 1));
+        journal.close();
+    }
+
+    @Test
+    void skipsEntriesAppliedToTheProfile() {
+        List<ProfileJournal.Entry> entries = List.of(
+                new ProfileJournal.Entry(3, "alice", PlayerStat.KILLS.getKey(), 1),
+                new ProfileJournal.Entry(5, "alice", PlayerStat.KILLS.getKey(), 2),
+                new ProfileJournal.Entry(8, "alice", PlayerStat.DEATHS.getKey(), 3));
+
+        assertEquals(entries, ProfileJournal.after(entries, 0));
+        assertEquals(entries.subList(1, 3), ProfileJournal.after(entries, 3));
+        assertEquals(entries.subList(2, 3), ProfileJournal.after(entries, 7));
+        assertTrue(ProfileJournal.after(entries, 8).isEmpty());
+    }
+
+    @Test
+    void deletesSegmentsBeforeCheckpoint() throws IOException {
+        ProfileJournal journal = new ProfileJournal(directory);
+        journal.replay();
+        journal.start();
+        journal.append("alice", PlayerStat.KILLS, 1);
+        long segment = journal.rotate();
+        journal.append("bob", PlayerStat.KILLS, 2);
+        journal.close();
+
+        journal.deleteSegmentsBefore(segment);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+        List<ProfileJournal.Entry> entries = new ProfileJournal(directory).replay();
+        assertEquals(List.of(new ProfileJournal.Entry(2, "bob", PlayerStat.KILLS.getKey(), 2)), entries);
+    }
+
+}
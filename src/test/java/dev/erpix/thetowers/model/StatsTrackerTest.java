@@ -0,0 +1,92 @@
+package dev.erpix.thetowers.model;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsTrackerTest {
+
+    // Configured like the profile store
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(PlayerStat.class, new PlayerStat.Adapter())
+            .registerTypeAdapter(StatsTracker.class, new StatsTracker.Adapter())
+            .create();
+
+    @Test
+    void writesStatsObject() {
+        StatsTracker tracker = new StatsTracker();
+        tracker.incrementStat(PlayerStat.KILLS, 3);
+        tracker.setStat(PlayerTotalStat.WINS, 2);
+
+        JsonObject json = JsonParser.parseString(gson.toJson(tracker)).getAsJsonObject();
+        JsonObject stats = json.getAsJsonObject("stats");
+        assertEquals(1, json.size());
+        assertEquals(2, stats.size());
+        assertEquals(3, stats.get("kills").getAsInt());
+        assertEquals(2, stats.get("wins").getAsInt());
+    }
+
+    @Test
+    void readsFormatOfMapBasedTracker() {
+        // Written by the former tracker, which kept reset stats as zeros
+        String json = "{\"stats\":{\"kills\":12,\"deaths\":0,\"games_played\":4,\"blocks_broken\":-1}}";
+
+        StatsTracker tracker = gson.fromJson(json, StatsTracker.class);
+        assertEquals(12, tracker.getStat(PlayerStat.KILLS));
+        assertEquals(0, tracker.getStat(PlayerStat.DEATHS));
+        assertEquals(4, tracker.getStat(PlayerTotalStat.GAMES_PLAYED));
+        assertEquals(-1, tracker.getStat(PlayerStat.BLOCKS_BROKEN));
+        assertEquals(0, tracker.getStat(PlayerStat.ASSISTS));
+    }
+
+    @Test
+    void matchesMapSerialization() {
+        LegacyTracker legacy = new LegacyTracker();
+        legacy.stats.put(PlayerStat.KILLS, 7);
+        legacy.stats.put(PlayerStat.HEART_DAMAGE, 150);
+        legacy.stats.put(PlayerTotalStat.LOSSES, 1);
+
+        StatsTracker tracker = gson.fromJson(gson.toJson(legacy), StatsTracker.class);
+        assertEquals(7, tracker.getStat(PlayerStat.KILLS));
+        assertEquals(150, tracker.getStat(PlayerStat.HEART_DAMAGE));
+        assertEquals(1, tracker.getStat(PlayerTotalStat.LOSSES));
+
+        LegacyTracker read = gson.fromJson(gson.toJson(tracker), LegacyTracker.class);
+        assertEquals(legacy.stats, read.stats);
+    }
+
+    @Test
+    void readsNullAsEmptyTracker() {
+        Holder holder = gson.fromJson("{\"stats\":null}", Holder.class);
+
+        assertNotNull(holder.stats);
+        assertEquals(0, holder.stats.getStat(PlayerStat.KILLS));
+    }
+
+    @Test
+    void ignoresOtherFields() {
+        StatsTracker tracker = gson.fromJson("{\"version\":2,\"stats\":{\"kills\":1},\"extra\":{\"kills\":5}}",
+                StatsTracker.class);
+
+        assertEquals(1, tracker.getStat(PlayerStat.KILLS));
+    }
+
+    /**
+     * Mirrors the fields of the former map-based tracker.
+     */
+    private static final class LegacyTracker {
+        private final Map<PlayerStat, Integer> stats = new LinkedHashMap<>();
+    }
+
+    private static final class Holder {
+        private StatsTracker stats;
+    }
+
+}
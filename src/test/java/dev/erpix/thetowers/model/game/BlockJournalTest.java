@@ -0,0 +1,57 @@
+package dev.erpix.thetowers.model.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockJournalTest {
+
+    /**
+     * Chunk coordinates of the world border, 30 million blocks from the origin.
+     */
+    private static final int MAX_CHUNK = 30_000_000 >> 4;
+
+    @Test
+    void sectionKeyRoundTrips() {
+        int[] chunks = {0, 1, -1, 15, -16, 12345, -12345, MAX_CHUNK, -MAX_CHUNK, (1 << 21) - 1, -(1 << 21)};
+        int[] sections = {0, 1, -1, -4, 19, -128, 127, (1 << 19) - 1, -(1 << 19)};
+        for (int chunkX : chunks) {
+            for (int sectionY : sections) {
+                for (int chunkZ : chunks) {
+                    long key = BlockJournal.key(chunkX, sectionY, chunkZ);
+                    String position = chunkX + ", " + sectionY + ", " + chunkZ;
+                    assertEquals(chunkX, BlockJournal.chunkX(key), position);
+                    assertEquals(sectionY, BlockJournal.sectionY(key), position);
+                    assertEquals(chunkZ, BlockJournal.chunkZ(key), position);
+                }
+            }
+        }
+    }
+
+    @Test
+    void neighbouringSectionsHaveDistinctKeys() {
+        Set<Long> keys = new HashSet<>();
+        for (int chunkX = -2; chunkX <= 2; chunkX++) {
+            for (int sectionY = -5; sectionY <= 5; sectionY++) {
+                for (int chunkZ = -2; chunkZ <= 2; chunkZ++) {
+                    assertTrue(keys.add(BlockJournal.key(chunkX, sectionY, chunkZ)),
+                            "duplicate key for " + chunkX + ", " + sectionY + ", " + chunkZ);
+                }
+            }
+        }
+    }
+
+    @Test
+    void negativeBlockCoordinatesMapToTheirSection() {
+        // The journal keys blocks by their coordinates shifted by 4, which rounds towards negative infinity
+        long key = BlockJournal.key(-1 >> 4, -64 >> 4, -17 >> 4);
+        assertEquals(-1, BlockJournal.chunkX(key));
+        assertEquals(-4, BlockJournal.sectionY(key));
+        assertEquals(-2, BlockJournal.chunkZ(key));
+        assertEquals(key, BlockJournal.key(-16 >> 4, -49 >> 4, -32 >> 4));
+    }
+
+}
@@ -0,0 +1,79 @@
+package dev.erpix.thetowers.model.game;
+
+import org.bukkit.Location;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapIndexTest {
+
+    @Test
+    void findsHeartOwners() {
+        MapIndex index = new MapIndex(Map.of(), hearts(), -1, -1);
+
+        assertEquals(GameTeam.Color.RED, index.getHeartOwner(10, 64, 10));
+        assertEquals(GameTeam.Color.BLUE, index.getHeartOwner(-1, -5, -1));
+        assertEquals(GameTeam.Color.GREEN, index.getHeartOwner(-30_000_000, 320, 29_999_999));
+        assertNull(index.getHeartOwner(10, 65, 10));
+        assertNull(index.getHeartOwner(-1, -5, 0));
+        assertNull(index.getHeartOwner(0, -5, -1));
+    }
+
+    @Test
+    void protectsBoxesAcrossChunkBorders() {
+        Map<GameTeam.Color, Location> spawns = new EnumMap<>(GameTeam.Color.class);
+        spawns.put(GameTeam.Color.RED, new Location(null, 0, 64, 0));
+        MapIndex index = new MapIndex(spawns, hearts(), 3, 1);
+
+        MapIndex.Region spawn = index.getProtectedRegion(-3, 61, 3);
+        assertNotNull(spawn);
+        assertEquals(GameTeam.Color.RED, spawn.owner());
+        assertEquals(MapIndex.Region.Kind.SPAWN, spawn.kind());
+        assertTrue(index.isProtected(3, 67, -3));
+        assertFalse(index.isProtected(-4, 64, 0));
+        assertFalse(index.isProtected(0, 68, 0));
+
+        MapIndex.Region heart = index.getProtectedRegion(0, -4, -2);
+        assertNotNull(heart);
+        assertEquals(GameTeam.Color.BLUE, heart.owner());
+        assertEquals(MapIndex.Region.Kind.HEART, heart.kind());
+        assertFalse(index.isProtected(-3, -5, -1));
+    }
+
+    @Test
+    void negativeRadiusDisablesProtection() {
+        Map<GameTeam.Color, Location> spawns = new EnumMap<>(GameTeam.Color.class);
+        spawns.put(GameTeam.Color.RED, new Location(null, 0, 64, 0));
+        MapIndex index = new MapIndex(spawns, hearts(), -1, -1);
+
+        assertFalse(index.isProtected(0, 64, 0));
+        assertFalse(index.isProtected(10, 64, 10));
+    }
+
+    @Test
+    void packedPositionsAreDistinct() {
+        Set<Long> keys = new HashSet<>();
+        for (int x = -2; x <= 2; x++) {
+            for (int y = -64; y <= -60; y++) {
+                for (int z = -2; z <= 2; z++) {
+                    assertTrue(keys.add(MapIndex.pack(x, y, z)), "duplicate key for " + x + ", " + y + ", " + z);
+                }
+            }
+        }
+        assertNotEquals(MapIndex.pack(-30_000_000, 0, 0), MapIndex.pack(30_000_000, 0, 0));
+    }
+
+    private static Map<GameTeam.Color, Location> hearts() {
+        Map<GameTeam.Color, Location> hearts = new EnumMap<>(GameTeam.Color.class);
+        hearts.put(GameTeam.Color.RED, new Location(null, 10, 64, 10));
+        hearts.put(GameTeam.Color.BLUE, new Location(null, -1, -5, -1));
+        hearts.put(GameTeam.Color.GREEN, new Location(null, -30_000_000, 320, 29_999_999));
+        return hearts;
+    }
+
+}
@@ -0,0 +1,73 @@
+package dev.erpix.thetowers.model.history;
+
+import dev.erpix.thetowers.model.game.GameMap;
+import dev.erpix.thetowers.model.game.GameTeam;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchRecordTest {
+
+    @Test
+    void roundTrips() throws IOException {
+        Map<String, Integer> stats = new LinkedHashMap<>();
+        stats.put("kills", 12);
+        stats.put("deaths", 0);
+        stats.put("heart_damage", Integer.MAX_VALUE);
+        MatchRecord record = new MatchRecord(42, 1_700_000_000_000L, 754_321, "Zamek", GameMap.TeamSetup.FOUR_TEAMS,
+                GameTeam.Color.BLUE, List.of(
+                        new MatchRecord.Team(GameTeam.Color.RED, "Czerwoni", List.of(
+                                new MatchRecord.Player("Gracz_1", stats),
+                                new MatchRecord.Player("żółw", Map.of()))),
+                        new MatchRecord.Team(GameTeam.Color.BLUE, "Niebiescy", List.of(
+                                new MatchRecord.Player("Gracz_2", Map.of("kills", -1))))));
+
+        assertEquals(record, MatchRecord.decode(record.encode()));
+    }
+
+    @Test
+    void roundTripsWithoutWinnerAndTeams() throws IOException {
+        MatchRecord record = new MatchRecord(0, 0, 0, "", GameMap.TeamSetup.TWO_TEAMS, null, List.of());
+
+        MatchRecord decoded = MatchRecord.decode(record.encode());
+        assertEquals(record, decoded);
+        assertNull(decoded.winner());
+    }
+
+    @Test
+    void keepsStatOrder() throws IOException {
+        Map<String, Integer> stats = new LinkedHashMap<>();
+        for (int i = 20; i > 0; i--) {
+            stats.put("stat" + i, i);
+        }
+        MatchRecord record = new MatchRecord(1, 2, 3, "map", GameMap.TeamSetup.SIX_TEAMS, GameTeam.Color.PURPLE,
+                List.of(new MatchRecord.Team(GameTeam.Color.PURPLE, "team", List.of(new MatchRecord.Player("player", stats)))));
+
+        Map<String, Integer> decoded = MatchRecord.decode(record.encode()).teams().get(0).players().get(0).stats();
+        assertEquals(List.copyOf(stats.keySet()), List.copyOf(decoded.keySet()));
+    }
+
+    @Test
+    void rejectsUnknownVersion() throws IOException {
+        byte[] payload = new MatchRecord(1, 2, 3, "map", GameMap.TeamSetup.TWO_TEAMS, null, List.of()).encode();
+        payload[0] = 99;
+
+        assertThrows(IOException.class, () -> MatchRecord.decode(payload));
+    }
+
+    @Test
+    void rejectsTruncatedPayload() throws IOException {
+        byte[] payload = new MatchRecord(1, 2, 3, "map", GameMap.TeamSetup.TWO_TEAMS, GameTeam.Color.RED,
+                List.of(new MatchRecord.Team(GameTeam.Color.RED, "team", List.of()))).encode();
+        byte[] truncated = Arrays.copyOf(payload, payload.length - 1);
+
+        assertThrows(IOException.class, () -> MatchRecord.decode(truncated));
+    }
+
+}
@@ -0,0 +1,129 @@
+package dev.erpix.thetowers.model.leaderboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    private Leaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new Leaderboard();
+    }
+
+    @Test
+    void ordersByScoreThenName() {
+        leaderboard.update("carol", 5);
+        leaderboard.update("bob", 10);
+        leaderboard.update("alice", 5);
+        leaderboard.update("dave", 1);
+
+        assertEquals(List.of(
+                new Leaderboard.Entry(1, "bob", 10),
+                new Leaderboard.Entry(2, "alice", 5),
+                new Leaderboard.Entry(3, "carol", 5),
+                new Leaderboard.Entry(4, "dave", 1)), leaderboard.top(10));
+        assertEquals(3, leaderboard.getEntry("carol").orElseThrow().rank());
+    }
+
+    @Test
+    void updateMovesPlayer() {
+        leaderboard.update("alice", 1);
+        leaderboard.update("bob", 2);
+        leaderboard.update("alice", 3);
+
+        assertEquals(1, leaderboard.getEntry("alice").orElseThrow().rank());
+        assertEquals(3, leaderboard.getEntry("alice").orElseThrow().score());
+        assertEquals(2, leaderboard.getEntry("bob").orElseThrow().rank());
+        assertEquals(2, leaderboard.size());
+    }
+
+    @Test
+    void zeroScoreUnranksPlayer() {
+        leaderboard.update("alice", 1);
+        leaderboard.update("bob", 0);
+        leaderboard.update("alice", 0);
+
+        assertTrue(leaderboard.getEntry("alice").isEmpty());
+        assertTrue(leaderboard.getEntry("bob").isEmpty());
+        assertEquals(0, leaderboard.size());
+        assertTrue(leaderboard.top(10).isEmpty());
+    }
+
+    @Test
+    void pagesAreNumberedFromOne() {
+        for (int i = 1; i <= 7; i++) {
+            leaderboard.update("player" + i, i);
+        }
+
+        assertEquals(List.of(
+                new Leaderboard.Entry(1, "player7", 7),
+                new Leaderboard.Entry(2, "player6", 6),
+                new Leaderboard.Entry(3, "player5", 5)), leaderboard.page(1, 3));
+        assertEquals(leaderboard.page(1, 3), leaderboard.page(0, 3));
+        assertEquals(List.of(new Leaderboard.Entry(7, "player1", 1)), leaderboard.page(3, 3));
+        assertTrue(leaderboard.page(4, 3).isEmpty());
+        assertTrue(leaderboard.page(1, 0).isEmpty());
+    }
+
+    @Test
+    void matchesSortedReference() {
+        Random random = new Random(42);
+        Map<String, Double> scores = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            String name = "player" + random.nextInt(500);
+            double score = random.nextInt(10) == 0 ? 0 : random.nextInt(50);
+            leaderboard.update(name, score);
+            if (score == 0) {
+                scores.remove(name);
+            } else {
+                scores.put(name, score);
+            }
+        }
+
+        List<String> expected = new ArrayList<>(scores.keySet());
+        expected.sort(Comparator.comparingDouble((String name) -> -scores.get(name))
+                .thenComparing(Comparator.naturalOrder()));
+        assertEquals(expected.size(), leaderboard.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Leaderboard.Entry entry = leaderboard.getEntry(expected.get(i)).orElseThrow();
+            assertEquals(i + 1, entry.rank(), expected.get(i));
+        }
+
+        int pageSize = 7;
+        for (int page = 1; (page - 1) * pageSize < expected.size(); page++) {
+            List<Leaderboard.Entry> entries = leaderboard.page(page, pageSize);
+            int from = (page - 1) * pageSize;
+            List<String> names = entries.stream().map(Leaderboard.Entry::name).toList();
+            assertEquals(expected.subList(from, Math.min(from + pageSize, expected.size())), names, "page " + page);
+            for (int i = 0; i < entries.size(); i++) {
+                assertEquals(from + i + 1, entries.get(i).rank());
+            }
+        }
+    }
+
+    @Test
+    void storedScoresDoNotOverwriteLiveUpdates() {
+        leaderboard.beginRebuild();
+        leaderboard.update("alice", 7);
+        leaderboard.update("bob", 0);
+        leaderboard.updateStored("alice", 3);
+        leaderboard.updateStored("bob", 5);
+        leaderboard.updateStored("carol", 4);
+        leaderboard.endRebuild();
+
+        assertEquals(7, leaderboard.getEntry("alice").orElseThrow().score());
+        assertTrue(leaderboard.getEntry("bob").isEmpty());
+        assertEquals(4, leaderboard.getEntry("carol").orElseThrow().score());
+
+        // Live updates are no longer tracked once the rebuild ended
+        leaderboard.updateStored("alice", 3);
+        assertEquals(3, leaderboard.getEntry("alice").orElseThrow().score());
+    }
+
+}
@@ -0,0 +1,111 @@
+package dev.erpix.thetowers.util;
+
+import dev.erpix.thetowers.model.game.GamePlayer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssistTrackerTest {
+
+    private final GamePlayer alice = new GamePlayer("alice");
+    private final GamePlayer bob = new GamePlayer("bob");
+    private final GamePlayer carol = new GamePlayer("carol");
+    private int tick;
+
+    @BeforeEach
+    void setUp() {
+        tick = 0;
+    }
+
+    @Test
+    void ordersByDamageThenNameDescending() {
+        AssistTracker tracker = tracker(8, 200);
+        tracker.put(alice, 5);
+        tracker.put(carol, 7);
+        tracker.put(bob, 5);
+
+        assertEquals(List.of("carol", "bob", "alice"), names(tracker));
+    }
+
+    @Test
+    void sumsDamageOfAnAttacker() {
+        AssistTracker tracker = tracker(8, 200);
+        tracker.put(alice, 3);
+        tracker.put(bob, 4);
+        tracker.put(alice, 2);
+
+        assertEquals(5, tracker.getDamage(alice));
+        assertEquals(0, tracker.getDamage(carol));
+        assertEquals(List.of("alice", "bob"), names(tracker));
+        assertEquals(2, tracker.size());
+    }
+
+    @Test
+    void forgetsAttackersAfterTtl() {
+        AssistTracker tracker = tracker(8, 10);
+        tracker.put(alice, 1);
+        tick = 5;
+        tracker.put(bob, 1);
+
+        tick = 10;
+        assertEquals(List.of("bob", "alice"), names(tracker));
+        tick = 11;
+        assertEquals(List.of("bob"), names(tracker));
+        assertEquals(0, tracker.getDamage(alice));
+        tick = 16;
+        assertTrue(tracker.getAttackers().isEmpty());
+    }
+
+    @Test
+    void hitRefreshesTtl() {
+        AssistTracker tracker = tracker(8, 10);
+        tracker.put(alice, 1);
+        tick = 8;
+        tracker.put(alice, 1);
+
+        tick = 18;
+        assertEquals(2, tracker.getDamage(alice));
+    }
+
+    @Test
+    void replacesOldestAttackerWhenFull() {
+        AssistTracker tracker = tracker(2, 200);
+        tracker.put(alice, 10);
+        tick = 1;
+        tracker.put(bob, 1);
+        tick = 2;
+        tracker.put(carol, 1);
+
+        assertEquals(List.of("carol", "bob"), names(tracker));
+    }
+
+    @Test
+    void clearForgetsAllAttackers() {
+        AssistTracker tracker = tracker(8, 200);
+        tracker.put(alice, 1);
+        tracker.put(bob, 1);
+        tracker.clear();
+
+        assertEquals(0, tracker.size());
+        assertTrue(tracker.getAttackers().isEmpty());
+    }
+
+    @Test
+    void detachedTrackerIgnoresHits() {
+        AssistTracker.DETACHED.put(alice, 1);
+
+        assertEquals(0, AssistTracker.DETACHED.size());
+    }
+
+    private AssistTracker tracker(int capacity, int ttlTicks) {
+        return new AssistTracker(capacity, ttlTicks, () -> tick);
+    }
+
+    private static List<String> names(AssistTracker tracker) {
+        return tracker.getAttackers().stream().map(entry -> entry.attacker().getName()).toList();
+    }
+
+}
@@ -0,0 +1,84 @@
+package dev.erpix.thetowers.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentsTest {
+
+    @Test
+    void rendersLikeParsingTheFormattedText() {
+        Components.Template template = Components.template("<gray>☠ <dark_gray>» <red><victim> został zabity przez <attacker>",
+                Components.Slot.rich("victim"), Components.Slot.rich("attacker"));
+
+        Component rendered = template.render("<blue>Bob", "<green>Alice");
+        Component parsed = MiniMessage.miniMessage().deserialize("<gray>☠ <dark_gray>» <red><blue>Bob</blue> został zabity przez <green>Alice");
+        assertEquals(plain(parsed), plain(rendered));
+        assertEquals(Components.serialize(parsed), Components.serialize(rendered));
+    }
+
+    @Test
+    void textSlotsDoNotParseTags() {
+        Components.Template template = Components.template("<gray>Gracz: <name>", Components.Slot.text("name"));
+
+        assertEquals("Gracz: <red>Bob</red>", plain(template.render("<red>Bob</red>")));
+    }
+
+    @Test
+    void richSlotsParseTags() {
+        Components.Template template = Components.template("<gray>Gracz: <name>", Components.Slot.rich("name"));
+
+        Component rendered = template.render("<red>Bob");
+        assertEquals("Gracz: Bob", plain(rendered));
+        assertTrue(Components.serialize(rendered).contains("<red>Bob"));
+    }
+
+    @Test
+    void insertsComponentsAsIs() {
+        Components.Template template = Components.template("<gray><a> i <b>", Components.Slot.text("a"), Components.Slot.text("b"));
+        Component value = Component.text("<b>", NamedTextColor.GOLD);
+
+        Component rendered = template.render(value, 5);
+        assertEquals("<b> i 5", plain(rendered));
+    }
+
+    @Test
+    void rendersSlotsInEveryPosition() {
+        Components.Template template = Components.template("<a><b>-<a>", Components.Slot.text("a"), Components.Slot.text("b"));
+
+        assertEquals("12-1", plain(template.render(1, 2)));
+        assertEquals("xy-x", plain(template.render("x", "y")));
+    }
+
+    @Test
+    void rendersTemplateWithoutSlots() {
+        Components.Template template = Components.template("<green>Gotowe!");
+
+        assertEquals("Gotowe!", plain(template.render()));
+    }
+
+    @Test
+    void rejectsWrongNumberOfValues() {
+        Components.Template template = Components.template("<a>", Components.Slot.text("a"));
+
+        assertThrows(IllegalArgumentException.class, template::render);
+        assertThrows(IllegalArgumentException.class, () -> template.render("x", "y"));
+    }
+
+    @Test
+    void cachesParsedComponents() {
+        Component first = Components.color("<red>cached text");
+
+        assertSame(first, Components.color("<red>cached text"));
+        assertEquals("cached text", plain(first));
+    }
+
+    private static String plain(Component component) {
+        return PlainTextComponentSerializer.plainText().serialize(component);
+    }
+
+}
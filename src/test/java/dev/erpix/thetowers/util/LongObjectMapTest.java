@@ -0,0 +1,84 @@
+package dev.erpix.thetowers.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectMapTest {
+
+    @Test
+    void putAndGet() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        assertNull(map.put(1, "one"));
+        assertNull(map.put(-1, "minus one"));
+        assertNull(map.put(0, "zero"));
+
+        assertEquals("one", map.get(1));
+        assertEquals("minus one", map.get(-1));
+        assertEquals("zero", map.get(0));
+        assertNull(map.get(2));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void putReplacesValue() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.put(Long.MIN_VALUE, "old");
+
+        assertEquals("old", map.put(Long.MIN_VALUE, "new"));
+        assertEquals("new", map.get(Long.MIN_VALUE));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void keepsCollidingKeysAcrossRehashes() {
+        // Keys differing only in the high bits share the low bits of the plain key, the mix has to spread them
+        LongObjectMap<Long> map = new LongObjectMap<>(1);
+        for (long i = 0; i < 1000; i++) {
+            map.put(i << 40, i);
+        }
+
+        assertEquals(1000, map.size());
+        for (long i = 0; i < 1000; i++) {
+            assertEquals(i, map.get(i << 40));
+        }
+        assertNull(map.get(1000L << 40));
+    }
+
+    @Test
+    void matchesHashMap() {
+        Random random = new Random(7);
+        LongObjectMap<Long> map = new LongObjectMap<>(4);
+        Map<Long, Long> reference = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            // Narrow range, so that keys are replaced as well
+            long key = random.nextInt(5000) - 2500L;
+            long value = random.nextLong();
+            assertEquals(reference.put(key, value), map.put(key, value));
+        }
+
+        assertEquals(reference.size(), map.size());
+        for (long key = -3000; key < 3000; key++) {
+            assertEquals(reference.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    void clearRemovesAllMappings() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "value");
+        }
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertNull(map.get(5));
+        assertNull(map.put(5, "again"));
+        assertEquals("again", map.get(5));
+    }
+
+}
@@ -0,0 +1,148 @@
+package dev.erpix.thetowers.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    private TimerWheel wheel;
+    private long tick;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimerWheel();
+        tick = 0;
+    }
+
+    @Test
+    void runsActionAtDeadline() {
+        List<Long> ran = new ArrayList<>();
+        wheel.schedule(null, 5, () -> ran.add(tick));
+
+        advance(4);
+        assertTrue(ran.isEmpty());
+        advance(1);
+        assertEquals(List.of(5L), ran);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void treatsDelaysBelowOneAsOneTick() {
+        List<Long> ran = new ArrayList<>();
+        wheel.schedule(null, 0, () -> ran.add(tick));
+        wheel.schedule(null, -10, () -> ran.add(tick));
+
+        advance(1);
+        assertEquals(List.of(1L, 1L), ran);
+    }
+
+    @Test
+    void runsActionsAtCascadeBoundaries() {
+        long[] delays = {63, 64, 65, 127, 128, 4095, 4096, 4097, 8192, 262143, 262144, 262145};
+        for (long offset : new long[] {0, 1, 63, 100}) {
+            setUp();
+            advance(offset);
+            List<Long> ran = new ArrayList<>();
+            for (long delay : delays) {
+                wheel.schedule(null, delay, () -> ran.add(tick - offset));
+            }
+
+            advance(delays[delays.length - 1]);
+            assertEquals(toList(delays), ran, "scheduled at tick " + offset);
+        }
+    }
+
+    @Test
+    void runsActionsBeyondTheLastLevel() {
+        long delay = (1L << 24) + 100;
+        List<Long> ran = new ArrayList<>();
+        wheel.schedule(null, delay, () -> ran.add(tick));
+
+        advance(delay - 1);
+        assertTrue(ran.isEmpty());
+        assertEquals(1, wheel.size());
+        advance(1);
+        assertEquals(List.of(delay), ran);
+    }
+
+    @Test
+    void cancelledTimeoutDoesNotRun() {
+        List<Long> ran = new ArrayList<>();
+        TimerWheel.Timeout timeout = wheel.schedule(null, 100, () -> ran.add(tick));
+        wheel.schedule(null, 100, () -> ran.add(-tick));
+
+        timeout.cancel();
+        assertTrue(timeout.isDone());
+        assertEquals(1, wheel.size());
+
+        advance(100);
+        assertEquals(List.of(-100L), ran);
+    }
+
+    @Test
+    void cancelsAllTimeoutsOfAnOwner() {
+        Object owner = new Object();
+        List<Long> ran = new ArrayList<>();
+        wheel.schedule(owner, 10, () -> ran.add(tick));
+        wheel.schedule(owner, 20, () -> ran.add(tick));
+        wheel.schedule(owner, 5000, () -> ran.add(tick));
+        wheel.schedule("other", 20, () -> ran.add(-tick));
+
+        advance(10);
+        assertEquals(List.of(10L), ran);
+        assertEquals(2, wheel.cancel(owner));
+        assertEquals(0, wheel.cancel(owner));
+
+        advance(5000);
+        assertEquals(List.of(10L, -20L), ran);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void actionCanCancelTimeoutsDueInTheSameTick() {
+        List<String> ran = new ArrayList<>();
+        TimerWheel.Timeout[] second = new TimerWheel.Timeout[1];
+        // Timeouts of a slot run in reverse scheduling order
+        second[0] = wheel.schedule(null, 3, () -> ran.add("second"));
+        wheel.schedule(null, 3, () -> {
+            ran.add("first");
+            second[0].cancel();
+        });
+
+        advance(3);
+        assertEquals(List.of("first"), ran);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void stopDropsPendingTimeouts() {
+        TimerWheel.Timeout timeout = wheel.schedule("owner", 10, () -> fail("Stopped timeout ran"));
+
+        wheel.stop();
+        assertTrue(timeout.isDone());
+        assertEquals(0, wheel.size());
+        assertEquals(0, wheel.cancel("owner"));
+        advance(10);
+    }
+
+    private void advance(long ticks) {
+        for (long i = 0; i < ticks; i++) {
+            tick++;
+            wheel.tick();
+        }
+    }
+
+    private static List<Long> toList(long[] values) {
+        List<Long> list = new ArrayList<>();
+        for (long value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+}